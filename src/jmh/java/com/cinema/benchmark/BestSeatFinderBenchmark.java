@@ -0,0 +1,58 @@
+package com.cinema.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cinema.service.BestSeatFinder;
+import com.cinema.service.SeatMap;
+
+/** **
+ * おすすめ座席探索のベンチマーク
+ * Dolby Cinema (10x20 = 200席) と 1,000席 (25x40) のシアターで、
+ * 占有率を変えながら {@link BestSeatFinder#find} の1回あたりの処理時間を計測します。
+ ** **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BestSeatFinderBenchmark {
+
+    @Param({ "10x20", "25x40" })
+    public String layout;
+
+    @Param({ "0.3", "0.7", "0.95" })
+    public double occupancy;
+
+    @Param({ "2", "4" })
+    public int count;
+
+    private SeatMap seatMap;
+    private final int[] noHolds = new int[0];
+
+    @Setup
+    public void setUp() {
+        String[] size = layout.split("x");
+        seatMap = new SeatMap(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+
+        // 固定シードで、指定の占有率になるよう座席をランダムに予約済みにします
+        SplittableRandom random = new SplittableRandom(42);
+        for (int index = 0; index < seatMap.capacity(); index++) {
+            if (random.nextDouble() < occupancy) {
+                seatMap.tryClaim(new int[] { index });
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] findBest() {
+        return BestSeatFinder.find(seatMap, noHolds, count);
+    }
+}
@@ -0,0 +1,64 @@
+package com.cinema.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.cinema.domain.Member;
+import com.cinema.dto.CustomUserDetails;
+
+/** **
+ * 認証ユーザー (CustomUserDetails) の生成のベンチマーク
+ * ログインのたびに CustomUserDetailsService が行う Member のラップと、
+ * 認可判定のたびに呼び出される getAuthorities() の変換コストを計測します。
+ ** **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomUserDetailsBenchmark {
+
+    private Member member;
+    private CustomUserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        member = Member.builder()
+                .id(2L)
+                .userid("test")
+                .password("$2a$12$oYfvjtSgeFch38IXCAJByu81TVfdPQJgCvQbYA0kZkOD4GwzsEo66")
+                .name("テストユーザー")
+                .email("test@jsl.com")
+                .point(50000)
+                .mgrade(1)
+                .role("ROLE_USER")
+                .enabled(true)
+                .regdate(LocalDateTime.of(2026, 2, 1, 10, 0))
+                .build();
+        userDetails = new CustomUserDetails(member);
+    }
+
+    @Benchmark
+    public CustomUserDetails construct() {
+        return new CustomUserDetails(member);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authorities() {
+        return userDetails.getAuthorities();
+    }
+
+    /* ログイン1回分: 生成 + 権限の変換 */
+    @Benchmark
+    public Collection<? extends GrantedAuthority> constructAndAuthorities() {
+        return new CustomUserDetails(member).getAuthorities();
+    }
+}
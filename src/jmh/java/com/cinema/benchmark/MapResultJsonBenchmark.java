@@ -0,0 +1,103 @@
+package com.cinema.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/** **
+ * マッパーの Map 結果の JSON 変換 (Jackson) のベンチマーク
+ * TicketService / ReviewMapper が返す Map&lt;String, Object&gt; を、
+ * Spring Boot と同じ設定の ObjectMapper でシリアライズする処理を計測します。
+ ** **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapResultJsonBenchmark {
+
+    /* 1回の応答に含まれる行数 */
+    @Param({ "10", "100" })
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Map<String, Object>> schedules;
+    private List<Map<String, Object>> reviews;
+    private Map<String, Object> scheduleDetail;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot の JacksonAutoConfiguration と同様に、日時は ISO-8601 文字列で出力します
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        // TicketService.getSchedules (上映時間表 + 残席数)
+        schedules = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("sno", 1000 + i);
+            row.put("start_time", String.format("%02d:%02d", 9 + i % 14, i * 15 % 60));
+            row.put("tno", i % 3 + 1);
+            row.put("theater_name", i % 3 == 2 ? "Dolby Cinema" : (i % 3 + 1) + "館");
+            row.put("total_seats", 200);
+            row.put("remaining_seats", 200 - i % 201);
+            row.put("sold_out", i % 201 == 200);
+            schedules.add(row);
+        }
+
+        // ReviewMapper.selectReviewsByMno
+        reviews = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("rev_no", 500 + i);
+            row.put("userid", "user" + i);
+            row.put("star", i % 5 + 1);
+            row.put("comments", "映像も音響も素晴らしく、最後まで目が離せませんでした。もう一度劇場で観たいです。");
+            row.put("regdate", "2026-02-" + String.format("%02d", i % 28 + 1) + " 21:30");
+            reviews.add(row);
+        }
+
+        // ScheduleMapper.selectScheduleDetail (MySQL Connector/J は DATETIME を LocalDateTime で返します)
+        scheduleDetail = new HashMap<>();
+        scheduleDetail.put("sno", 1000);
+        scheduleDetail.put("sdate", LocalDateTime.of(2026, 2, 21, 19, 30));
+        scheduleDetail.put("tno", 3);
+        scheduleDetail.put("tname", "Dolby Cinema");
+        scheduleDetail.put("trow", 10);
+        scheduleDetail.put("tcol", 20);
+        scheduleDetail.put("title", "The Lord of the Rings III : The Return of the King");
+        scheduleDetail.put("poster", "lotr_3.jpg");
+        scheduleDetail.put("runtime", 199);
+    }
+
+    @Benchmark
+    public byte[] schedules() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(schedules);
+    }
+
+    @Benchmark
+    public byte[] reviews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reviews);
+    }
+
+    @Benchmark
+    public byte[] scheduleDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(scheduleDetail);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cinema.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
+import com.cinema.mapper.MovieMapper;
+import com.cinema.service.MovieSearchIndex;
+
+/** **
+ * 映画検索のベンチマーク
+ * {@link MovieSearchIndex#search} を、固定の映画リストを返すマッパー (DBアクセスなし) から構築したインデックスで呼び出し、
+ * 英語・日本語・韓国語のキーワードと一致なしのキーワードの検索コストを計測します。
+ * 比較用に、全件のタイトル・キャッチフレーズ・あらすじに対する部分一致 (LIKE '%語%' 相当) の走査も計測します。
+ ** **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieSearchBenchmark {
+
+    private static final String[] TITLE_WORDS = {
+            "Lord", "Rings", "Iron", "Land", "Star", "Night", "Dragon", "Ocean", "Winter", "Gladiator",
+            "千と千尋", "君の名は", "天気の子", "もののけ姫", "風立ちぬ", "기생충", "올드보이", "괴물", "부산행", "살인의 추억" };
+
+    private static final String[] CONTENT_WORDS = {
+            "友情", "冒険", "魔法", "戦い", "家族", "未来", "記憶", "約束", "사랑", "복수", "가족", "비밀",
+            "journey", "battle", "friendship", "kingdom", "memory", "promise", "escape", "secret" };
+
+    /* 映画の件数 */
+    @Param({ "100", "5000" })
+    public int movies;
+
+    private MovieSearchIndex index;
+    private List<Movie> rows;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rows = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int w = 0; w < 60; w++) {
+                content.append(CONTENT_WORDS[random.nextInt(CONTENT_WORDS.length)]).append(w % 8 == 7 ? "。" : " ");
+            }
+            rows.add(Movie.builder()
+                    .mno((long) i + 1)
+                    .title(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + i)
+                    .catchphrase(CONTENT_WORDS[random.nextInt(CONTENT_WORDS.length)] + "の物語")
+                    .content(content.toString())
+                    .poster("poster_" + i + ".jpg")
+                    .runtime(120)
+                    .opendate("2026-01-01")
+                    .build());
+        }
+
+        MovieMapper mapper = mock(MovieMapper.class);
+        when(mapper.selectSearchableMovies()).thenReturn(rows);
+        index = new MovieSearchIndex(mapper, Clock.systemDefaultZone(), 60);
+        index.search("warm up");
+    }
+
+    @Benchmark
+    public List<MovieCard> searchEnglish() {
+        return index.search("dragon");
+    }
+
+    @Benchmark
+    public List<MovieCard> searchJapanese() {
+        return index.search("千尋");
+    }
+
+    @Benchmark
+    public List<MovieCard> searchKorean() {
+        return index.search("부산");
+    }
+
+    @Benchmark
+    public List<MovieCard> searchNoMatch() {
+        return index.search("zzzq");
+    }
+
+    /* 全件の部分一致の走査 (インデックスなしの場合) */
+    @Benchmark
+    public List<Movie> scanContains() {
+        String keyword = "dragon";
+        List<Movie> result = new ArrayList<>();
+        for (Movie movie : rows) {
+            if (movie.getTitle().toLowerCase(Locale.ROOT).contains(keyword)
+                    || movie.getCatchphrase().toLowerCase(Locale.ROOT).contains(keyword)
+                    || movie.getContent().toLowerCase(Locale.ROOT).contains(keyword)) {
+                result.add(movie);
+            }
+        }
+        return result;
+    }
+}
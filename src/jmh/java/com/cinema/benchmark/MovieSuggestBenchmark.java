@@ -0,0 +1,90 @@
+package com.cinema.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cinema.dto.MovieCard;
+import com.cinema.mapper.MovieMapper;
+import com.cinema.service.MovieCatalog;
+import com.cinema.service.MovieSuggester;
+import com.cinema.service.MovieSuggestion;
+
+/** **
+ * 検索ボックスの入力候補のベンチマーク
+ * {@link MovieSuggester#suggest} を、固定の映画リスト・予約件数を返すマッパー (DBアクセスなし) から構築したトライ木で呼び出し、
+ * キー入力1回分の検索コストと割り当て量 (-prof gc) を計測します。
+ ** **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MovieSuggestBenchmark {
+
+    private static final String[] TITLE_WORDS = {
+            "Lord", "Rings", "Iron", "Land", "Star", "Night", "Dragon", "Ocean", "Winter", "Gladiator",
+            "千と千尋", "君の名は", "天気の子", "もののけ姫", "風立ちぬ", "기생충", "올드보이", "괴물", "부산행", "살인의 추억" };
+
+    /* 映画の件数 */
+    @Param({ "100", "5000" })
+    public int movies;
+
+    private MovieSuggester suggester;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<MovieCard> cards = new ArrayList<>(movies);
+        List<Map<String, Object>> popularity = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            cards.add(MovieCard.builder()
+                    .mno((long) i + 1)
+                    .title(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + i)
+                    .catchphrase(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + "の物語")
+                    .build());
+            popularity.add(Map.of("mno", i + 1, "bookings", random.nextInt(1000)));
+        }
+
+        MovieMapper mapper = mock(MovieMapper.class);
+        when(mapper.selectMovieCards()).thenReturn(cards);
+        when(mapper.selectMoviePopularity(any())).thenReturn(popularity);
+        Clock clock = Clock.systemDefaultZone();
+        suggester = new MovieSuggester(new MovieCatalog(mapper, 1000, 10), mapper, clock, 10, 7);
+        suggester.suggest("warm up", 8);
+    }
+
+    @Benchmark
+    public List<MovieSuggestion> oneCharacter() {
+        return suggester.suggest("d", 8);
+    }
+
+    @Benchmark
+    public List<MovieSuggestion> englishPrefix() {
+        return suggester.suggest("dragon oc", 8);
+    }
+
+    @Benchmark
+    public List<MovieSuggestion> japanesePrefix() {
+        return suggester.suggest("千と", 8);
+    }
+
+    @Benchmark
+    public List<MovieSuggestion> noMatch() {
+        return suggester.suggest("zzzq", 8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.cinema.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cinema.mapper.ScheduleMapper;
+import com.cinema.service.BookingWindow;
+import com.cinema.service.SeatInventory;
+import com.cinema.service.SeatOccupancy;
+import com.cinema.service.SeatPageCache;
+import com.cinema.service.ShowtimeTimetable;
+import com.cinema.service.TicketService;
+
+/** **
+ * 上映日・上映スケジュールの絞り込みのベンチマーク
+ * {@link TicketService#getAvailableDates} と {@link TicketService#getSchedules} を、
+ * 固定の結果を返すマッパー (DBアクセスなし) から構築した上映時間表 ({@link ShowtimeTimetable}) で呼び出し、
+ * メモリ上の検索 (日付の絞り込み、開始時刻の二分探索) のコストを計測します。
+ * 比較用に、以前の実装が1行ごとに行っていた開始時刻の解析 (LocalTime.parse) 単体のコストも、
+ * 書式の生成方法ごとに計測します。
+ ** **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScheduleFilterBenchmark {
+
+    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
+
+    /* 1日あたりの上映回数 (1作品) */
+    @Param({ "8", "64" })
+    public int schedulesPerDay;
+
+    private TicketService ticketService;
+    private LocalDate today;
+    private LocalDate tomorrow;
+    private String startTime;
+
+    @Setup
+    public void setUp() {
+        LocalDate date = LocalDate.now();
+        today = date;
+        tomorrow = date.plusDays(1);
+
+        // 本日は6時間前から、翌日以降は 9:00 から等間隔に上映 (1週間分)
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.addAll(showtimes(date.atTime(LocalTime.now().minusHours(6)), rows.size()));
+        for (int i = 1; i < 7; i++) {
+            rows.addAll(showtimes(date.plusDays(i).atTime(9, 0), rows.size()));
+        }
+        startTime = ((LocalDateTime) rows.get(schedulesPerDay / 2).get("sdate")).format(HH_MM);
+
+        ScheduleMapper mapper = mock(ScheduleMapper.class);
+        when(mapper.selectUpcomingShowtimes(any())).thenReturn(rows);
+        when(mapper.selectBookedSeatCounts(any())).thenReturn(List.of());
+        Clock clock = Clock.systemDefaultZone();
+        ShowtimeTimetable timetable = new ShowtimeTimetable(mapper, clock, 60);
+        SeatInventory seatInventory = new SeatInventory(mapper, new SeatPageCache(mapper, 100), clock, 60);
+        ticketService = new TicketService(mapper, null, null, null, null, null,
+                new BookingWindow(clock, 10), timetable, new SeatOccupancy(mapper, seatInventory, clock), null);
+    }
+
+    @Benchmark
+    public List<String> availableDates() {
+        return ticketService.getAvailableDates(1L);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> schedulesToday() {
+        return ticketService.getSchedules(1L, today);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> schedulesTomorrow() {
+        return ticketService.getSchedules(1L, tomorrow);
+    }
+
+    /* 1行ごとに DateTimeFormatter.ofPattern を生成する場合 (以前の実装) */
+    @Benchmark
+    public void parsePerRowFormatter(Blackhole blackhole) {
+        blackhole.consume(LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm")));
+    }
+
+    /* 書式を定数として共有する場合 */
+    @Benchmark
+    public void parseSharedFormatter(Blackhole blackhole) {
+        blackhole.consume(LocalTime.parse(startTime, HH_MM));
+    }
+
+    /* selectUpcomingShowtimes の結果と同じ形の1日分の行 (開始時刻は first から等間隔) */
+    private List<Map<String, Object>> showtimes(LocalDateTime first, int snoOffset) {
+        List<Map<String, Object>> rows = new ArrayList<>(schedulesPerDay);
+        long intervalMinutes = Math.max(1, 12 * 60 / schedulesPerDay);
+        for (int i = 0; i < schedulesPerDay; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("sno", snoOffset + i + 1);
+            row.put("mno", 1);
+            row.put("tno", i % 3 + 1);
+            row.put("sdate", first.plusMinutes(i * intervalMinutes));
+            row.put("theater_name", "Dolby Cinema");
+            row.put("total_seats", 200);
+            row.put("title", "The Lord of the Rings III : The Return of the King");
+            row.put("poster", "lotr_3.jpg");
+            row.put("runtime", 199);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,101 @@
+package com.cinema.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cinema.service.SeatMap;
+
+/** **
+ * 座席文字列の分割・変換のベンチマーク
+ * - 予約リクエストの seatInfo ("E-10,E-11") の分割と座席番号への変換 (TicketService の予約処理)
+ * - 予約済み座席 (bookedSeats) の生成: 旧形式の seat_info 行をカンマで分割して平坦化する方法と、
+ *   座席ビットマップ ({@link SeatMap#bookedLabels}) から生成する方法
+ ** **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeatStringBenchmark {
+
+    /* 1回の予約の座席数 */
+    @Param({ "1", "4", "8" })
+    public int seats;
+
+    /* 予約済みの割合 (Dolby Cinema 10x20 = 200席) */
+    @Param({ "0.5" })
+    public double occupancy;
+
+    private String seatInfo;
+    private SeatMap seatMap;
+    private List<String> bookedRows;
+
+    @Setup
+    public void setUp() {
+        seatMap = new SeatMap(10, 20);
+
+        StringBuilder request = new StringBuilder();
+        for (int i = 0; i < seats; i++) {
+            if (i > 0) {
+                request.append(',');
+            }
+            request.append(seatMap.labelOf(4 * 20 + 6 + i));
+        }
+        seatInfo = request.toString();
+
+        // 旧形式: 1予約 = 1行 (seat_info に座席数分のラベルをカンマ区切りで保持)
+        SplittableRandom random = new SplittableRandom(42);
+        bookedRows = new ArrayList<>();
+        StringBuilder row = new StringBuilder();
+        int inRow = 0;
+        for (int index = 0; index < seatMap.capacity(); index++) {
+            if (random.nextDouble() >= occupancy) {
+                continue;
+            }
+            seatMap.tryClaim(new int[] { index });
+            row.append(inRow == 0 ? "" : ",").append(seatMap.labelOf(index));
+            if (++inRow == seats) {
+                bookedRows.add(row.toString());
+                row.setLength(0);
+                inRow = 0;
+            }
+        }
+        if (inRow > 0) {
+            bookedRows.add(row.toString());
+        }
+    }
+
+    @Benchmark
+    public List<String> splitSeatInfo() {
+        return Arrays.asList(seatInfo.split(","));
+    }
+
+    @Benchmark
+    public int[] splitAndIndex() {
+        return seatMap.indexesOf(Arrays.asList(seatInfo.split(",")));
+    }
+
+    @Benchmark
+    public List<String> bookedSeatsFromRows() {
+        List<String> labels = new ArrayList<>();
+        for (String row : bookedRows) {
+            labels.addAll(Arrays.asList(row.split(",")));
+        }
+        return labels;
+    }
+
+    @Benchmark
+    public List<String> bookedSeatsFromBitmap() {
+        return seatMap.bookedLabels();
+    }
+}
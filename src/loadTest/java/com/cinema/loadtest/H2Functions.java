@@ -0,0 +1,86 @@
+package com.cinema.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** **
+ * H2 (MySQL モード) に存在しない MySQL 関数の代替実装
+ * LoadTestDatabase が CREATE ALIAS で登録し、Mapper XML の SQL をそのまま実行できるようにします。
+ ** **/
+public final class H2Functions {
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private H2Functions() {
+    }
+
+    /*
+     * DATE_FORMAT(date, format)
+     * MySQL の書式指定子 (%Y, %m, %d, %H, %i, %s) を DateTimeFormatter に変換して整形します。
+     */
+    public static String dateFormat(LocalDateTime value, String format) {
+        if (value == null || format == null) {
+            return null;
+        }
+        return FORMATTERS.computeIfAbsent(format, H2Functions::toFormatter).format(value);
+    }
+
+    /*
+     * SUBSTRING_INDEX(str, delim, count)
+     * count 個目の区切り文字より前 (負数の場合は後ろから数えて後) の部分文字列を返します。
+     */
+    public static String substringIndex(String value, String delimiter, int count) {
+        if (value == null || delimiter == null || delimiter.isEmpty() || count == 0) {
+            return value == null ? null : "";
+        }
+        if (count > 0) {
+            int index = -1;
+            for (int i = 0; i < count; i++) {
+                index = value.indexOf(delimiter, index + 1);
+                if (index < 0) {
+                    return value;
+                }
+            }
+            return value.substring(0, index);
+        }
+        int index = value.length();
+        for (int i = 0; i < -count; i++) {
+            index = value.lastIndexOf(delimiter, index - 1);
+            if (index < 0) {
+                return value;
+            }
+        }
+        return value.substring(index + delimiter.length());
+    }
+
+    private static DateTimeFormatter toFormatter(String format) {
+        StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == '%' && i + 1 < format.length()) {
+                char spec = format.charAt(++i);
+                switch (spec) {
+                    case 'Y' -> pattern.append("yyyy");
+                    case 'y' -> pattern.append("yy");
+                    case 'm' -> pattern.append("MM");
+                    case 'c' -> pattern.append("M");
+                    case 'd' -> pattern.append("dd");
+                    case 'e' -> pattern.append("d");
+                    case 'H' -> pattern.append("HH");
+                    case 'k' -> pattern.append("H");
+                    case 'i' -> pattern.append("mm");
+                    case 's', 'S' -> pattern.append("ss");
+                    case '%' -> pattern.append('%');
+                    default -> throw new IllegalArgumentException("未対応の書式指定子です: %" + spec);
+                }
+            } else if (Character.isLetter(c) || c == '\'') {
+                pattern.append('\'').append(c == '\'' ? "''" : String.valueOf(c)).append('\'');
+            } else {
+                pattern.append(c);
+            }
+        }
+        return DateTimeFormatter.ofPattern(pattern.toString());
+    }
+}
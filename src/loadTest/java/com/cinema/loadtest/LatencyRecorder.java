@@ -0,0 +1,79 @@
+package com.cinema.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/** **
+ * ステップ (画面・API) ごとの応答時間の記録
+ * 複数の仮想ユーザーのスレッドから同時に記録され、試験終了後にパーセンタイルを集計します。
+ ** **/
+public final class LatencyRecorder {
+
+    private final Map<String, Samples> steps = new ConcurrentHashMap<>();
+
+    /*
+     * 応答時間を記録します。
+     * @param step ステップ名 (login, movies ...)
+     * @param startNanos System.nanoTime() で取得した開始時刻
+     */
+    public void record(String step, long startNanos) {
+        steps.computeIfAbsent(step, key -> new Samples()).add(System.nanoTime() - startNanos);
+    }
+
+    /*
+     * ステップごとの集計結果を取得します。
+     * @param order 出力するステップ名の順序
+     */
+    public Map<String, Summary> summarize(String... order) {
+        Map<String, Summary> result = new LinkedHashMap<>();
+        for (String step : order) {
+            Samples samples = steps.get(step);
+            if (samples != null) {
+                result.put(step, samples.summarize());
+            }
+        }
+        return result;
+    }
+
+    /** **
+     * 集計結果 (ミリ秒)
+     ** **/
+    public record Summary(int count, double p50, double p99, double max) {
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        private synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        private synchronized Summary summarize() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new Summary(size, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(size == 0 ? 0 : sorted[size - 1]));
+        }
+
+        /* nearest-rank 方式のパーセンタイル */
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.cinema.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 負荷試験用データベースの初期化 (H2 / MySQL モード)
+ * 本番と同じ PROJECT_JSL-Cinema-Boot.sql と db/migration の V* を、
+ * H2 で実行できる形に最小限だけ書き換えて順番に適用します
+ * (V1 は PROJECT_JSL-Cinema-Boot.sql と同じテーブル定義のため、IF NOT EXISTS により何も変更しません)。
+ *
+ * - データベース/ユーザー作成、GRANT、USE、確認用の SELECT などは実行しません。
+ * - DATE_ADD / DATE_SUB (INTERVAL) は DATEADD に、CAST(... AS UNSIGNED) は BIGINT に置き換えます。
+ * - H2 にない DATE_FORMAT / SUBSTRING_INDEX は {@link H2Functions} を ALIAS として登録します。
+ * - シードの INSERT が外部キー違反などで失敗した場合 (存在しない会員の予約、末尾の不要な文字列など) は、
+ *   MySQL クライアントで流した場合と同様にその文だけをスキップします。DDL の失敗は即座にエラーとします。
+ ** **/
+@Slf4j
+public final class LoadTestDatabase {
+
+    private static final Pattern DATE_INTERVAL = Pattern.compile(
+            "DATE_(ADD|SUB)\\(\\s*(CURDATE\\(\\)|NOW\\(\\))\\s*,\\s*INTERVAL\\s+(\\d+)\\s+(DAY|HOUR|MINUTE)\\s*\\)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern CAST_UNSIGNED = Pattern.compile("\\bAS\\s+UNSIGNED\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MIGRATION_VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+
+    /* 実行しない文 (MySQL のサーバー管理用、確認用) */
+    private static final List<String> SKIPPED_PREFIXES = List.of(
+            "DROP DATABASE", "CREATE DATABASE", "CREATE USER", "DROP USER", "GRANT", "FLUSH",
+            "USE ", "SELECT", "COMMIT", "SET ");
+
+    private LoadTestDatabase() {
+    }
+
+    /*
+     * スキーマと初期データを適用します。
+     *
+     * @param dataSource H2 のデータソース
+     * @param seedScript PROJECT_JSL-Cinema-Boot.sql のパス
+     * @return スキップしたシード文の件数
+     */
+    public static int seed(DataSource dataSource, Path seedScript) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            registerFunctions(connection);
+
+            int skipped = apply(connection, seedScript.getFileName().toString(), Files.readString(seedScript, StandardCharsets.UTF_8));
+            for (Resource migration : migrations()) {
+                try (InputStream in = migration.getInputStream()) {
+                    skipped += apply(connection, migration.getFilename(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            log.info(" - Load test database seeded (Skipped Statements: {})", skipped);
+            return skipped;
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("負荷試験用データベースの初期化に失敗しました。", e);
+        }
+    }
+
+    /*
+     * 負荷試験用の会員 (仮想ユーザー) を一括登録します。
+     *
+     * @param dataSource データソース
+     * @param userids 会員ID
+     * @param passwordHash BCrypt ハッシュ (全員共通)
+     * @param point 初期ポイント
+     */
+    public static void createMembers(DataSource dataSource, List<String> userids, String passwordHash, int point) {
+        String sql = "INSERT INTO member_cinema (userid, password, name, email, point, mgrade, role) VALUES (?, ?, ?, ?, ?, 1, 'ROLE_USER')";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (String userid : userids) {
+                ps.setString(1, userid);
+                ps.setString(2, passwordHash);
+                ps.setString(3, userid);
+                ps.setString(4, userid + "@loadtest.local");
+                ps.setInt(5, point);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("負荷試験用の会員登録に失敗しました。", e);
+        }
+    }
+
+    /*
+     * SQL スクリプトを文単位に分割します。
+     * 文字列リテラル内のセミコロンや "--" は区切りとして扱わず、行コメントは除去します。
+     */
+    static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (quoted) {
+                current.append(c);
+                if (c == '\\' && i + 1 < script.length()) {
+                    current.append(script.charAt(++i));
+                } else if (c == '\'') {
+                    if (i + 1 < script.length() && script.charAt(i + 1) == '\'') {
+                        current.append(script.charAt(++i));
+                    } else {
+                        quoted = false;
+                    }
+                }
+            } else if (c == '\'') {
+                quoted = true;
+                current.append(c);
+            } else if (c == '-' && i + 1 < script.length() && script.charAt(i + 1) == '-') {
+                while (i < script.length() && script.charAt(i) != '\n') {
+                    i++;
+                }
+                current.append('\n');
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    /*
+     * MySQL 用の文を H2 で実行できる形に変換します。
+     * @return 変換後の文 (実行しない文の場合は null)
+     */
+    static String translate(String statement) {
+        String upper = statement.toUpperCase(Locale.ROOT);
+        for (String prefix : SKIPPED_PREFIXES) {
+            if (upper.startsWith(prefix)) {
+                return null;
+            }
+        }
+
+        Matcher matcher = DATE_INTERVAL.matcher(statement);
+        StringBuilder translated = new StringBuilder();
+        while (matcher.find()) {
+            String sign = matcher.group(1).equalsIgnoreCase("SUB") ? "-" : "";
+            matcher.appendReplacement(translated, Matcher.quoteReplacement(
+                    "DATEADD(" + matcher.group(4).toUpperCase(Locale.ROOT) + ", " + sign + matcher.group(3) + ", " + matcher.group(2) + ")"));
+        }
+        matcher.appendTail(translated);
+        return CAST_UNSIGNED.matcher(translated).replaceAll("AS BIGINT");
+    }
+
+    private static int apply(Connection connection, String name, String script) throws SQLException {
+        int skipped = 0;
+        for (String statement : split(script)) {
+            String sql = translate(statement);
+            if (sql == null) {
+                continue;
+            }
+            try (Statement st = connection.createStatement()) {
+                st.execute(sql);
+            } catch (SQLException e) {
+                if (isSchema(sql)) {
+                    throw new SQLException("[" + name + "] " + firstLine(sql), e);
+                }
+                skipped++;
+                log.warn(" * Seed statement skipped ({}): {} - {}", name, firstLine(sql), firstLine(e.getMessage()));
+            }
+        }
+        return skipped;
+    }
+
+    private static void registerFunctions(Connection connection) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE ALIAS IF NOT EXISTS DATE_FORMAT FOR '" + H2Functions.class.getName() + ".dateFormat'");
+            st.execute("CREATE ALIAS IF NOT EXISTS SUBSTRING_INDEX FOR '" + H2Functions.class.getName() + ".substringIndex'");
+        }
+    }
+
+    /* classpath:db/migration/V{n}__*.sql をバージョン順に取得します */
+    private static List<Resource> migrations() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*__*.sql");
+        return Arrays.stream(resources)
+                .sorted(Comparator.comparingInt(LoadTestDatabase::versionOf))
+                .toList();
+    }
+
+    private static int versionOf(Resource resource) {
+        Matcher matcher = MIGRATION_VERSION.matcher(String.valueOf(resource.getFilename()));
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : Integer.MAX_VALUE;
+    }
+
+    private static boolean isSchema(String sql) {
+        String upper = sql.toUpperCase(Locale.ROOT);
+        return upper.startsWith("CREATE") || upper.startsWith("ALTER") || upper.startsWith("DROP");
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().strip();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private static String firstLine(String text) {
+        if (text == null) {
+            return "";
+        }
+        String line = text.strip().lines().findFirst().orElse("");
+        return line.length() > 120 ? line.substring(0, 120) + "..." : line;
+    }
+}
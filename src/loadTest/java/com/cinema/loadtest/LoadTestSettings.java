@@ -0,0 +1,46 @@
+package com.cinema.loadtest;
+
+import java.nio.file.Path;
+
+/** **
+ * 負荷試験の設定 (システムプロパティ loadtest.* から取得)
+ *
+ * users       : 仮想ユーザー数
+ * concurrency : 同時に実行する仮想ユーザー数 (クライアント側のスレッド数)
+ * contention  : 人気座席 (ホットシート) を奪い合う仮想ユーザーの割合 (0.0 〜 1.0)
+ * hotSeats    : ホットシートの席数 (最も大きい上映館の1スケジュール、中央付近の連続席)
+ * warmupUsers : 計測前に座席選択画面まで実行する仮想ユーザー数 (予約は行いません)
+ * randomSeed  : 座席の割り当てに使う乱数シード (同じ値なら同じ割り当てを再現します)
+ ** **/
+public record LoadTestSettings(int users,
+                               int concurrency,
+                               double contention,
+                               int hotSeats,
+                               int warmupUsers,
+                               long randomSeed,
+                               Path reportDir,
+                               Path seedScript) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        LoadTestSettings settings = new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 2000),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Double.parseDouble(System.getProperty("loadtest.contention", "0.2")),
+                Integer.getInteger("loadtest.hotSeats", 8),
+                Integer.getInteger("loadtest.warmupUsers", 200),
+                Long.getLong("loadtest.randomSeed", 20260101L),
+                Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest")),
+                Path.of(System.getProperty("loadtest.seedScript", "PROJECT_JSL-Cinema-Boot.sql")));
+
+        if (settings.users <= 0 || settings.concurrency <= 0 || settings.hotSeats <= 0 || settings.warmupUsers < 0
+                || settings.contention < 0 || settings.contention > 1) {
+            throw new IllegalArgumentException("負荷試験の設定が不正です: " + settings);
+        }
+        return settings;
+    }
+
+    /* ホットシートを狙う仮想ユーザー数 */
+    public int contendedUsers() {
+        return (int) Math.round(users * contention);
+    }
+}
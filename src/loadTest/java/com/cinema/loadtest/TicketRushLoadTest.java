@@ -0,0 +1,489 @@
+package com.cinema.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.LocalDateTimeTypeHandler;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.autoconfigure.ConfigurationCustomizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * チケット争奪 (Ticket Rush) 負荷試験
+ * 組み込みの H2 (MySQL モード) 上でアプリを起動し、仮想ユーザーに実際の予約の流れを実行させます。
+ *
+ *   ログイン -> /api/ticket/movies -> /dates -> /schedules -> /ticket/seat -> /ticket/process
+ *
+ * contention の割合のユーザーは少数のホットシートを奪い合い、残りのユーザーは互いに重ならない座席を予約します。
+ * ステップごとの p50 / p99 応答時間、予約成功数 / 秒、二重予約の有無を集計し、
+ * build/reports/loadtest/ticket-rush.json にベースラインとして出力します。
+ *
+ * 実行: ./gradlew loadTest -Dloadtest.users=5000 -Dloadtest.concurrency=128 -Dloadtest.contention=0.3
+ ** **/
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Slf4j
+class TicketRushLoadTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    private static final String USER_PREFIX = "lt";
+    private static final String PASSWORD = "loadtest1234";
+    private static final int INITIAL_POINT = 10_000_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration WAITING_ROOM_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final String[] STEPS = {
+            "login", "movies", "dates", "schedules", "waiting-room", "seat", "process", "total" };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+    /*
+     * アプリの Bean が DB にアクセスする前に、データソースの生成直後でスキーマと初期データを投入します。
+     */
+    @TestConfiguration
+    static class SeedConfig {
+
+        @Bean
+        static BeanPostProcessor loadTestDatabaseSeeder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        LoadTestDatabase.seed(dataSource, SETTINGS.seedScript());
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        /*
+         * MySQL Connector/J は DATETIME を LocalDateTime で返しますが、H2 は java.sql.Timestamp で返します。
+         * Map で受け取る結果 (スケジュール詳細など) を本番と同じ型にそろえます。
+         */
+        @Bean
+        ConfigurationCustomizer localDateTimeForMapResults() {
+            return configuration -> configuration.getTypeHandlerRegistry()
+                    .register(Object.class, JdbcType.TIMESTAMP, new LocalDateTimeTypeHandler());
+        }
+    }
+
+    @Test
+    void ticketRush() throws Exception {
+        List<VirtualUser> users = planUsers();
+        LoadTestDatabase.createMembers(dataSource, users.stream().map(VirtualUser::userid).toList(),
+                new BCryptPasswordEncoder(4).encode(PASSWORD), INITIAL_POINT);
+
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+
+        ExecutorService pool = Executors.newFixedThreadPool(SETTINGS.concurrency());
+
+        // ウォームアップ: JIT コンパイルや接続プールの初期化の影響を除くため、予約確定の手前までを計測せずに実行します
+        List<Future<Outcome>> futures = new ArrayList<>(users.size());
+        LatencyRecorder warmup = new LatencyRecorder();
+        for (VirtualUser user : users.subList(0, Math.min(SETTINGS.warmupUsers(), users.size()))) {
+            futures.add(pool.submit(() -> run(client, user, warmup, false)));
+        }
+        for (Future<Outcome> future : futures) {
+            future.get();
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        futures.clear();
+        long started = System.nanoTime();
+        for (VirtualUser user : users) {
+            futures.add(pool.submit(() -> run(client, user, recorder, true)));
+        }
+
+        Map<String, Integer> bookedSeats = new LinkedHashMap<>();
+        int booked = 0, rejected = 0, failed = 0, contendedBooked = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            switch (futures.get(i).get()) {
+                case BOOKED -> {
+                    booked++;
+                    bookedSeats.merge(users.get(i).target().seatKey(), 1, Integer::sum);
+                    if (users.get(i).contended()) {
+                        contendedBooked++;
+                    }
+                }
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+                case BROWSED -> { }
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        // 二重予約の検証: クライアント側 (同じ座席で2人以上が成功) と DB 側 (座席の重複行) の両方を確認します
+        long clientDuplicates = bookedSeats.values().stream().filter(count -> count > 1).count();
+        long dbDuplicates = queryLong("SELECT COUNT(*) FROM (SELECT sno, seat_row, seat_col FROM reservation_seat "
+                + "GROUP BY sno, seat_row, seat_col HAVING COUNT(*) > 1) d");
+        long reservations = queryLong("SELECT COUNT(*) FROM reservation WHERE userid LIKE '" + USER_PREFIX + "%'");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("settings", Map.of(
+                "users", SETTINGS.users(),
+                "concurrency", SETTINGS.concurrency(),
+                "contention", SETTINGS.contention(),
+                "hotSeats", SETTINGS.hotSeats(),
+                "warmupUsers", SETTINGS.warmupUsers(),
+                "randomSeed", SETTINGS.randomSeed()));
+        report.put("latencyMillis", recorder.summarize(STEPS));
+        report.put("booked", booked);
+        report.put("rejected", rejected);
+        report.put("failed", failed);
+        report.put("failureReasons", failures);
+        report.put("contendedUsers", SETTINGS.contendedUsers());
+        report.put("contendedBooked", contendedBooked);
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        report.put("bookingsPerSecond", round(booked / elapsedSeconds));
+        report.put("doubleBooking", Map.of(
+                "clientDuplicates", clientDuplicates,
+                "dbDuplicates", dbDuplicates,
+                "reservations", reservations));
+        writeReport(report, recorder);
+
+        assertThat(failed).as("予期しない応答 (%s)", failures).isZero();
+        assertThat(booked).as("予約成功数").isPositive();
+        assertThat(clientDuplicates).as("同じ座席の予約に2人以上が成功").isZero();
+        assertThat(dbDuplicates).as("reservation_seat の重複行").isZero();
+        assertThat(reservations).as("予約成功数と reservation の件数").isEqualTo(booked);
+        assertThat(contendedBooked).as("ホットシートの予約成功数").isLessThanOrEqualTo(Math.min(SETTINGS.hotSeats(), SETTINGS.contendedUsers()));
+    }
+
+    /*
+     * [内部メソッド] 1人の仮想ユーザーの予約の流れ
+     * @param book false の場合は座席選択画面までで終了します (ウォームアップ用)
+     */
+    private Outcome run(HttpClient client, VirtualUser user, LatencyRecorder recorder, boolean book) {
+        VirtualUser.Target target = user.target();
+        long begin = System.nanoTime();
+        try {
+            // 1. ログイン (成功時は /?welcome=true へリダイレクト)
+            long t = System.nanoTime();
+            HttpResponse<String> response = user.send(client, post("/member/login",
+                    "userid", user.userid(), "password", PASSWORD));
+            recorder.record("login", t);
+            if (response.statusCode() != 302 || location(response).contains("error")) {
+                return fail("login", response);
+            }
+
+            // 2. 予約可能な映画 -> 日付 -> 上映スケジュール
+            t = System.nanoTime();
+            response = user.send(client, get("/api/ticket/movies"));
+            recorder.record("movies", t);
+            if (response.statusCode() != 200 || !containsValue(response.body(), "mno", target.mno())) {
+                return fail("movies", response);
+            }
+
+            t = System.nanoTime();
+            response = user.send(client, get("/api/ticket/dates?mno=" + target.mno()));
+            recorder.record("dates", t);
+            if (response.statusCode() != 200 || !response.body().contains("\"" + target.sdate() + "\"")) {
+                return fail("dates", response);
+            }
+
+            t = System.nanoTime();
+            response = user.send(client, get("/api/ticket/schedules?mno=" + target.mno() + "&sdate=" + target.sdate()));
+            recorder.record("schedules", t);
+            if (response.statusCode() != 200 || !containsValue(response.body(), "sno", target.sno())) {
+                return fail("schedules", response);
+            }
+
+            // 3. 座席選択画面 (待合室が有効な場合は、入場できるまで待ち順位をポーリングします)
+            t = System.nanoTime();
+            response = user.send(client, get("/ticket/seat?sno=" + target.sno()));
+            recorder.record("seat", t);
+            if (response.statusCode() == 302 && location(response).startsWith("/waiting-room")) {
+                if (!waitForAdmission(client, user, location(response), recorder)) {
+                    return fail("waiting-room", response);
+                }
+                t = System.nanoTime();
+                response = user.send(client, get("/ticket/seat?sno=" + target.sno()));
+                recorder.record("seat", t);
+            }
+            if (response.statusCode() != 200) {
+                return fail("seat", response);
+            }
+            if (!book) {
+                return Outcome.BROWSED;
+            }
+
+            // 4. 予約確定 (成功時は /ticket/my、座席の競合などの場合は座席選択画面へリダイレクト)
+            t = System.nanoTime();
+            response = user.send(client, post("/ticket/process",
+                    "sno", String.valueOf(target.sno()), "seatInfo", target.seat()));
+            recorder.record("process", t);
+            recorder.record("total", begin);
+
+            String location = location(response);
+            if (response.statusCode() == 302 && location.startsWith("/ticket/my")) {
+                return Outcome.BOOKED;
+            }
+            if (response.statusCode() == 302 && location.startsWith("/ticket/seat")) {
+                return Outcome.REJECTED;
+            }
+            return fail("process", response);
+        } catch (IOException e) {
+            return fail("io: " + e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fail("interrupted");
+        }
+    }
+
+    /* [内部メソッド] 待合室の待ち順位をポーリングし、入場できた場合 true */
+    private boolean waitForAdmission(HttpClient client, VirtualUser user, String waitingRoomUrl, LatencyRecorder recorder) throws IOException, InterruptedException {
+        String scope = queryParameter(waitingRoomUrl, "scope");
+        long t = System.nanoTime();
+        long deadline = t + WAITING_ROOM_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> response = user.send(client, get("/api/waiting-room/status?scope=" + scope));
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode status = objectMapper.readTree(response.body());
+            if (status.path("admitted").asBoolean()) {
+                recorder.record("waiting-room", t);
+                return true;
+            }
+            if (status.path("expired").asBoolean()) {
+                return false;
+            }
+            Thread.sleep(Math.min(1000, status.path("pollAfterSeconds").asLong(1) * 1000));
+        }
+        return false;
+    }
+
+    /*
+     * [内部メソッド] 仮想ユーザーと予約対象の割り当て
+     * 最も大きい上映館のスケジュールの中央付近をホットシートとし、contention の割合のユーザーに割り当てます。
+     * 残りのユーザーには、未来の全スケジュールの空席を重ならないように割り当てます。
+     */
+    private List<VirtualUser> planUsers() throws SQLException {
+        List<ScheduleSlot> schedules = new ArrayList<>();
+        Set<String> bookedSeats = new HashSet<>();
+        try (Connection connection = dataSource.getConnection(); Statement st = connection.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT s.sno, s.mno, s.sdate, t.trow, t.tcol FROM schedule s "
+                    + "JOIN theater t ON s.tno = t.tno WHERE s.sdate >= DATEADD(MINUTE, 10, NOW()) ORDER BY s.sdate, s.sno")) {
+                while (rs.next()) {
+                    schedules.add(new ScheduleSlot(rs.getLong("sno"), rs.getLong("mno"),
+                            rs.getTimestamp("sdate").toLocalDateTime().toLocalDate().toString(),
+                            rs.getInt("trow"), rs.getInt("tcol")));
+                }
+            }
+            try (ResultSet rs = st.executeQuery("SELECT sno, seat_row, seat_col FROM reservation_seat")) {
+                while (rs.next()) {
+                    bookedSeats.add(rs.getLong("sno") + ":" + rs.getString("seat_row") + "-" + rs.getInt("seat_col"));
+                }
+            }
+        }
+        if (schedules.isEmpty()) {
+            throw new IllegalStateException("予約可能な上映スケジュールがありません。");
+        }
+
+        // ホットシート: 最も大きい上映館のスケジュールの、後方 2/3 の行の中央の連続席
+        ScheduleSlot hot = schedules.stream()
+                .max((a, b) -> Integer.compare(a.rows * a.cols, b.rows * b.cols))
+                .orElseThrow();
+        int hotCount = Math.min(SETTINGS.hotSeats(), hot.cols);
+        char hotRow = (char) ('A' + (hot.rows * 2) / 3);
+        int firstCol = (hot.cols - hotCount) / 2 + 1;
+        List<VirtualUser.Target> hotSeats = new ArrayList<>();
+        for (int col = firstCol; col < firstCol + hotCount; col++) {
+            hotSeats.add(hot.target(hotRow + "-" + col));
+        }
+        Set<String> hotKeys = new HashSet<>();
+        hotSeats.forEach(target -> hotKeys.add(target.seatKey()));
+
+        List<VirtualUser.Target> freeSeats = new ArrayList<>();
+        for (ScheduleSlot schedule : schedules) {
+            for (int row = 0; row < schedule.rows; row++) {
+                for (int col = 1; col <= schedule.cols; col++) {
+                    VirtualUser.Target target = schedule.target((char) ('A' + row) + "-" + col);
+                    if (!hotKeys.contains(target.seatKey()) && !bookedSeats.contains(target.seatKey())) {
+                        freeSeats.add(target);
+                    }
+                }
+            }
+        }
+
+        Random random = new Random(SETTINGS.randomSeed());
+        Collections.shuffle(freeSeats, random);
+        int uncontended = SETTINGS.users() - SETTINGS.contendedUsers();
+        if (uncontended > freeSeats.size()) {
+            log.warn(" * Not enough free seats for uncontended users (Users: {}, Seats: {}). Seats will be reused.",
+                    uncontended, freeSeats.size());
+        }
+
+        List<VirtualUser> users = new ArrayList<>(SETTINGS.users());
+        for (int i = 0; i < SETTINGS.users(); i++) {
+            String userid = USER_PREFIX + String.format("%06d", i);
+            boolean contended = i < SETTINGS.contendedUsers();
+            VirtualUser.Target target = contended
+                    ? hotSeats.get(random.nextInt(hotSeats.size()))
+                    : freeSeats.get((i - SETTINGS.contendedUsers()) % freeSeats.size());
+            users.add(new VirtualUser(userid, target, contended));
+        }
+        // ホットシートを狙うユーザーが実行順の先頭に偏らないように並べ替えます
+        Collections.shuffle(users, random);
+        log.info(" - Load test planned (Users: {}, Contended: {}, Hot Schedule: {}, Hot Seats: {})",
+                users.size(), SETTINGS.contendedUsers(), hot.sno, hotSeats.stream().map(VirtualUser.Target::seat).toList());
+        return users;
+    }
+
+    private void writeReport(Map<String, Object> report, LatencyRecorder recorder) throws IOException {
+        String json = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        Files.createDirectories(SETTINGS.reportDir());
+        Path file = SETTINGS.reportDir().resolve("ticket-rush.json");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+
+        StringBuilder table = new StringBuilder("\n==== Ticket Rush Load Test ====\n");
+        table.append(String.format("%-14s %8s %10s %10s %10s%n", "step", "count", "p50(ms)", "p99(ms)", "max(ms)"));
+        recorder.summarize(STEPS).forEach((step, s) -> table.append(
+                String.format("%-14s %8d %10.2f %10.2f %10.2f%n", step, s.count(), s.p50(), s.p99(), s.max())));
+        table.append(String.format("booked=%s rejected=%s failed=%s bookings/sec=%s (%ss)%n",
+                report.get("booked"), report.get("rejected"), report.get("failed"),
+                report.get("bookingsPerSecond"), report.get("elapsedSeconds")));
+        table.append("double booking check: ").append(report.get("doubleBooking")).append('\n');
+        table.append("report: ").append(file.toAbsolutePath());
+        log.info(" - Load test finished{}", table);
+    }
+
+    private Outcome fail(String step, HttpResponse<String> response) {
+        return fail(step + " " + response.statusCode() + (location(response).isEmpty() ? "" : " -> " + location(response)));
+    }
+
+    private Outcome fail(String reason) {
+        failures.computeIfAbsent(reason, key -> new AtomicInteger()).incrementAndGet();
+        return Outcome.FAILED;
+    }
+
+    private boolean containsValue(String json, String field, long value) throws IOException {
+        for (JsonNode node : objectMapper.readTree(json)) {
+            if (node.path(field).asLong() == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String... form) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(VirtualUser.form(form));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /* リダイレクト先 (ホスト部を除いたパス) */
+    private static String location(HttpResponse<String> response) {
+        String location = response.headers().firstValue("Location").orElse("");
+        int start = location.indexOf("://");
+        if (start >= 0) {
+            int path = location.indexOf('/', start + 3);
+            location = path >= 0 ? location.substring(path) : "/";
+        }
+        return location;
+    }
+
+    private static String queryParameter(String url, String name) {
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            for (String pair : url.substring(query + 1).split("&")) {
+                if (pair.startsWith(name + "=")) {
+                    return URLDecoder.decode(pair.substring(name.length() + 1), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return "";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private enum Outcome { BOOKED, REJECTED, FAILED, BROWSED }
+
+    /* 予約対象となる上映スケジュール */
+    private record ScheduleSlot(long sno, long mno, String sdate, int rows, int cols) {
+
+        VirtualUser.Target target(String seat) {
+            return new VirtualUser.Target(sno, mno, sdate, seat);
+        }
+    }
+}
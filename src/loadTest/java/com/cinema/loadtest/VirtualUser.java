@@ -0,0 +1,92 @@
+package com.cinema.loadtest;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** **
+ * 仮想ユーザー
+ * 1人の会員として予約画面を操作します。Cookie (JSESSIONID、待合室の整理券) はユーザーごとに保持し、
+ * HTTP クライアント自体は全ユーザーで共有します (リダイレクトは自動で追跡しません)。
+ ** **/
+final class VirtualUser {
+
+    private final String userid;
+    private final Target target;
+    private final boolean contended;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    VirtualUser(String userid, Target target, boolean contended) {
+        this.userid = userid;
+        this.target = target;
+        this.contended = contended;
+    }
+
+    String userid() {
+        return userid;
+    }
+
+    Target target() {
+        return target;
+    }
+
+    /* ホットシートを狙うユーザーかどうか */
+    boolean contended() {
+        return contended;
+    }
+
+    /*
+     * 保持している Cookie を付けてリクエストを送信し、応答の Set-Cookie を取り込みます。
+     */
+    HttpResponse<String> send(HttpClient client, HttpRequest.Builder request) throws IOException, InterruptedException {
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", cookies.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            for (HttpCookie cookie : HttpCookie.parse(header)) {
+                if (cookie.getMaxAge() == 0) {
+                    cookies.remove(cookie.getName());
+                } else {
+                    cookies.put(cookie.getName(), cookie.getValue());
+                }
+            }
+        }
+        return response;
+    }
+
+    /* application/x-www-form-urlencoded の本文を組み立てます */
+    static HttpRequest.BodyPublisher form(String... pairs) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(URLEncoder.encode(pairs[i], StandardCharsets.UTF_8))
+                .append('=')
+                .append(URLEncoder.encode(pairs[i + 1], StandardCharsets.UTF_8));
+        }
+        return HttpRequest.BodyPublishers.ofString(body.toString());
+    }
+
+    /** **
+     * 予約対象 (スケジュールと座席)
+     * sdate は /api/ticket/dates が返す日付 (yyyy-MM-dd) と同じ形式です。
+     ** **/
+    record Target(long sno, long mno, String sdate, String seat) {
+
+        /* 座席の一意キー (二重予約の検出用) */
+        String seatKey() {
+            return sno + ":" + seat;
+        }
+    }
+}
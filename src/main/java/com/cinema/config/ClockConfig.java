@@ -0,0 +1,24 @@
+package com.cinema.config;
+
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** **
+ * 時刻設定クラス (Clock Configuration)
+ * 現在時刻の取得元を Bean として一元化します。
+ * 販売締め切りなど時刻に依存する判定は、この Clock を基準に行います。
+ ** **/
+@Configuration
+public class ClockConfig {
+
+    /*
+     * システム時計 (サーバーのデフォルトタイムゾーン)
+     * @return Clock インスタンス
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
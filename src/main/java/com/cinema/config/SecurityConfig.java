@@ -50,7 +50,7 @@ public class SecurityConfig {
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/upload/**").permitAll()
                 
                 // 公開ページ (メイン、ログイン、会員登録) は誰でもアクセス可能
-                .requestMatchers("/", "/member/login", "/member/register", "/movie/**", "/api/review/list/**", "/support/**").permitAll()
+                .requestMatchers("/", "/member/login", "/member/register", "/movie/**", "/api/movie/**", "/api/review/list/**", "/support/**").permitAll()
                 .requestMatchers("/ticket/**", "/member/update").authenticated()
                 // URLが '/admin/' で始まるリクエストは 'ADMIN' 権限を持つユーザーのみアクセス可能
                 // 一般ユーザーがアクセスしようとすると 403 (Forbidden) エラーまたはログイン画面へ転送されます
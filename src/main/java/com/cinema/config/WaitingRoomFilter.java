@@ -0,0 +1,84 @@
+package com.cinema.config;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import com.cinema.service.WaitingRoomService;
+import com.cinema.service.WaitingRoomService.Admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 待合室フィルター (Admission Control)
+ * 予約画面 (/ticket/**) へのリクエストのうち、入場枠を持たないものを待合室画面へ誘導します。
+ * Spring Security のフィルターの後に実行されるため、ログイン済みのリクエストのみが対象です。
+ * マイページ (/ticket/my) は予約操作ではないため対象外です。
+ *
+ * 入場を待っている間のリクエストは DB に到達しないため、トップページや作品ページなど
+ * 他の画面のスレッドとコネクションプールが予約の集中によって枯渇することを防ぎます。
+ ** **/
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomFilter extends OncePerRequestFilter {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !waitingRoomService.isEnabled()
+                || !path.startsWith("/ticket/")
+                || path.equals("/ticket/my");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Principal principal = request.getUserPrincipal();
+        if (principal == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String scope = waitingRoomService.scopeOf(request.getParameter("sno"));
+        String cookieName = waitingRoomService.cookieName(scope);
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        String token = cookie != null ? cookie.getValue() : null;
+
+        Admission admission = waitingRoomService.admit(scope, principal.getName(), token);
+        if (!admission.token().equals(token)) {
+            Cookie issued = new Cookie(cookieName, admission.token());
+            issued.setPath("/");
+            issued.setHttpOnly(true);
+            response.addCookie(issued);
+        }
+
+        if (admission.status().isAdmitted()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // 入場待ち: 待合室画面へ誘導し、入場後に元の画面 (POST の場合は予約トップ) へ戻します
+        String next = "GET".equals(request.getMethod())
+                ? request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "")
+                : "/ticket/reserve";
+        log.info(" - Waiting Room: Redirected (Scope: {}, User: {}, Position: {})",
+                scope, principal.getName(), admission.status().position());
+        response.sendRedirect(request.getContextPath() + "/waiting-room?scope=" + scope
+                + "&next=" + URLEncoder.encode(next, StandardCharsets.UTF_8));
+    }
+}
@@ -1,10 +1,22 @@
 package com.cinema.controller;
 
+import com.cinema.dto.ScheduleBulkRequest;
 import com.cinema.mapper.AdminMapper;
+import com.cinema.service.MovieCatalog;
+import com.cinema.service.PricingEngine;
+import com.cinema.service.ScheduleService;
+import com.cinema.service.SeatPageCache;
+import com.cinema.service.TariffMatrix;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -21,6 +33,10 @@ import java.util.Map;
 public class AdminApiController {
 
     private final AdminMapper adminMapper;
+    private final PricingEngine pricingEngine;
+    private final ScheduleService scheduleService;
+    private final SeatPageCache seatPageCache;
+    private final MovieCatalog movieCatalog;
 
     /**
      * 直近7日間の日別売上データを取得します。
@@ -32,4 +48,82 @@ public class AdminApiController {
         // DBから直近7日間のデータを取得 (Fetch from DB for the last 7 days)
         return adminMapper.selectWeeklyRevenue();
     }
+
+    /**
+     * 現在の料金表・座席クラス・会員等級を取得します。
+     * @return tariffs, seatClassRows, grades
+     */
+    @GetMapping("/pricing")
+    public Map<String, Object> getPricing() {
+        return pricingEngine.describe();
+    }
+
+    /**
+     * 料金を登録・変更します。変更は即座に予約時の料金計算へ反映されます。
+     * @return 変更後の料金表 (不正な値の場合は 400)
+     */
+    @PutMapping("/pricing/tariff")
+    public ResponseEntity<?> updateTariff(@RequestParam("tno") int tno,
+                                          @RequestParam("dayType") TariffMatrix.DayType dayType,
+                                          @RequestParam("seatClass") TariffMatrix.SeatClass seatClass,
+                                          @RequestParam("price") int price) {
+        log.info("API Request: 料金変更 (Theater: {}, {}, {}, Price: {})", tno, dayType, seatClass, price);
+        try {
+            pricingEngine.updateTariff(tno, dayType, seatClass, price);
+            return ResponseEntity.ok(pricingEngine.describe());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 会員等級の積立率・割引率を変更します。変更は即座に予約時の料金計算へ反映されます。
+     * @return 変更後の料金表 (不正な値の場合は 400)
+     */
+    @PutMapping("/pricing/grades/{mgrade}")
+    public ResponseEntity<?> updateGrade(@PathVariable("mgrade") int mgrade,
+                                         @RequestParam("pointRate") double pointRate,
+                                         @RequestParam("discountRate") double discountRate) {
+        log.info("API Request: 会員等級変更 (Grade: {}, Point Rate: {}, Discount Rate: {})", mgrade, pointRate, discountRate);
+        try {
+            pricingEngine.updateGradeRates(mgrade, pointRate, discountRate);
+            return ResponseEntity.ok(pricingEngine.describe());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * DBを直接変更した場合などに、料金マトリクスを再構築します。
+     */
+    @PostMapping("/pricing/reload")
+    public ResponseEntity<Void> reloadPricing() {
+        pricingEngine.reload();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * アプリケーション内キャッシュの統計情報 (件数、ヒット率、追い出し件数) を取得します。
+     * @return キャッシュ名ごとの統計情報
+     */
+    @GetMapping("/cache/stats")
+    public Map<String, Object> getCacheStats() {
+        return Map.of("seatPage", seatPageCache.stats(), "movieCatalog", movieCatalog.stats());
+    }
+
+    /**
+     * 上映スケジュールを一括登録します (期間 x 上映館 x 上映開始時刻)。
+     * 同じ上映館の既存スケジュールと上映時間 (+ 清掃時間) が重なる上映回は登録せず、理由とともに返却します。
+     * @return 登録結果 (requested, created, conflicts)。不正な値の場合は 400
+     */
+    @PostMapping("/schedules/bulk")
+    public ResponseEntity<?> registerSchedules(@RequestBody ScheduleBulkRequest request) {
+        log.info("API Request: 上映スケジュール一括登録 (Movie: {}, Theaters: {}, {} - {}, Times: {})",
+                request.getMno(), request.getTnos(), request.getStartDate(), request.getEndDate(), request.getTimes());
+        try {
+            return ResponseEntity.ok(scheduleService.registerSchedules(request));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.cinema.controller;
 
 import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
 import com.cinema.service.MovieService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,7 +36,7 @@ public class AdminMovieController {
      */
     @GetMapping("/list")
     public String list(Model model) {
-        List<Movie> list = movieService.getMovieList();
+        List<MovieCard> list = movieService.getMovieList();
         model.addAttribute("list", list);
         log.info(" - Admin: Movie List Page Accessed");
         return "admin/movie_list";
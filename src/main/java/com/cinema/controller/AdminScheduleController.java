@@ -1,8 +1,9 @@
 package com.cinema.controller;
 
 import com.cinema.domain.Schedule;
-import com.cinema.mapper.MovieMapper;
 import com.cinema.mapper.ScheduleMapper;
+import com.cinema.service.MovieService;
+import com.cinema.service.ScheduleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -21,8 +22,9 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Slf4j
 public class AdminScheduleController {
 
-    private final MovieMapper movieMapper;
+    private final MovieService movieService;
     private final ScheduleMapper scheduleMapper;
+    private final ScheduleService scheduleService;
 
     /*
      * 上映スケジュール登録画面表示
@@ -34,7 +36,7 @@ public class AdminScheduleController {
     @GetMapping("/register")
     public String registerForm(Model model) {
         log.info("Admin: Schedule Register Form Accessed");
-        model.addAttribute("movieList", movieMapper.selectAllMovies());
+        model.addAttribute("movieList", movieService.getMovieList());
         model.addAttribute("theaterList", scheduleMapper.selectAllTheaters());
         return "admin/schedule_register";
     }
@@ -42,6 +44,7 @@ public class AdminScheduleController {
     /*
      * 上映スケジュール登録処理
      * URL: /admin/schedule/register (POST)
+     * 同じ上映館の上映回と重複する場合は登録せず、理由をメッセージ ('error') で返します。
      *
      * @param schedule フォームから送信されたスケジュール情報
      * @param rttr リダイレクト時のメッセージ伝達用
@@ -51,8 +54,14 @@ public class AdminScheduleController {
     public String register(Schedule schedule, RedirectAttributes rttr) {
         log.info("Schedule Register: {}", schedule);
         
-        // データベースへの登録処理
-        scheduleMapper.insertSchedule(schedule);
+        // データベースへの登録処理 (重複判定後に登録し、コミット後に予約画面の上映時間表に反映されます)
+        try {
+            scheduleService.registerSchedule(schedule);
+        } catch (IllegalStateException e) {
+            log.warn(" * Schedule Register Rejected: {}", e.getMessage());
+            rttr.addFlashAttribute("error", e.getMessage());
+            return "redirect:/admin/schedule/register";
+        }
         
         // [追加] 登録成功のフラッシュメッセージを追加 (Success Message)
         rttr.addFlashAttribute("msg", "上映スケジュールが正常に登録されました。");
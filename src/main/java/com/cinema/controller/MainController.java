@@ -4,7 +4,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import com.cinema.mapper.MovieMapper;
+import com.cinema.service.MovieService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +21,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j                   //
 public class MainController {
 
-    // MovieMapperをDI（依存性注入）してデータベースにアクセスします
+    // MovieServiceをDI（依存性注入）して映画リストを取得します (映画カタログキャッシュ経由)
     // @RequiredArgsConstructor により、コンストラクタ経由で安全に注入されます。
-    private final MovieMapper movieMapper;
+    private final MovieService movieService;
     
     /*
      * メインページ表示
@@ -37,8 +37,8 @@ public class MainController {
         log.info(" - User: Main Page Accessed");
 
         try {
-            // DBから全ての映画リストを取得し、"movieList"というキーでViewに渡します
-            model.addAttribute("movieList", movieMapper.selectAllMovies());
+            // 全ての映画リストを取得し、"movieList"というキーでViewに渡します
+            model.addAttribute("movieList", movieService.getMovieList());
         } catch (Exception e) {
             log.error("メイン画面の映画リスト取得中にエラーが発生しました。", e);
         }
@@ -0,0 +1,41 @@
+package com.cinema.controller;
+
+import com.cinema.service.MovieSuggester;
+import com.cinema.service.MovieSuggestion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** **
+ * 映画情報 REST API コントローラー
+ * ヘッダーの検索ボックスの入力候補 (Type-ahead) を提供します。
+ * URLパスは '/api/movie' で始まります (ログイン不要)。
+ ** **/
+@RestController
+@RequestMapping("/api/movie")
+@RequiredArgsConstructor
+public class MovieApiController {
+
+    private final MovieSuggester movieSuggester;
+
+    /*
+     * 検索ボックスの入力候補を取得 (キー入力ごとに呼び出されます)
+     * 同じ入力の繰り返しはブラウザのキャッシュで返却できるよう、短時間のキャッシュを許可します。
+     *
+     * @param q 入力途中の文字列
+     * @param limit 最大件数 (既定 8、最大 10)
+     * @return 入力候補 (mno, title) のリスト (人気順)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MovieSuggestion>> suggest(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(movieSuggester.suggest(q, limit));
+    }
+}
@@ -1,6 +1,7 @@
 package com.cinema.controller;
 
 import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
 import com.cinema.service.MovieService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -67,7 +68,7 @@ public class MovieController {
         log.info(" - User: Movie List Page Accessed (Keyword: {})", keyword);
 
         // キーワードに基づく動的検索を実行
-        List<Movie> movieList = movieService.getMovieList(keyword);
+        List<MovieCard> movieList = movieService.getMovieList(keyword);
         
         model.addAttribute("movieList", movieList);
         model.addAttribute("keyword", keyword); // 検索結果画面にキーワードを表示するため
@@ -0,0 +1,85 @@
+package com.cinema.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.cinema.service.PosterStorage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/** **
+ * ポスター画像配信コントローラー
+ * URLパス '/upload/**' のポスター画像 (原本・サイズ別バリアント) を、ローカルディスクから配信します (ログイン不要)。
+ *
+ * - 内容が変更されないファイル名の画像は、1年間のキャッシュ (immutable) を許可します。
+ *   再訪問時もブラウザのキャッシュから表示され、再取得・再検証のリクエストは発生しません。
+ * - 強い ETag を付与し、If-None-Match が一致する場合は 304 (Not Modified) を返却します。
+ * - 本文は Tomcat の sendfile (ゼロコピー転送) で送信します。非対応の環境ではストリームにコピーします。
+ ** **/
+@Controller
+@RequiredArgsConstructor
+public class PosterController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    /* Tomcat の sendfile 用のリクエスト属性 */
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final PosterStorage posterStorage;
+
+    /*
+     * ポスター画像の配信
+     *
+     * @param variant サイズ別バリアントのディレクトリ名 (w200 など。原本の場合はなし)
+     * @param name ファイル名
+     */
+    @GetMapping({ "/upload/{name}", "/upload/{variant}/{name}" })
+    public void poster(@PathVariable(value = "variant", required = false) String variant,
+                       @PathVariable("name") String name,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        Path file = posterStorage.locate(variant, name);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        CacheControl cacheControl = posterStorage.isImmutable(name) ? IMMUTABLE : CacheControl.noCache();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(posterStorage.etag(variant, name, file))) {
+            return;
+        }
+
+        long length = Files.size(file);
+        response.setContentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // レスポンスの完了後に Tomcat がファイルを直接ソケットへ転送する (本文はここでは書き込まない)
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        Files.copy(file, response.getOutputStream());
+    }
+}
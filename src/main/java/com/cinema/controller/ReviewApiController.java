@@ -1,13 +1,15 @@
 package com.cinema.controller;
 
 import com.cinema.domain.Review;
+import com.cinema.dto.CursorPage;
+import com.cinema.dto.PageCursor;
 import com.cinema.mapper.ReviewMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -15,12 +17,40 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ReviewApiController {
 
+    /* レビューリストの1ページの件数 */
+    private static final int PAGE_SIZE = 10;
+
     private final ReviewMapper reviewMapper;
 
-    // レビューリスト取得
+    /*
+     * レビューリスト取得 (新しい順、キーセットページング)
+     * 最初のページ (cursor なし) には、全件の件数と平均評価を含めます。
+     *
+     * @param mno 映画番号
+     * @param cursor 前のページの nextCursor (任意)
+     * @return reviews, nextCursor (最後のページは null), count, average
+     */
     @GetMapping("/list/{mno}")
-    public ResponseEntity<List<Map<String, Object>>> getList(@PathVariable("mno") Long mno) {
-        return ResponseEntity.ok(reviewMapper.selectReviewsByMno(mno));
+    public ResponseEntity<Map<String, Object>> getList(@PathVariable("mno") Long mno,
+                                                       @RequestParam(value = "cursor", required = false) String cursor) {
+        PageCursor pageCursor;
+        try {
+            pageCursor = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        CursorPage page = CursorPage.of(reviewMapper.selectReviewsByMno(mno, pageCursor, PAGE_SIZE + 1),
+                PAGE_SIZE, "cursor_at", "rev_no");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("reviews", page.items());
+        body.put("nextCursor", page.nextCursor());
+        if (pageCursor == null) {
+            Map<String, Object> summary = reviewMapper.selectReviewSummary(mno);
+            body.put("count", summary.get("review_count"));
+            body.put("average", summary.get("avg_star"));
+        }
+        return ResponseEntity.ok(body);
     }
 
     // レビュー登録
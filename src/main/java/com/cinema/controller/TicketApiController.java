@@ -1,12 +1,29 @@
 package com.cinema.controller;
 
 import com.cinema.domain.Movie;
+import com.cinema.dto.SeatHoldRequest;
+import com.cinema.service.SeatEventHub;
+import com.cinema.service.SeatHold;
+import com.cinema.service.SeatHoldService;
+import com.cinema.service.SeatInventory;
+import com.cinema.service.SeatMap;
 import com.cinema.service.TicketService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +38,10 @@ import java.util.Map;
 public class TicketApiController {
 
     private final TicketService ticketService;
+    private final SeatHoldService seatHoldService;
+    private final SeatInventory seatInventory;
+    private final SeatEventHub seatEventHub;
+    private final ObjectMapper objectMapper;
 
     // 1. 予約可能な映画リストを取得
     @GetMapping("/movies")
@@ -38,7 +59,103 @@ public class TicketApiController {
     @GetMapping("/schedules")
     public ResponseEntity<List<Map<String, Object>>> getSchedules(
             @RequestParam("mno") Long mno, 
-            @RequestParam("sdate") String sdate) {
+            @RequestParam("sdate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate sdate) {
         return ResponseEntity.ok(ticketService.getSchedules(mno, sdate));
     }
+
+    /*
+     * 予約画面の初期表示 (映画リスト + 選択した映画の日付リスト + 選択した日付の上映スケジュール) を1回で取得
+     * 内容のハッシュを ETag として返却し、If-None-Match が一致する場合は本文なしの 304 を返します。
+     *
+     * @param mno 映画番号 (任意)
+     * @param sdate 上映日 (任意。省略時は最初の上映日)
+     */
+    @GetMapping("/bootstrap")
+    public ResponseEntity<byte[]> getBootstrap(
+            @RequestParam(value = "mno", required = false) Long mno,
+            @RequestParam(value = "sdate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate sdate,
+            WebRequest webRequest) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(ticketService.getBootstrap(mno, sdate));
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /*
+     * 4. 座席の仮押さえ (決済前の一時確保)
+     * 一定時間 (TTL) が経過すると自動的に解放されます。
+     * 他のお客様が選択中、または予約済みの座席が含まれる場合は 409 (Conflict) を返します。
+     */
+    @PostMapping("/hold")
+    public ResponseEntity<Map<String, Object>> hold(@RequestBody SeatHoldRequest request, Principal principal) {
+        if (principal == null) return ResponseEntity.status(403).build();
+
+        try {
+            SeatHold hold = seatHoldService.hold(request.getSno(), principal.getName(), request.getSeats());
+            return ResponseEntity.ok(Map.of(
+                    "sno", hold.getSno(),
+                    "seats", hold.getSeats(),
+                    "expiresAt", hold.getExpiresAt().toEpochMilli()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // 5. 座席の仮押さえを解放 (決済キャンセル時)
+    @DeleteMapping("/hold/{sno}")
+    public ResponseEntity<Void> releaseHold(@PathVariable("sno") Long sno, Principal principal) {
+        if (principal == null) return ResponseEntity.status(403).build();
+
+        seatHoldService.release(sno, principal.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    /*
+     * 6. 座席状況のリアルタイム配信 (Server-Sent Events)
+     * 接続時に現在の予約済み・仮押さえ座席を送信し、以降は booked / held / released の差分をプッシュします。
+     * 座席状況はメモリ上の座席マップから取得するため、接続ごとのDBポーリングは発生しません。
+     * 座席状況はチャネルへの参加後に取得します (その間の差分を取りこぼさないため)。
+     * 存在しないスケジュールの場合は 404 (Not Found) を返します。
+     */
+    @GetMapping(value = "/seats/{sno}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeats(@PathVariable("sno") Long sno, Principal principal) {
+        String userid = principal != null ? principal.getName() : null;
+        SeatMap seatMap;
+        try {
+            seatMap = seatInventory.get(sno);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(seatEventHub.subscribe(sno, () -> Map.of(
+                "booked", seatMap.bookedLabels(),
+                "held", seatHoldService.getHeldSeats(sno, userid))));
+    }
+
+    /*
+     * 7. おすすめ座席の探索 (グループ予約向け)
+     * 指定枚数の連続した空席のうち、中央寄り・推奨距離の行で、1席だけの隙間を作らないブロックを返します。
+     * 条件に合うブロックがない場合は 404 (Not Found) を返します。
+     */
+    @GetMapping("/seats/{sno}/best")
+    public ResponseEntity<Map<String, Object>> bestSeats(@PathVariable("sno") Long sno,
+                                                         @RequestParam("count") int count,
+                                                         Principal principal) {
+        String userid = principal != null ? principal.getName() : null;
+        try {
+            List<String> seats = ticketService.findBestSeats(sno, count, userid);
+            if (seats.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", count + "席並びの空席が見つかりませんでした。"));
+            }
+            return ResponseEntity.ok(Map.of("sno", sno, "seats", seats));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
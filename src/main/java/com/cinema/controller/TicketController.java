@@ -2,8 +2,8 @@ package com.cinema.controller;
 
 import java.security.Principal;
 import java.util.List;
-import java.util.Map;
 
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,7 +14,14 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.cinema.mapper.MemberMapper;
 import com.cinema.mapper.ReservationMapper;
+import com.cinema.dto.CursorPage;
+import com.cinema.dto.CustomUserDetails;
+import com.cinema.dto.PageCursor;
+import com.cinema.service.PricingEngine;
+import com.cinema.service.SeatHoldService;
+import com.cinema.service.SeatPageInfo;
 import com.cinema.service.TicketService;
+import com.cinema.service.WaitingRoomService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,9 +36,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TicketController {
 
+	/* マイページの1ページの件数 (チケット、ポイント履歴) */
+	private static final int TICKET_PAGE_SIZE = 12;
+	private static final int POINT_PAGE_SIZE = 20;
+
 	private final TicketService ticketService;
 	private final ReservationMapper reservationMapper;
 	private final MemberMapper memberMapper;
+	private final SeatHoldService seatHoldService;
+	private final PricingEngine pricingEngine;
+	private final WaitingRoomService waitingRoomService;
 	
     /*
      * 予約メイン画面の表示
@@ -68,8 +82,8 @@ public class TicketController {
         log.info(" - User: Seat Selection Page Accessed (sno: {})", sno);
 
         try {
-            if (principal != null) {
-                String userid = principal.getName();
+            String userid = principal != null ? principal.getName() : null;
+            if (userid != null) {
                 int currentPoint = memberMapper.selectCurrentPoint(userid);
                 model.addAttribute("currentPoint", currentPoint);
             } else {
@@ -77,11 +91,16 @@ public class TicketController {
             }
 
             // スケジュール詳細と予約済み座席リストを取得
-            Map<String, Object> detail = ticketService.getScheduleDetail(sno);
+            SeatPageInfo detail = ticketService.getScheduleDetail(sno);
             List<String> bookedSeats = ticketService.getBookedSeats(sno);
 
             model.addAttribute("detail", detail);
             model.addAttribute("bookedSeats", bookedSeats);
+            // 他のお客様が仮押さえ中の座席 (DBアクセスなし)
+            model.addAttribute("heldSeats", seatHoldService.getHeldSeats(sno, userid));
+            // 行ごとの料金と会員等級の割引率 (表示用。決済金額はサーバー側で再計算されます)
+            model.addAttribute("rowPrices", pricingEngine.rowPrices(sno, detail.getTrow()));
+            model.addAttribute("discountRate", discountRateOf(principal));
             
         } catch (Exception e) {
             log.error(" * 座席情報の取得中にエラーが発生しました。", e);
@@ -97,7 +116,6 @@ public class TicketController {
      *
      * @param sno スケジュール番号
      * @param seatInfo 選択された座席文字列
-     * @param price 決済合計金額
      * @param principal Spring Securityの認証ユーザー情報
      * @param rttr リダイレクト時のフラッシュメッセージ用
      * @return マイページへのリダイレクトURL
@@ -105,7 +123,6 @@ public class TicketController {
     @PostMapping("/process")
     public String processReservation(@RequestParam("sno") Long sno,
                                      @RequestParam("seatInfo") String seatInfo,
-                                     @RequestParam("price") int price,
                                      Principal principal,
                                      RedirectAttributes rttr) {
         
@@ -121,12 +138,20 @@ public class TicketController {
 
         try {
             // トランザクション処理の呼び出し
-            ticketService.processReservation(sno, seatInfo, price, userid);
+            ticketService.processReservation(sno, seatInfo, userid);
+
+            // 予約が完了したため、待合室の入場枠 (サイト全体・スケジュール) を次のお客様へ返却します
+            waitingRoomService.leaveAll(userid);
             
             // 成功メッセージをセットしてマイページへ
             rttr.addFlashAttribute("successMsg", "チケットの予約と決済が完了しました。");
             return "redirect:/ticket/my"; 
 
+        } catch (IllegalStateException e) {
+            // 座席の重複・混雑などの業務エラーは、理由をそのまま表示します
+            log.warn(" * 予約処理失敗: {}", e.getMessage());
+            rttr.addFlashAttribute("errorMsg", e.getMessage());
+            return "redirect:/ticket/seat?sno=" + sno;
         } catch (Exception e) {
             log.error(" * 予約処理失敗", e);
             rttr.addFlashAttribute("errorMsg", "予約処理に失敗しました。もう一度お試しください。");
@@ -137,13 +162,18 @@ public class TicketController {
     /*
      * マイページ（チケット一覧）画面の表示
      * URL: /ticket/my
+     * チケット・ポイント履歴は新しい順に1ページずつ表示し、次のページはカーソル (前のページの最後の行) で指定します。
      *
+     * @param ticketCursor チケット一覧の次のページのカーソル (任意)
+     * @param pointCursor ポイント履歴の次のページのカーソル (任意)
      * @param principal Spring Securityの認証ユーザー情報
      * @param model Viewへデータを渡すモデル
      * @return マイページ画面 (ticket/my)
      */
     @GetMapping("/my")
-    public String myPage(Principal principal, Model model) {
+    public String myPage(@RequestParam(value = "ticketCursor", required = false) String ticketCursor,
+                         @RequestParam(value = "pointCursor", required = false) String pointCursor,
+                         Principal principal, Model model) {
         if (principal == null) {
             return "redirect:/member/login";
         }
@@ -152,9 +182,12 @@ public class TicketController {
         log.info(" - User: My Page Accessed (User: {})", userid);
 
         try {
-            // 1. チケット履歴の取得
-            List<Map<String, Object>> ticketList = reservationMapper.selectMyTickets(userid);
-            model.addAttribute("ticketList", ticketList);
+            // 1. チケット履歴の取得 (予約日時の新しい順に1ページ分)
+            CursorPage tickets = CursorPage.of(
+                    reservationMapper.selectMyTickets(userid, cursorOf(ticketCursor), TICKET_PAGE_SIZE + 1),
+                    TICKET_PAGE_SIZE, "rdate", "rno");
+            model.addAttribute("ticketList", tickets.items());
+            model.addAttribute("ticketNext", tickets.nextCursor());
             
             // 2. 会員情報の取得 (氏名、等級、残高ポイントなどの表示用)
             // ※ MemberMapper に findByUsername(userid) が実装されている前提です。
@@ -162,9 +195,12 @@ public class TicketController {
             model.addAttribute("member", member);
             model.addAttribute("userid", userid); 
             
-            // 3. ポイント履歴の取得
-            List<Map<String, Object>> pointList = memberMapper.selectPointHistory(userid);
-            model.addAttribute("pointList", pointList);
+            // 3. ポイント履歴の取得 (新しい順に1ページ分)
+            CursorPage points = CursorPage.of(
+                    memberMapper.selectPointHistory(userid, cursorOf(pointCursor), POINT_PAGE_SIZE + 1),
+                    POINT_PAGE_SIZE, "regdate", "pno");
+            model.addAttribute("pointList", points.items());
+            model.addAttribute("pointNext", points.nextCursor());
             
         } catch (Exception e) {
             log.error("マイページデータの取得中にエラーが発生しました。", e);
@@ -172,5 +208,28 @@ public class TicketController {
 
         return "ticket/my";
     }
-    
+
+    /*
+     * [内部メソッド] ページカーソルの解析 (不正な値の場合は最初のページ)
+     */
+    private PageCursor cursorOf(String token) {
+        try {
+            return PageCursor.decode(token);
+        } catch (IllegalArgumentException e) {
+            log.warn(" * Invalid page cursor: {}", token);
+            return null;
+        }
+    }
+
+    /*
+     * [内部メソッド] ログインユーザーの会員等級に応じた割引率を取得します (画面表示用)。
+     * 未ログインの場合は 0 を返します。
+     */
+    private double discountRateOf(Principal principal) {
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof CustomUserDetails details) {
+            return pricingEngine.discountRate(details.getMember().getMgrade());
+        }
+        return 0;
+    }
+
 }
\ No newline at end of file
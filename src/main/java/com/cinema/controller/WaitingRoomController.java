@@ -0,0 +1,83 @@
+package com.cinema.controller;
+
+import java.security.Principal;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.util.WebUtils;
+
+import com.cinema.service.QueueStatus;
+import com.cinema.service.WaitingRoomService;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 待合室コントローラー (Virtual Waiting Room)
+ * 入場待ちの画面表示と、待ち順位・推定待ち時間のポーリングAPIを提供します。
+ * ポーリングはメモリ上の待ち行列のみを参照し、DBにはアクセスしません。
+ ** **/
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    /*
+     * 待合室画面の表示
+     * URL: /waiting-room
+     *
+     * @param scope 待ち行列のスコープ
+     * @param next 入場後に遷移する画面 (予約画面のみ許可)
+     * @return 待合室画面 (ticket/waiting)
+     */
+    @GetMapping("/waiting-room")
+    public String waitingRoom(@RequestParam(value = "scope", defaultValue = WaitingRoomService.SITE_SCOPE) String scope,
+                              @RequestParam(value = "next", defaultValue = "/ticket/reserve") String next,
+                              Model model) {
+        // オープンリダイレクト防止のため、遷移先は予約画面に限定します
+        if (!next.startsWith("/ticket/")) {
+            next = "/ticket/reserve";
+        }
+        model.addAttribute("scope", scope);
+        model.addAttribute("next", next);
+        return "ticket/waiting";
+    }
+
+    /*
+     * 待ち順位と推定待ち時間の取得 (ポーリング)
+     * URL: /api/waiting-room/status
+     *
+     * @param scope 待ち行列のスコープ
+     * @return admitted, position, waiting, estimatedWaitSeconds, pollAfterSeconds
+     */
+    @GetMapping("/api/waiting-room/status")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> status(@RequestParam("scope") String scope,
+                                                      HttpServletRequest request,
+                                                      Principal principal) {
+        if (principal == null) return ResponseEntity.status(403).build();
+
+        Cookie cookie = WebUtils.getCookie(request, waitingRoomService.cookieName(scope));
+        QueueStatus status = waitingRoomService.status(scope, principal.getName(), cookie != null ? cookie.getValue() : null);
+
+        // 順位が後ろのユーザーほどポーリング間隔を長くし、待合室自体の負荷を抑えます
+        long pollAfter = status.position() <= 10 ? 2 : status.position() <= 100 ? 5 : 10;
+
+        return ResponseEntity.ok(Map.of(
+                "admitted", status.isAdmitted(),
+                "expired", status.state() == QueueStatus.State.UNKNOWN,
+                "position", status.position(),
+                "waiting", status.waiting(),
+                "estimatedWaitSeconds", waitingRoomService.estimatedWaitSeconds(scope, status),
+                "pollAfterSeconds", pollAfter));
+    }
+}
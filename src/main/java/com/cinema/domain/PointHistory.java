@@ -0,0 +1,34 @@
+package com.cinema.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** **
+ * ポイント履歴 ドメインクラス
+ * データベースの 'point_history' テーブルとマッピングされます。
+ ** **/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointHistory {
+
+    // 履歴番号 (Primary Key)
+    private Long pno;
+
+    // ユーザーID
+    private String userid;
+
+    // 変動ポイント (正数:リワード積立, 負数:決済使用)
+    private Integer amount;
+
+    // 変動内容
+    private String description;
+
+    // 登録日時
+    private LocalDateTime regdate;
+}
@@ -0,0 +1,38 @@
+package com.cinema.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** **
+ * 予約 ドメインクラス
+ * データベースの 'reservation' テーブルとマッピングされます。
+ * 座席の明細は 'reservation_seat' テーブル ({@link ReservationSeat}) に1席1行で保持します。
+ ** **/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reservation {
+
+    // 予約番号 (Primary Key, Auto Increment)
+    private Long rno;
+
+    // スケジュール番号 (Foreign Key)
+    private Long sno;
+
+    // ユーザーID (Foreign Key)
+    private String userid;
+
+    // 決済金額
+    private Integer price;
+
+    // 予約ステータス (PAID: 決済完了, CANCEL: 取消)
+    private String status;
+
+    // 予約日時
+    private LocalDateTime rdate;
+}
@@ -0,0 +1,30 @@
+package com.cinema.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** **
+ * 予約座席 ドメインクラス
+ * データベースの 'reservation_seat' テーブルとマッピングされます。
+ * (sno, seat_row, seat_col) にユニーク制約があり、同一座席の二重予約はDBレベルで拒否されます。
+ ** **/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSeat {
+
+    // 予約番号 (Foreign Key)
+    private Long rno;
+
+    // スケジュール番号 (Foreign Key)
+    private Long sno;
+
+    // 座席の行 (A, B, C ...)
+    private String seatRow;
+
+    // 座席の列 (1 始まり)
+    private Integer seatCol;
+}
@@ -0,0 +1,36 @@
+package com.cinema.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/** **
+ * キーセットページングの1ページ分の結果
+ *
+ * @param items このページの行
+ * @param nextCursor 次のページのカーソル文字列 (最後のページの場合は null)
+ ** **/
+public record CursorPage(List<Map<String, Object>> items, String nextCursor) {
+
+    /*
+     * ページサイズ + 1 件で検索した結果から、1ページ分の結果を作成します。
+     * ページサイズを超える行があれば次のページがあるものとし、ページの最後の行からカーソルを作成します。
+     *
+     * @param rows ページサイズ + 1 件を上限に検索した行
+     * @param size ページサイズ
+     * @param atColumn カーソルの日時の列名
+     * @param idColumn カーソルの番号の列名
+     * @return 1ページ分の結果
+     */
+    public static CursorPage of(List<Map<String, Object>> rows, int size, String atColumn, String idColumn) {
+        if (rows.size() <= size) {
+            return new CursorPage(rows, null);
+        }
+        List<Map<String, Object>> items = rows.subList(0, size);
+        Map<String, Object> last = items.get(size - 1);
+        return new CursorPage(items, PageCursor.of(last.get(atColumn), last.get(idColumn)).encode());
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
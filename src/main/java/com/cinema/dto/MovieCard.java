@@ -0,0 +1,36 @@
+package com.cinema.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** **
+ * 映画カード (一覧表示用の映画情報 DTO)
+ * メイン画面・映画一覧・管理画面の映画リストなど、ポスターを並べて表示する画面で使用します。
+ * あらすじ (content: TEXT) と登録日時は含みません。全項目は映画詳細 ({@link com.cinema.domain.Movie}) で取得します。
+ ** **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieCard {
+
+    /* 映画番号 (Primary Key) */
+    private Long mno;
+
+    /* 映画タイトル */
+    private String title;
+
+    /* ポスター画像のファイル名 */
+    private String poster;
+
+    /* 上映時間 (分単位) */
+    private Integer runtime;
+
+    /* 公開日 (YYYY-MM-DD) */
+    private String opendate;
+
+    /* キャッチコピー (宣伝文句) */
+    private String catchphrase;
+}
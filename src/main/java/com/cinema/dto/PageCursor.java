@@ -0,0 +1,60 @@
+package com.cinema.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/** **
+ * キーセットページングのカーソル (Keyset Pagination Cursor)
+ * 新しい順 (日時の降順、同じ日時は番号の降順) に並べた一覧で、前のページの最後の行の (日時, 番号) を保持します。
+ * 次のページは OFFSET ではなく「この行より前」の条件 (シーク条件) で検索するため、
+ * 履歴がどれだけ増えても、ページの取得コストは一定です。
+ *
+ * 画面・API では URL に埋め込める不透明な文字列 ({@link #encode()}) として受け渡します。
+ *
+ * @param at 最後の行の日時
+ * @param id 最後の行の番号 (PK)
+ ** **/
+public record PageCursor(LocalDateTime at, long id) {
+
+    /*
+     * URL に埋め込める文字列に変換します (Base64URL)。
+     * @return カーソル文字列
+     */
+    public String encode() {
+        String raw = at + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * カーソル文字列を解析します。
+     * @param token カーソル文字列 (null・空の場合は最初のページ)
+     * @return カーソル (最初のページの場合は null)
+     * @throws IllegalArgumentException カーソル文字列が不正な場合
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("不正なページカーソルです。", e);
+        }
+    }
+
+    /*
+     * 検索結果の行 (Map) の日時・番号の列からカーソルを作成します。
+     * @param at 日時の列の値 (LocalDateTime または Timestamp)
+     * @param id 番号の列の値
+     * @return カーソル
+     */
+    static PageCursor of(Object at, Object id) {
+        LocalDateTime dateTime = at instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) at;
+        return new PageCursor(dateTime, ((Number) id).longValue());
+    }
+}
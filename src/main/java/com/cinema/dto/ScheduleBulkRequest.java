@@ -0,0 +1,32 @@
+package com.cinema.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/** **
+ * 上映スケジュール一括登録リクエスト (DTO)
+ * 管理者 API (POST /admin/api/schedules/bulk) に送信される JSON をマッピングします。
+ * 期間内の毎日 x 上映館 x 上映開始時刻 の組み合わせを上映回として展開します。
+ ** **/
+@Data
+public class ScheduleBulkRequest {
+
+    // 映画番号
+    private Long mno;
+
+    // 上映館番号のリスト
+    private List<Long> tnos;
+
+    // 上映期間の初日と最終日 (両日を含む。例: "2026-03-01")
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // 上映開始時刻のリスト (例: ["09:30", "13:00", "19:30"])
+    private List<LocalTime> times;
+
+    // 上映終了後の清掃時間 (分)。次の上映回との間に最低限空ける時間です (未指定時は 15 分)
+    private Integer cleanupMinutes;
+}
@@ -0,0 +1,19 @@
+package com.cinema.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/** **
+ * 座席仮押さえリクエスト (DTO)
+ * 座席選択画面から POST /api/ticket/hold に送信される JSON をマッピングします。
+ ** **/
+@Data
+public class SeatHoldRequest {
+
+    // スケジュール番号
+    private Long sno;
+
+    // 仮押さえする座席ラベル (例: ["A-1", "A-2"])
+    private List<String> seats;
+}
@@ -1,5 +1,6 @@
 package com.cinema.mapper;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -7,6 +8,8 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import com.cinema.domain.Member;
+import com.cinema.domain.PointHistory;
+import com.cinema.dto.PageCursor;
 
 /** **
  * 会員 (Member) データアクセスオブジェクト (DAO)
@@ -52,36 +55,35 @@ public interface MemberMapper {
     int selectCurrentPoint(@Param("userid") String userid);
     
     /*
-     * 会員等級(member_grade)に基づくポイント積立率を取得します。
+     * 特定ユーザーのポイント変動履歴リストを取得します。
+     * 日時の降順(最新順)で返却します (キーセットページング)。
      * @param userid ユーザーID
-     * @return ポイント積立率 (例: 0.05)
+     * @param cursor 前のページの最後の行 (regdate, pno)。null の場合は最初のページ
+     * @param limit 最大件数
+     * @return ポイント履歴のマップリスト
      */
-    double selectPointRate(@Param("userid") String userid);
+    List<Map<String, Object>> selectPointHistory(@Param("userid") String userid,
+                                                 @Param("cursor") PageCursor cursor,
+                                                 @Param("limit") int limit);
 
     /*
-     * 会員の保有ポイントを更新(加算/減算)します。
-     * * @param userid ユーザーID
-     * @param amount 変動ポイント (正数:リワード積立, 負数:決済使用)
+     * 複数会員のポイント残高と会員等級を一括で取得し、会員行をロックします (予約のグループコミット用)。
+     * @param userids ユーザーIDのリスト
+     * @return userid, point, mgrade のマップリスト
      */
-    void updateMemberPoint(@Param("userid") String userid, @Param("amount") int amount);
+    List<Map<String, Object>> selectPointAccountsForUpdate(@Param("userids") Collection<String> userids);
 
     /*
-     * ポイント変動履歴をデータベース(point_history)に登録します。
-     * @param userid ユーザーID
-     * @param amount 変動ポイント
-     * @param description 変動内容 (例: "映画チケット決済", "チケット決済に伴うリワード積立")
+     * 複数会員の保有ポイントを1回の UPDATE でまとめて更新(加算/減算)します。
+     * @param amounts ユーザーID -> 変動ポイント
      */
-    void insertPointHistory(@Param("userid") String userid, 
-                            @Param("amount") int amount, 
-                            @Param("description") String description);
-    
+    void updateMemberPoints(@Param("amounts") Map<String, Integer> amounts);
+
     /*
-     * 特定ユーザーのポイント変動履歴リストを取得します。
-     * 日時の降順(最新順)で返却します。
-     * @param userid ユーザーID
-     * @return ポイント履歴のマップリスト
+     * ポイント変動履歴を1回のマルチロー INSERT でまとめて登録します。
+     * @param histories ポイント履歴のリスト
      */
-    List<Map<String, Object>> selectPointHistory(@Param("userid") String userid);
+    void insertPointHistories(@Param("histories") List<PointHistory> histories);
     
     /*
      * ユーザーの基本情報（氏名、電話番号、メールアドレス）を更新します。
@@ -1,11 +1,14 @@
 package com.cinema.mapper;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
 
 /** **
  * 映画マッパーインターフェース (Movie Mapper Interface)
@@ -21,11 +24,11 @@ public interface MovieMapper {
     void insertMovie(Movie movie);
 
     /*
-     * 全ての映画リストを取得します。
+     * 全ての映画リストを一覧表示用の項目のみで取得します (公開日の新しい順)。
      * メイン画面の横スクロールUIなどで使用されます。
-     * @return 映画リスト (List of Movie)
+     * @return 映画カードのリスト
      */
-    List<Movie> selectAllMovies();
+    List<MovieCard> selectMovieCards();
 
     /*
      * 映画情報を更新します。
@@ -47,9 +50,22 @@ public interface MovieMapper {
     Movie selectMovieDetail(@Param("mno") Long mno);
     
     /*
-     * 映画リストの照会（検索対応）
-     * キーワードが存在する場合はタイトルおよびキャッチフレーズによる曖昧検索(LIKE)を実行します。
-     * @param keyword 検索キーワード（null可）
+     * 検索インデックス (MovieSearchIndex) の構築用に、全ての映画を一覧表示用の項目とあらすじ (content) で取得します。
+     * @return 映画リスト (登録日時は含みません)
      */
-    List<Movie> selectMovieList(@Param("keyword") String keyword);
+    List<Movie> selectSearchableMovies();
+
+    /*
+     * 映画ごとの予約件数 (人気度) を取得します。検索候補 (MovieSuggester) の並び順に使用します。
+     * @param from 集計対象の予約日時の下限
+     * @return mno, bookings (予約のない映画は含みません)
+     */
+    List<Map<String, Object>> selectMoviePopularity(@Param("from") LocalDateTime from);
+
+    /*
+     * ポスター画像を参照している映画の件数を取得します (同じ内容の画像は1つのファイルを共有するため)。
+     * @param poster ポスターのファイル名
+     * @return 参照している映画の件数
+     */
+    int countMoviesByPoster(@Param("poster") String poster);
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.cinema.mapper;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/** **
+ * 料金 (Pricing) データアクセスオブジェクト (DAO)
+ * チケット料金表 (ticket_tariff)、座席クラス (seat_class_row)、会員等級 (member_grade) を扱います。
+ * 予約時の料金計算はメモリ上の料金マトリクスで行うため、本マッパーは構築時と管理者の変更時にのみ使用されます。
+ ** **/
+@Mapper
+public interface PricingMapper {
+
+    /*
+     * 全上映館の料金表を取得します。
+     * @return tno, day_type, seat_class, price のマップリスト
+     */
+    List<Map<String, Object>> selectTariffs();
+
+    /*
+     * 座席クラスが設定された行の一覧を取得します。
+     * @return tno, seat_row, seat_class のマップリスト
+     */
+    List<Map<String, Object>> selectSeatClassRows();
+
+    /*
+     * 全会員等級の割引率・積立率を取得します。
+     * @return mgrade, grade_name, point_rate, discount_rate のマップリスト
+     */
+    List<Map<String, Object>> selectMemberGrades();
+
+    /*
+     * 料金を登録・変更します (存在しない場合は新規登録)。
+     * @param tno 上映館番号
+     * @param dayType 曜日区分 (WEEKDAY, WEEKEND)
+     * @param seatClass 座席クラス (STANDARD, PREMIUM)
+     * @param price 1席あたりの料金
+     */
+    void upsertTariff(@Param("tno") int tno,
+                      @Param("dayType") String dayType,
+                      @Param("seatClass") String seatClass,
+                      @Param("price") int price);
+
+    /*
+     * 会員等級の積立率・割引率を変更します。
+     * @param mgrade 会員等級
+     * @param pointRate ポイント積立率 (例: 0.05)
+     * @param discountRate 割引率 (例: 0.1)
+     * @return 更新件数
+     */
+    int updateGradeRates(@Param("mgrade") int mgrade,
+                         @Param("pointRate") double pointRate,
+                         @Param("discountRate") double discountRate);
+}
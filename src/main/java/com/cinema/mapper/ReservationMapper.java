@@ -1,5 +1,8 @@
 package com.cinema.mapper;
 
+import com.cinema.domain.Reservation;
+import com.cinema.domain.ReservationSeat;
+import com.cinema.dto.PageCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -8,40 +11,39 @@ import java.util.Map;
 
 /** **
  * 予約マッパー
- * 予約情報のデータベース操作(CRUD)および排他制御を担当しますle。
+ * 予約情報のデータベース操作(CRUD)を担当します。
+ * 座席の排他制御はメモリ上の座席在庫 (SeatInventory) と reservation_seat のユニーク制約が担当します。
  ** **/
 @Mapper
 public interface ReservationMapper {
 
     /*
-     * 新規予約情報を登録します。
+     * 複数の予約情報を1回のマルチロー INSERT でまとめて登録します (予約のグループコミット用)。
+     * 採番された予約番号 (rno) は、リストの各要素に設定されます。
      *
-     * @param sno スケジュール番号
-     * @param userid ユーザーID
-     * @param seatInfo 選択された座席情報 (例: "A-1,A-2")
-     * @param price 決済金額
+     * @param reservations 予約情報のリスト
      */
-    void insertReservation(@Param("sno") Long sno, 
-                           @Param("userid") String userid, 
-                           @Param("seatInfo") String seatInfo, 
-                           @Param("price") int price);
-    
+    void insertReservations(List<Reservation> reservations);
+
     /*
-     * ログインユーザーの予約履歴(チケット一覧)を取得します。
+     * 予約の座席明細を1回のマルチロー INSERT でまとめて登録します。
+     * (sno, seat_row, seat_col) のユニーク制約に違反した場合、
+     * {@link org.springframework.dao.DuplicateKeyException} がスローされます。
      *
-     * @param userid ユーザーID
-     * @return チケット情報のマップリスト
+     * @param seats 登録する座席リスト
      */
-    List<Map<String, Object>> selectMyTickets(@Param("userid") String userid);
+    void insertReservationSeats(@Param("seats") List<ReservationSeat> seats);
     
     /*
-     * 指定されたスケジュールにおいて、要請された座席が既に予約されているかを確認します（排他制御）。
-     * 悲観的ロック(FOR UPDATE)を適用し、同一座席への重複予約を防止します。
+     * ログインユーザーの予約履歴(チケット一覧)を取得します (予約日時の新しい順、キーセットページング)。
      *
-     * @param sno スケジュール番号
-     * @param seatList 検証対象の座席リスト
-     * @return 競合する予約件数
+     * @param userid ユーザーID
+     * @param cursor 前のページの最後の行 (rdate, rno)。null の場合は最初のページ
+     * @param limit 最大件数
+     * @return チケット情報のマップリスト
      */
-    int checkExistingReservationForUpdate(@Param("sno") Long sno, @Param("seatList") List<String> seatList);
+    List<Map<String, Object>> selectMyTickets(@Param("userid") String userid,
+                                              @Param("cursor") PageCursor cursor,
+                                              @Param("limit") int limit);
     
 }
\ No newline at end of file
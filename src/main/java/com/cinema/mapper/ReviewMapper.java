@@ -1,6 +1,7 @@
 package com.cinema.mapper;
 
 import com.cinema.domain.Review;
+import com.cinema.dto.PageCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -15,9 +16,20 @@ import java.util.Map;
 public interface ReviewMapper {
 
     /*
-     * 特定の映画に対するレビューリストを照会
+     * 特定の映画に対するレビューリストを照会 (新しい順、キーセットページング)
+     * @param mno 映画番号
+     * @param cursor 前のページの最後の行 (null の場合は最初のページ)
+     * @param limit 最大件数
      */
-    List<Map<String, Object>> selectReviewsByMno(@Param("mno") Long mno);
+    List<Map<String, Object>> selectReviewsByMno(@Param("mno") Long mno,
+                                                 @Param("cursor") PageCursor cursor,
+                                                 @Param("limit") int limit);
+
+    /*
+     * 特定の映画に対するレビューの件数と平均評価を照会
+     * @return review_count, avg_star (レビューがない場合は null)
+     */
+    Map<String, Object> selectReviewSummary(@Param("mno") Long mno);
 
     /*
      * 新規レビューを登録します。
@@ -1,10 +1,10 @@
 package com.cinema.mapper;
 
-import com.cinema.domain.Movie;
 import com.cinema.domain.Schedule;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -26,27 +26,45 @@ public interface ScheduleMapper {
      * @param schedule 登録するスケジュール情報
      */
     void insertSchedule(Schedule schedule);
-    
+
     /*
-     * 現在上映スケジュールが存在する映画のリストを取得します。
-     * @return 予約可能な映画リスト
+     * 上映スケジュールを1回のステートメント (マルチロー INSERT) でまとめて登録します。
+     * @param schedules 登録するスケジュール情報 (登録後、各要素に sno が設定されます)
      */
-    List<Movie> selectAvailableMovies();
+    void insertSchedules(List<Schedule> schedules);
 
     /*
-     * 選択した映画（mno）の予約可能な日付リストを取得します。
-     * @param mno 映画番号
-     * @return 予約可能な日付の文字列リスト (例: "2026-02-21")
+     * 上映館の行をロックします (同じ上映館へのスケジュール一括登録を直列化するため)。
+     * @param tnos 上映館番号のリスト
+     * @return 存在する上映館番号のリスト
      */
-    List<String> selectAvailableDates(@Param("mno") Long mno);
+    List<Long> selectTheatersForUpdate(@Param("tnos") List<Long> tnos);
 
     /*
-     * 選択した映画と日付に基づく具体的な上映スケジュールを取得します。
-     * @param mno 映画番号
-     * @param sdate 選択された日付 (YYYY-MM-DD)
-     * @return スケジュール情報（時間、上映館、残席数など）のマップリスト
+     * 上映館ごとの重複判定のため、指定期間に開始するスケジュールを上映時間とともに取得します。
+     * @param tnos 上映館番号のリスト
+     * @param from 上映開始日時の下限 (含む)
+     * @param to 上映開始日時の上限 (含まない)
+     * @return スケジュール情報 (sno, tno, sdate, runtime) のマップリスト
      */
-    List<Map<String, Object>> selectSchedulesByDate(@Param("mno") Long mno, @Param("sdate") String sdate);
+    List<Map<String, Object>> selectTheaterSchedules(@Param("tnos") List<Long> tnos,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+    
+    /*
+     * 指定時刻より後に開始する全ての上映スケジュールを、映画・上映館の情報とともに取得します。
+     * 上映時間表 (ShowtimeTimetable) の構築用です。映画タイトル順・開始時刻順で返却します。
+     * @param from 上映開始時刻の下限
+     * @return スケジュール情報 (sno, mno, tno, sdate, theater_name, total_seats, title, poster, runtime) のマップリスト
+     */
+    List<Map<String, Object>> selectUpcomingShowtimes(@Param("from") LocalDateTime from);
+
+    /*
+     * 指定したスケジュールを、映画・上映館の情報とともに取得します (登録直後の上映時間表への反映用)。
+     * @param snos スケジュール番号のリスト
+     * @return スケジュール情報のマップリスト (selectUpcomingShowtimes と同じ列)
+     */
+    List<Map<String, Object>> selectShowtimes(@Param("snos") List<Long> snos);
     
     /*
      * 選択されたスケジュール(sno)の詳細情報(映画、上映館の座席数など)を取得します。
@@ -55,8 +73,17 @@ public interface ScheduleMapper {
      */
     Map<String, Object> selectScheduleDetail(@Param("sno") Long sno);
 
+    /*
+     * 指定時刻より後に開始するスケジュールごとの予約済み座席数を、1回の集計で取得します。
+     * 予約済み座席が1つもないスケジュールは含まれません。
+     * @param from 上映開始時刻の下限
+     * @return スケジュールごとの予約済み座席数 (sno, booked) のマップリスト
+     */
+    List<Map<String, Object>> selectBookedSeatCounts(@Param("from") LocalDateTime from);
+
     /*
      * 該当スケジュールの既に予約済みの座席リストを取得します。
+     * reservation_seat テーブルから1座席1要素で返却します。
      * @param sno スケジュール番号
      * @return 予約済み座席のリスト (例: ["A-1", "B-2"])
      */
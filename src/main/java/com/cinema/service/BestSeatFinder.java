@@ -0,0 +1,150 @@
+package com.cinema.service;
+
+/** **
+ * おすすめ座席の探索 (Best-Available Seat Finder)
+ * 座席占有ビットマップ ({@link SeatMap}) を行単位の 64bit ワード演算で走査し、
+ * 指定枚数の連続した空席ブロックのうち、最も条件の良いものを求めます。
+ *
+ * 評価基準 (スコアが小さいほど良い):
+ *   - スクリーンからの推奨距離 (全行数の約 2/3 の行) に近いこと
+ *   - ブロックの中心が行の中央に近いこと
+ *   - ブロックの左右に1席だけの空席 (売れ残りやすい隙間) を作らないこと
+ *
+ * 空席の連続区間はワード単位の numberOfTrailingZeros で検出するため、座席ごとの文字列処理は行いません。
+ * 推奨行から近い順に走査し、行の距離だけで現在の最良スコアを超えた時点で打ち切ります。
+ ** **/
+public final class BestSeatFinder {
+
+    /* スクリーンからの推奨距離 (全行数に対する割合) */
+    private static final double PREFERRED_ROW_RATIO = 2.0 / 3.0;
+
+    /* 推奨行から1行離れるごとのスコア (中央から1席ずれるより重く評価) */
+    private static final double ROW_WEIGHT = 2.0;
+
+    /* 1席だけの隙間を作る場合のスコア (他に候補がない場合のみ採用されます) */
+    private static final double GAP_PENALTY = 1000.0;
+
+    private static final int[] NONE = new int[0];
+
+    private BestSeatFinder() {
+    }
+
+    /*
+     * 連続した空席ブロックを探索します。
+     *
+     * @param seatMap 座席マップ
+     * @param excluded 予約済み以外で選択不可とする座席番号 (他のお客様の仮押さえなど)
+     * @param count 枚数
+     * @return 座席番号の配列 (左から順)。条件に合うブロックがない場合は空配列
+     */
+    public static int[] find(SeatMap seatMap, int[] excluded, int count) {
+        int rows = seatMap.getRows();
+        int cols = seatMap.getCols();
+        int wordsPerRow = seatMap.getWordsPerRow();
+
+        long[] words = seatMap.snapshotWords();
+        for (int index : excluded) {
+            int col = index % cols;
+            words[(index / cols) * wordsPerRow + (col >>> 6)] |= 1L << col;
+        }
+        int preferredRow = Math.min(rows - 1, (int) (rows * PREFERRED_ROW_RATIO));
+        return find(words, rows, cols, wordsPerRow, count, preferredRow);
+    }
+
+    /*
+     * 占有ワード列から連続した空席ブロックを探索します。
+     *
+     * @param words 占有ワード列 (行ごとに wordsPerRow ワード)
+     * @param rows 行数
+     * @param cols 列数
+     * @param wordsPerRow 1行あたりのワード数
+     * @param count 枚数
+     * @param preferredRow 推奨行 (0 始まり)
+     * @return 座席番号の配列 (左から順)。条件に合うブロックがない場合は空配列
+     */
+    static int[] find(long[] words, int rows, int cols, int wordsPerRow, int count, int preferredRow) {
+        if (count <= 0 || count > cols) {
+            return NONE;
+        }
+        double ideal = (cols - count) / 2.0;
+        double bestScore = Double.MAX_VALUE;
+        int bestRow = -1;
+        int bestCol = -1;
+
+        // 推奨行から近い順 (0, +1, -1, +2, -2 ...) に走査します
+        for (int distance = 0; distance < rows; distance++) {
+            double rowScore = ROW_WEIGHT * distance;
+            if (rowScore >= bestScore) {
+                break;
+            }
+            for (int side = 0; side < (distance == 0 ? 1 : 2); side++) {
+                int row = side == 0 ? preferredRow + distance : preferredRow - distance;
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                int base = row * wordsPerRow;
+                int pos = 0;
+                while (pos < cols) {
+                    int start = nextBit(words, base, wordsPerRow, pos, true);
+                    if (start >= cols) {
+                        break;
+                    }
+                    int end = Math.min(nextBit(words, base, wordsPerRow, start, false), cols);
+                    if (end - start >= count) {
+                        // 区間内の候補: 区間の両端、および中央に最も近い位置とその前後
+                        int last = end - count;
+                        int center = (int) Math.max(start, Math.min(last, Math.floor(ideal)));
+                        for (int k = 0; k < 6; k++) {
+                            int col = switch (k) {
+                                case 0 -> start;
+                                case 1 -> last;
+                                default -> center + k - 3;
+                            };
+                            if (col < start || col > last) {
+                                continue;
+                            }
+                            double score = rowScore + Math.abs(col - ideal);
+                            if (col - start == 1 || last - col == 1) {
+                                score += GAP_PENALTY;
+                            }
+                            if (score < bestScore) {
+                                bestScore = score;
+                                bestRow = row;
+                                bestCol = col;
+                            }
+                        }
+                    }
+                    pos = end + 1;
+                }
+            }
+        }
+
+        if (bestRow < 0) {
+            return NONE;
+        }
+        int[] seats = new int[count];
+        for (int i = 0; i < count; i++) {
+            seats[i] = bestRow * cols + bestCol + i;
+        }
+        return seats;
+    }
+
+    /*
+     * 行内で from 以降の最初の空席 (free = true) または占有席 (free = false) の列を返します。
+     * 該当がない場合は行のビット幅 (wordsPerRow * 64) を返します。
+     */
+    private static int nextBit(long[] words, int base, int wordsPerRow, int from, boolean free) {
+        int i = from >>> 6;
+        if (i >= wordsPerRow) {
+            return wordsPerRow << 6;
+        }
+        long word = (free ? ~words[base + i] : words[base + i]) & (-1L << from);
+        while (word == 0) {
+            if (++i == wordsPerRow) {
+                return wordsPerRow << 6;
+            }
+            word = free ? ~words[base + i] : words[base + i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cinema.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 予約レーン (Single-Writer Booking Lanes)
+ * スケジュール(sno)のハッシュ値で予約コマンドをレーンに振り分け、各レーンでは1本のスレッドが
+ * コマンドを到着順に1件ずつ実行します (シングルライター方式)。
+ *
+ * 同一スケジュールの予約は常に同じレーンで直列に処理されるため、座席の確保とグループコミットへの
+ * 登録が到着順に行われ、その順序のまま永続化されます。DBの行ロック待ちは発生せず、
+ * 異なるスケジュールは別レーンで並列に処理されます。
+ * 各レーンのキューは有限で、満杯の場合は即座に「混雑」エラーを返します (Backpressure)。
+ *
+ * application.properties の cinema.booking.lanes.enabled=true で有効化します。
+ * 無効時は呼び出し元のスレッドでそのまま実行します。
+ ** **/
+@Service
+@Slf4j
+public class BookingLanes {
+
+    private final boolean enabled;
+    private final ThreadPoolExecutor[] lanes;
+
+    public BookingLanes(@Value("${cinema.booking.lanes.enabled:false}") boolean enabled,
+                        @Value("${cinema.booking.lanes.count:0}") int count,
+                        @Value("${cinema.booking.lanes.queue-capacity:256}") int queueCapacity) {
+        this.enabled = enabled;
+        int laneCount = count > 0 ? count : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ThreadPoolExecutor[enabled ? laneCount : 0];
+
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "booking-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        if (enabled) {
+            log.info(" - Booking lanes enabled (Lanes: {}, Queue Capacity: {})", laneCount, queueCapacity);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * 予約コマンドを、スケジュールに対応するレーンで実行し、その結果を返します。
+     * レーンが無効の場合は呼び出し元のスレッドで直接実行します。
+     *
+     * @param sno スケジュール番号 (レーンの振り分けキー)
+     * @param command 予約コマンド
+     * @return 予約コマンドの戻り値
+     * @throws IllegalStateException レーンのキューが満杯の場合 (混雑)
+     */
+    public <T> T call(Long sno, Supplier<T> command) {
+        if (!enabled) {
+            return command.get();
+        }
+
+        Future<T> future;
+        try {
+            future = laneOf(sno).submit(command::get);
+        } catch (RejectedExecutionException e) {
+            log.warn(" - Booking lane is full (Schedule: {})", sno);
+            throw new IllegalStateException("ただいま予約が大変混み合っております。しばらくしてから再度お試しください。");
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("予約処理が中断されました。", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    /* [内部メソッド] スケジュール番号 -> レーン */
+    private ThreadPoolExecutor laneOf(Long sno) {
+        int hash = sno.hashCode();
+        hash ^= (hash >>> 16);
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+}
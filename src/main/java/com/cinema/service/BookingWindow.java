@@ -0,0 +1,38 @@
+package com.cinema.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/** **
+ * 販売期間 (Booking Window)
+ * 上映開始の一定時間前 (販売締め切り) を過ぎたスケジュールは予約画面に表示しません。
+ *
+ * 締め切りの基準時刻はリクエストごとに {@link Clock} から1回だけ算出し、
+ * 映画・日付・上映スケジュールの検索条件 (上映開始 &gt; 基準時刻) として上映時間表の検索に渡します。
+ ** **/
+@Service
+public class BookingWindow {
+
+    private final Clock clock;
+    private final Duration cutoff;
+
+    public BookingWindow(Clock clock,
+                         @Value("${cinema.booking.sales-cutoff-minutes:10}") long cutoffMinutes) {
+        this.clock = clock;
+        this.cutoff = Duration.ofMinutes(cutoffMinutes);
+    }
+
+    /*
+     * 予約可能な上映開始時刻の下限を取得します (現在時刻 + 販売締め切り)。
+     * この時刻より後に開始するスケジュールのみ予約可能です。
+     *
+     * @return 上映開始時刻の下限
+     */
+    public LocalDateTime salesOpenAfter() {
+        return LocalDateTime.now(clock).plus(cutoff);
+    }
+}
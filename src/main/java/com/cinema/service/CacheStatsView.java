@@ -0,0 +1,34 @@
+package com.cinema.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/** **
+ * キャッシュ統計情報の表示形式
+ * Caffeine のキャッシュの統計情報を、管理者 API (/admin/api/cache/stats) で返却する形式に変換します。
+ ** **/
+final class CacheStatsView {
+
+    private CacheStatsView() {
+    }
+
+    /*
+     * キャッシュの統計情報を取得します (recordStats() を指定したキャッシュのみ集計されます)。
+     * @param cache 対象のキャッシュ
+     * @return size, hitCount, missCount, hitRate, evictionCount, loadFailureCount
+     */
+    static Map<String, Object> of(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        return result;
+    }
+}
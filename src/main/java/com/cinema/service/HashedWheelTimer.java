@@ -0,0 +1,190 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * ハッシュ化タイマーホイール (Hashed Wheel Timer)
+ * 大量のタイムアウト (座席の仮押さえ期限など) を、1本のワーカースレッドで管理する軽量タイマーです。
+ * 登録・取消は O(1) で、DBのポーリングや期限ごとのスレッド生成を必要としません。
+ *
+ * 登録されたタスクは一旦ロックフリーなキューに積まれ、ワーカースレッドだけが
+ * ホイールのバケットを操作するため、バケット自体に排他制御は不要です。
+ * 期限の精度は tick 単位 (既定 1 秒) となります。
+ ** **/
+@Slf4j
+public final class HashedWheelTimer implements AutoCloseable {
+
+    private final long tickNanos;
+    private final List<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startTime;
+
+    private volatile boolean running = true;
+
+    /*
+     * コンストラクタ
+     * @param name ワーカースレッド名
+     * @param tickDuration 1 tick の長さ
+     * @param unit tickDuration の単位
+     * @param wheelSize ホイールのスロット数 (2 のべき乗に切り上げ)
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /*
+     * タスクを指定時間後に実行するよう登録します。
+     * @param task 期限到来時に実行する処理 (ワーカースレッド上で実行されるため、短時間で終わる処理に限ります)
+     * @param delay 遅延時間
+     * @param unit 遅延時間の単位
+     * @return 取消用のハンドル
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("タイマーは既に停止しています。");
+        }
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /* ワーカースレッドを停止します。未実行のタスクは破棄されます。 */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /* [内部メソッド] ワーカースレッドのメインループ */
+    private void run() {
+        long tick = 0;
+        while (running) {
+            if (!waitForTick(tick)) {
+                break;
+            }
+            transferPending(tick);
+            expire(tick);
+            tick++;
+        }
+    }
+
+    /* 次の tick の境界時刻まで待機します */
+    private boolean waitForTick(long tick) {
+        long deadline = (tick + 1) * tickNanos;
+        while (running) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /* キューに積まれたタイムアウトを、期限に対応するバケットへ振り分けます */
+    private void transferPending(long tick) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expireTick = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (expireTick - tick) / wheel.length;
+            wheel[(int) (expireTick & mask)].add(timeout);
+        }
+    }
+
+    /* 現在のバケットのうち、期限が到来したタイムアウトを実行します */
+    private void expire(long tick) {
+        List<Timeout> bucket = wheel[(int) (tick & mask)];
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Timeout> remaining = new ArrayList<>();
+        for (Timeout timeout : bucket) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                remaining.add(timeout);
+                continue;
+            }
+            timeout.expire();
+        }
+        bucket.clear();
+        bucket.addAll(remaining);
+    }
+
+    /** **
+     * タイムアウトのハンドル
+     * 取消 (cancel) と実行 (expire) は CAS で排他され、どちらか一方のみが成立します。
+     ** **/
+    public static final class Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // ワーカースレッドのみが参照・更新します
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /*
+         * タイムアウトを取り消します。
+         * @return 取消に成功した場合 true (既に実行済みの場合 false)
+         */
+        public boolean cancel() {
+            return state.compareAndSet(INIT, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn(" * Timer task failed", t);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.cinema.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/** **
+ * メモリ上の待ち行列ストア (単一ノード用)
+ * スコープごとに待機列 (到着順) と入場中の枠 (リース) を保持し、スコープ単位の排他で操作します。
+ *
+ * 入場中の枠はアクセスのたびに有効期限が延長され、操作のないまま期限を過ぎると回収されます。
+ * 待機中の整理券も、ポーリングが途絶えた (画面を閉じた) 場合は一定時間後に破棄されます。
+ ** **/
+@Service
+public class InMemoryQueueStore implements QueueStore {
+
+    /* 放棄された整理券の回収間隔 (全件走査の頻度を抑えます) */
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    /* 入場間隔の平均 (EWMA) の平滑化係数 */
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final long activeTtlMillis;
+    private final long waitingTtlMillis;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public InMemoryQueueStore(@Value("${cinema.waiting-room.active-ttl-minutes:10}") long activeTtlMinutes,
+                              @Value("${cinema.waiting-room.waiting-ttl-seconds:60}") long waitingTtlSeconds) {
+        this.activeTtlMillis = Duration.ofMinutes(activeTtlMinutes).toMillis();
+        this.waitingTtlMillis = Duration.ofSeconds(waitingTtlSeconds).toMillis();
+    }
+
+    @Override
+    public long join(String scope, String userid, Instant now) {
+        Lane lane = lanes.computeIfAbsent(scope, key -> new Lane());
+        synchronized (lane) {
+            Long existing = lane.byUser.get(userid);
+            if (existing != null && (lane.waiting.containsKey(existing) || lane.active.containsKey(existing))) {
+                return existing;
+            }
+            long ticket = lane.nextTicket++;
+            lane.waiting.put(ticket, now.toEpochMilli());
+            lane.byUser.put(userid, ticket);
+            lane.owners.put(ticket, userid);
+            return ticket;
+        }
+    }
+
+    @Override
+    public QueueStatus poll(String scope, long ticket, int capacity, Instant now) {
+        Lane lane = lanes.get(scope);
+        if (lane == null) {
+            return QueueStatus.unknown();
+        }
+        long nowMillis = now.toEpochMilli();
+        synchronized (lane) {
+            lane.sweep(nowMillis);
+            lane.admit(capacity, nowMillis);
+
+            QueueStatus.State state;
+            long position = 0;
+            if (lane.active.containsKey(ticket)) {
+                lane.active.put(ticket, nowMillis + activeTtlMillis);
+                state = QueueStatus.State.ADMITTED;
+            } else if (lane.waiting.containsKey(ticket)) {
+                lane.waiting.put(ticket, nowMillis);
+                // 先頭の整理券番号との差を待ち順位とします (前方の放棄分を含む概算)
+                position = ticket - lane.waiting.keySet().iterator().next() + 1;
+                state = QueueStatus.State.WAITING;
+            } else {
+                return QueueStatus.unknown();
+            }
+            return new QueueStatus(state, position, lane.waiting.size(), lane.active.size(), (long) lane.admitIntervalMillis);
+        }
+    }
+
+    @Override
+    public void leave(String scope, long ticket) {
+        Lane lane = lanes.get(scope);
+        if (lane == null) {
+            return;
+        }
+        synchronized (lane) {
+            lane.active.remove(ticket);
+            lane.waiting.remove(ticket);
+            lane.forget(ticket);
+        }
+    }
+
+    @Override
+    public void leaveAll(String userid) {
+        for (Lane lane : lanes.values()) {
+            synchronized (lane) {
+                Long ticket = lane.byUser.get(userid);
+                if (ticket != null && lane.active.remove(ticket) != null) {
+                    lane.forget(ticket);
+                }
+            }
+        }
+    }
+
+    /** **
+     * スコープ単位の待ち行列 (ロックはインスタンス自身)
+     * waiting: 整理券番号 -> 最終ポーリング時刻 (挿入順 = 到着順)
+     * active: 整理券番号 -> 入場枠の有効期限
+     ** **/
+    private final class Lane {
+
+        private long nextTicket = 1;
+        private final LinkedHashMap<Long, Long> waiting = new LinkedHashMap<>();
+        private final Map<Long, Long> active = new HashMap<>();
+        private final Map<String, Long> byUser = new HashMap<>();
+        private final Map<Long, String> owners = new HashMap<>();
+
+        private long lastSweepMillis;
+        private long lastAdmitMillis;
+        private double admitIntervalMillis;
+
+        /* 期限切れの入場枠と、放棄された待機中の整理券を回収します */
+        private void sweep(long nowMillis) {
+            if (nowMillis - lastSweepMillis < SWEEP_INTERVAL_MILLIS) {
+                return;
+            }
+            lastSweepMillis = nowMillis;
+            removeIf(active, expiresAt -> expiresAt < nowMillis);
+            removeIf(waiting, lastSeen -> lastSeen < nowMillis - waitingTtlMillis);
+        }
+
+        /* 空き枠の分だけ、待機列の先頭から入場させます */
+        private void admit(int capacity, long nowMillis) {
+            Iterator<Long> head = waiting.keySet().iterator();
+            while (active.size() < capacity && head.hasNext()) {
+                long ticket = head.next();
+                head.remove();
+                active.put(ticket, nowMillis + activeTtlMillis);
+
+                if (lastAdmitMillis > 0) {
+                    long interval = nowMillis - lastAdmitMillis;
+                    admitIntervalMillis = admitIntervalMillis == 0 ? interval
+                            : EWMA_ALPHA * interval + (1 - EWMA_ALPHA) * admitIntervalMillis;
+                }
+                lastAdmitMillis = nowMillis;
+            }
+        }
+
+        private void removeIf(Map<Long, Long> tickets, LongPredicate expired) {
+            Iterator<Map.Entry<Long, Long>> it = tickets.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Long> entry = it.next();
+                if (expired.test(entry.getValue())) {
+                    it.remove();
+                    forget(entry.getKey());
+                }
+            }
+        }
+
+        private void forget(long ticket) {
+            String userid = owners.remove(ticket);
+            if (userid != null) {
+                byUser.remove(userid, ticket);
+            }
+        }
+    }
+}
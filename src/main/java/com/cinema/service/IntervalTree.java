@@ -0,0 +1,131 @@
+package com.cinema.service;
+
+import java.util.SplittableRandom;
+
+/** **
+ * 区間木 (Interval Tree)
+ * 半開区間 [start, end) の集合を保持し、指定した区間と重なる区間を O(log n) で検索します。
+ * 上映スケジュールの一括登録で、上映館ごとの上映時間 (開始 〜 終了 + 清掃時間) の重複判定に使用します。
+ *
+ * 開始位置をキーとするトリープ (乱数の優先度で平衡を保つ二分探索木) の各ノードに、
+ * 部分木内の終了位置の最大値を持たせています。既存データ同士が重なっていても正しく検索できます。
+ * スレッドセーフではありません (1回の登録処理の中で使い捨てる想定です)。
+ *
+ * @param <T> 区間に関連付ける値の型
+ ** **/
+public final class IntervalTree<T> {
+
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private Node<T> root;
+    private int size;
+
+    /*
+     * 区間を追加します。
+     * @param start 開始位置 (含む)
+     * @param end 終了位置 (含まない)
+     * @param value 区間に関連付ける値
+     */
+    public void add(long start, long end, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("end must be greater than start: [" + start + ", " + end + ")");
+        }
+        root = insert(root, new Node<>(start, end, value, random.nextInt()));
+        size++;
+    }
+
+    /*
+     * 指定した区間と重なる区間を1つ検索します。
+     * @param start 開始位置 (含む)
+     * @param end 終了位置 (含まない)
+     * @return 重なる区間の値 (重なる区間がない場合は null)
+     */
+    public T findOverlap(long start, long end) {
+        Node<T> node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node.value;
+            }
+            // 左の部分木に start より後に終わる区間があれば、重なる可能性があるのは左側のみです
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else if (node.start < end) {
+                node = node.right;
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.start < node.start) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static final class Node<T> {
+
+        private final long start;
+        private final long end;
+        private final T value;
+        private final int priority;
+        /* 部分木内の終了位置の最大値 */
+        private long maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long start, long end, T value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.cinema.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
+import com.cinema.mapper.MovieMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 映画カタログキャッシュ (Movie Catalog)
+ * 映画リスト (映画カード、公開日の新しい順) と映画ごとの詳細情報を、件数上限付きのキャッシュ (Caffeine) に保持します。
+ * メイン画面・映画詳細画面・管理画面の映画リストは、定常状態ではDBにアクセスしません。
+ *
+ * - 映画の登録・修正・削除 ({@link MovieChangedEvent}) のコミット後に、映画リストとその映画の詳細情報を破棄します。
+ * - DBを直接変更した場合に備え、一定時間 (cinema.movie-catalog.refresh-minutes) が経過したエントリは
+ *   次回アクセス時にバックグラウンドで再読み込みします (再読み込みの完了までは保持している値を返却します)。
+ *
+ * 返却する映画情報は全ての呼び出し元で共有されるため、変更しないでください。
+ ** **/
+@Service
+@Slf4j
+public class MovieCatalog {
+
+    /* 映画リストのキャッシュキー (1件のみ) */
+    private static final String ALL = "all";
+
+    private final LoadingCache<String, List<MovieCard>> movies;
+    private final LoadingCache<Long, Movie> details;
+
+    public MovieCatalog(MovieMapper movieMapper,
+                        @Value("${cinema.movie-catalog.max-size:1000}") long maxSize,
+                        @Value("${cinema.movie-catalog.refresh-minutes:10}") long refreshMinutes) {
+        Duration refresh = Duration.ofMinutes(refreshMinutes);
+        this.movies = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(key -> List.copyOf(movieMapper.selectMovieCards()));
+        this.details = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(movieMapper::selectMovieDetail);
+    }
+
+    /*
+     * 全ての映画リストを一覧表示用の項目 (映画カード) で取得します (公開日の新しい順)。
+     * @return 映画カードのリスト (変更不可)
+     */
+    public List<MovieCard> movies() {
+        return movies.get(ALL);
+    }
+
+    /*
+     * 映画の詳細情報を取得します。
+     * @param mno 映画番号
+     * @return 映画情報 (存在しない場合は null。存在しない映画番号はキャッシュしません)
+     */
+    public Movie movie(Long mno) {
+        return mno == null ? null : details.get(mno);
+    }
+
+    /*
+     * 映画の登録・修正・削除を受けて、映画リストとその映画の詳細情報を破棄します (コミット後)。
+     * 次回アクセス時にDBから再読み込みされます。
+     * @param event 映画情報の変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        movies.invalidate(ALL);
+        details.invalidate(event.mno());
+        log.info(" - Movie catalog invalidated: movie {}", event.mno());
+    }
+
+    /*
+     * キャッシュの統計情報を取得します。
+     * @return list (映画リスト), detail (映画ごとの詳細情報)
+     */
+    public Map<String, Object> stats() {
+        return Map.of("list", CacheStatsView.of(movies), "detail", CacheStatsView.of(details));
+    }
+}
@@ -0,0 +1,13 @@
+package com.cinema.service;
+
+import com.cinema.domain.Movie;
+
+/** **
+ * 映画情報の変更イベント (登録・修正・削除)
+ * 映画情報を変更したトランザクションのコミット後に、映画情報を保持するキャッシュへ通知されます。
+ *
+ * @param mno 映画番号
+ * @param movie 変更後の映画情報 (トランザクション内でDBから読み込んだもの。削除の場合は null)
+ ** **/
+public record MovieChangedEvent(Long mno, Movie movie) {
+}
@@ -0,0 +1,398 @@
+package com.cinema.service;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
+import com.cinema.mapper.MovieMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 映画検索インデックス (Movie Search Index)
+ * タイトル・キャッチフレーズ・あらすじ (content) の文字 N-gram (2-gram, 3-gram) の転置インデックスをメモリ上に保持し、
+ * 映画一覧のキーワード検索 (/movie/list?keyword=) をDBアクセスなしで処理します。
+ * 日本語・韓国語・英語が混在するため、単語の分割は行わず文字単位の N-gram で索引します。
+ *
+ * - 正規化: NFKC (全角英数 → 半角、半角カナ → 全角) + 小文字化。文字・数字以外 (空白・記号) で語を区切ります。
+ * - 検索: キーワードの各語の N-gram を含む映画を転置インデックスの積集合で絞り込み、
+ *   各語が実際に含まれるかを確認します (LIKE '%語%' と同じ結果。複数語は AND)。1文字の語は確認のみで絞り込みます。
+ * - 順位: タイトル (前方一致を優先) > キャッチフレーズ > あらすじ の順に重み付けし、同点の場合はタイトル順です。
+ *
+ * 初回検索時に1回の検索 (selectSearchableMovies) で構築し (Lazy Load)、映画の登録・修正・削除
+ * ({@link MovieChangedEvent}) はコミット後に該当する映画の N-gram のみを差し替えます。
+ * DBを直接変更した場合に備え、一定時間 (cinema.search.reload-minutes) ごとに再構築します。
+ * 読み取りはロックなし (volatile の参照を1回読むだけ) で、更新は新しい構造を作成して参照を差し替えます。
+ ** **/
+@Service
+@Slf4j
+public class MovieSearchIndex {
+
+    /* 順位付けの重み (語ごとに、含まれる項目の重みを合計します) */
+    private static final int TITLE_PREFIX_SCORE = 150;
+    private static final int TITLE_SCORE = 100;
+    private static final int CATCHPHRASE_SCORE = 10;
+    private static final int CONTENT_SCORE = 1;
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final MovieMapper movieMapper;
+    private final Clock clock;
+    private final Duration reloadInterval;
+
+    /* 現在の検索インデックス (null = 未構築または再構築が必要) */
+    private volatile Snapshot snapshot;
+
+    public MovieSearchIndex(MovieMapper movieMapper, Clock clock,
+                            @Value("${cinema.search.reload-minutes:60}") long reloadMinutes) {
+        this.movieMapper = movieMapper;
+        this.clock = clock;
+        this.reloadInterval = Duration.ofMinutes(reloadMinutes);
+    }
+
+    /*
+     * キーワードで映画を検索します。
+     * @param keyword 検索キーワード (null・空白のみの場合は全件)
+     * @return 一致した映画カードのリスト (関連度順。キーワードがない場合はタイトル順。記号のみの場合は空)
+     */
+    public List<MovieCard> search(String keyword) {
+        Snapshot current = current();
+        if (keyword == null || keyword.isBlank()) {
+            return current.byTitle;
+        }
+        // 記号のみのキーワードは検索語を含まないため、どの映画にも一致しません (全件は返却しません)
+        List<String> terms = terms(normalize(keyword));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int mno : current.candidates(terms)) {
+            Document document = current.documents.get(mno);
+            int score = document.score(terms);
+            if (score > 0) {
+                hits.add(new Hit(document, score));
+            }
+        }
+        hits.sort(Comparator.comparingInt(Hit::score).reversed().thenComparing(hit -> hit.document, Document.BY_TITLE));
+
+        List<MovieCard> cards = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            cards.add(hit.document.card);
+        }
+        return cards;
+    }
+
+    /*
+     * 映画の登録・修正・削除を検索インデックスへ反映します (コミット後)。
+     * @param event 映画情報の変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Document document = event.movie() == null ? null : Document.of(event.movie());
+        snapshot = current.with(event.mno(), document);
+        log.info(" - Search index updated: movie {}", event.mno());
+    }
+
+    /* [内部メソッド] 現在の検索インデックスを取得 (未構築・期限切れの場合は構築) */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (current != null && now.isBefore(current.reloadAt)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || !now.isBefore(current.reloadAt)) {
+                current = load(now);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /* [内部メソッド] DBから検索インデックスを構築 */
+    private Snapshot load(LocalDateTime now) {
+        List<Movie> movies = movieMapper.selectSearchableMovies();
+        Map<Integer, Document> documents = new HashMap<>();
+        for (Movie movie : movies) {
+            documents.put(movie.getMno().intValue(), Document.of(movie));
+        }
+        Snapshot built = Snapshot.build(documents, now.plus(reloadInterval));
+        log.info(" - Search index loaded: {} movie(s), {} gram(s)", documents.size(), built.postings.size());
+        return built;
+    }
+
+    /* [内部メソッド] 正規化 (NFKC + 小文字化) */
+    static String normalize(String text) {
+        return text == null ? "" : Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /* [内部メソッド] 正規化済みの文字列を、文字・数字の連続 (語) に分割 (重複は除きます) */
+    static List<String> terms(String normalized) {
+        return terms(normalized, true);
+    }
+
+    /* [内部メソッド] 正規化済みの文字列を、文字・数字の連続 (語) に分割 (distinct が false の場合は重複も出現順に残します) */
+    static List<String> terms(String normalized, boolean distinct) {
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                String term = normalized.substring(start, i);
+                if (!distinct || !terms.contains(term)) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /* [内部メソッド] 索引する N-gram (語ごとの全ての 2-gram と 3-gram) */
+    private static Set<String> indexGrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (String term : terms(normalized)) {
+            for (int n = 2; n <= 3; n++) {
+                for (int i = 0; i + n <= term.length(); i++) {
+                    grams.add(term.substring(i, i + n));
+                }
+            }
+        }
+        return grams;
+    }
+
+    /* [内部メソッド] 検索語の絞り込みに使う N-gram (3文字以上は 3-gram、2文字は 2-gram、1文字はなし) */
+    private static List<String> queryGrams(List<String> terms) {
+        List<String> grams = new ArrayList<>();
+        for (String term : terms) {
+            int n = Math.min(term.length(), 3);
+            if (n < 2) {
+                continue;
+            }
+            for (int i = 0; i + n <= term.length(); i++) {
+                String gram = term.substring(i, i + n);
+                if (!grams.contains(gram)) {
+                    grams.add(gram);
+                }
+            }
+        }
+        return grams;
+    }
+
+    /* [内部メソッド] 昇順の配列の積集合 */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private record Hit(Document document, int score) {
+    }
+
+    /** **
+     * 検索インデックスのある時点の状態 (不変)
+     ** **/
+    private static final class Snapshot {
+
+        /* 映画番号 → 映画 */
+        private final Map<Integer, Document> documents;
+        /* N-gram → その N-gram を含む映画番号 (昇順) */
+        private final Map<String, int[]> postings;
+        /* キーワードなしの検索結果 (タイトル順) */
+        private final List<MovieCard> byTitle;
+        /* DBから再構築する時刻 */
+        private final LocalDateTime reloadAt;
+
+        private Snapshot(Map<Integer, Document> documents, Map<String, int[]> postings, LocalDateTime reloadAt) {
+            this.documents = documents;
+            this.postings = postings;
+            this.reloadAt = reloadAt;
+            List<Document> sorted = new ArrayList<>(documents.values());
+            sorted.sort(Document.BY_TITLE);
+            List<MovieCard> cards = new ArrayList<>(sorted.size());
+            for (Document document : sorted) {
+                cards.add(document.card);
+            }
+            this.byTitle = List.copyOf(cards);
+        }
+
+        static Snapshot build(Map<Integer, Document> documents, LocalDateTime reloadAt) {
+            Map<String, List<Integer>> lists = new HashMap<>();
+            for (Map.Entry<Integer, Document> entry : documents.entrySet()) {
+                for (String gram : entry.getValue().grams) {
+                    lists.computeIfAbsent(gram, key -> new ArrayList<>()).add(entry.getKey());
+                }
+            }
+            Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+            for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+                int[] mnos = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+                Arrays.sort(mnos);
+                postings.put(entry.getKey(), mnos);
+            }
+            return new Snapshot(Map.copyOf(documents), postings, reloadAt);
+        }
+
+        /* 映画を差し替えた検索インデックス (document が null の場合は削除)。変更のある N-gram の配列のみ作り直します */
+        Snapshot with(Long mno, Document document) {
+            int id = mno.intValue();
+            Document previous = documents.get(id);
+            Set<String> removed = previous == null ? Set.of() : previous.grams;
+            Set<String> added = document == null ? Set.of() : document.grams;
+
+            Map<String, int[]> updated = new HashMap<>(postings);
+            for (String gram : removed) {
+                if (!added.contains(gram)) {
+                    int[] mnos = updated.get(gram);
+                    int index = Arrays.binarySearch(mnos, id);
+                    if (mnos.length == 1) {
+                        updated.remove(gram);
+                    } else {
+                        int[] shrunk = new int[mnos.length - 1];
+                        System.arraycopy(mnos, 0, shrunk, 0, index);
+                        System.arraycopy(mnos, index + 1, shrunk, index, mnos.length - index - 1);
+                        updated.put(gram, shrunk);
+                    }
+                }
+            }
+            for (String gram : added) {
+                if (!removed.contains(gram)) {
+                    int[] mnos = updated.getOrDefault(gram, NO_POSTINGS);
+                    int index = -(Arrays.binarySearch(mnos, id) + 1);
+                    int[] grown = new int[mnos.length + 1];
+                    System.arraycopy(mnos, 0, grown, 0, index);
+                    grown[index] = id;
+                    System.arraycopy(mnos, index, grown, index + 1, mnos.length - index);
+                    updated.put(gram, grown);
+                }
+            }
+
+            Map<Integer, Document> documents = new HashMap<>(this.documents);
+            if (document == null) {
+                documents.remove(id);
+            } else {
+                documents.put(id, document);
+            }
+            return new Snapshot(Map.copyOf(documents), updated, reloadAt);
+        }
+
+        /* 検索語の N-gram を全て含む映画番号 (N-gram がない場合は全件) */
+        int[] candidates(List<String> terms) {
+            List<String> grams = queryGrams(terms);
+            if (grams.isEmpty()) {
+                return documents.keySet().stream().mapToInt(Integer::intValue).toArray();
+            }
+            int[][] lists = new int[grams.size()][];
+            for (int i = 0; i < grams.size(); i++) {
+                lists[i] = postings.getOrDefault(grams.get(i), NO_POSTINGS);
+            }
+            // 件数の少ない順に積集合をとります
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+            int[] result = lists[0];
+            for (int i = 1; i < lists.length && result.length > 0; i++) {
+                result = intersect(result, lists[i]);
+            }
+            return result;
+        }
+    }
+
+    /** **
+     * 索引された1作品 (不変)
+     ** **/
+    private static final class Document {
+
+        private static final Comparator<Document> BY_TITLE =
+                Comparator.comparing((Document document) -> document.title).thenComparingLong(document -> document.card.getMno());
+
+        private final MovieCard card;
+        /* 正規化済みの各項目 */
+        private final String title;
+        private final String catchphrase;
+        private final String content;
+        private final Set<String> grams;
+
+        private Document(MovieCard card, String title, String catchphrase, String content) {
+            this.card = card;
+            this.title = title;
+            this.catchphrase = catchphrase;
+            this.content = content;
+            Set<String> grams = new HashSet<>(indexGrams(title));
+            grams.addAll(indexGrams(catchphrase));
+            grams.addAll(indexGrams(content));
+            this.grams = Set.copyOf(grams);
+        }
+
+        static Document of(Movie movie) {
+            MovieCard card = MovieCard.builder()
+                    .mno(movie.getMno())
+                    .title(movie.getTitle())
+                    .poster(movie.getPoster())
+                    .runtime(movie.getRuntime())
+                    .opendate(movie.getOpendate())
+                    .catchphrase(movie.getCatchphrase())
+                    .build();
+            return new Document(card, normalize(movie.getTitle()), normalize(movie.getCatchphrase()),
+                    normalize(movie.getContent()));
+        }
+
+        /* 関連度 (全ての語が含まれない場合は 0) */
+        int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int score = 0;
+                if (title.startsWith(term)) {
+                    score += TITLE_PREFIX_SCORE;
+                } else if (title.contains(term)) {
+                    score += TITLE_SCORE;
+                }
+                if (catchphrase.contains(term)) {
+                    score += CATCHPHRASE_SCORE;
+                }
+                if (content.contains(term)) {
+                    score += CONTENT_SCORE;
+                }
+                if (score == 0) {
+                    return 0;
+                }
+                total += score;
+            }
+            return total;
+        }
+    }
+}
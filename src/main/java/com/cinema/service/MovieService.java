@@ -1,20 +1,17 @@
 package com.cinema.service;
 
 import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
 import com.cinema.mapper.MovieMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.UUID;
 
 /** **
  * 映画管理サービス 
@@ -27,43 +24,45 @@ import java.util.UUID;
 public class MovieService {
 
     private final MovieMapper movieMapper;
-
-    @Value("${file.upload.path}")
-    private String uploadPath;
+    private final MovieCatalog movieCatalog;
+    private final MovieSearchIndex movieSearchIndex;
+    private final PosterStorage posterStorage;
+    private final ApplicationEventPublisher eventPublisher;
 
     /*
-     * 映画リスト全件取得
+     * 映画リスト全件取得 (映画カタログキャッシュから取得)
      * 
-     * @return 映画リスト
+     * @return 映画カードのリスト (変更不可)
      */
-    public List<Movie> getMovieList() {
-        return movieMapper.selectAllMovies();
+    public List<MovieCard> getMovieList() {
+        return movieCatalog.movies();
     }
 
     /*
-     * 映画詳細情報取得
+     * 映画詳細情報取得 (映画カタログキャッシュから取得)
      * 
      * @param mno 映画番号 (PK)
-     * @return 映画情報
+     * @return 映画情報 (存在しない場合は null)
      */
     public Movie getMovieDetail(Long mno) {
-        return movieMapper.selectMovieDetail(mno);
+        return movieCatalog.movie(mno);
     }
     
     /*
      * 映画一覧の取得（検索対応）
      * ユーザーが入力したキーワードに基づいて、該当する映画リストをフィルタリングして返却します。
+     * 検索はメモリ上の N-gram インデックス (MovieSearchIndex) で行い、DBにはアクセスしません。
      * 
-     * @param keyword 検索キーワード（タイトルまたはキャッチフレーズ）
-     * @return 検索条件に一致する映画エンティティのリスト
+     * @param keyword 検索キーワード（タイトル、キャッチフレーズまたはあらすじ）
+     * @return 検索条件に一致する映画カードのリスト (関連度順。キーワードがない場合はタイトル順)
      */
-    public List<Movie> getMovieList(String keyword) {
-    	return movieMapper.selectMovieList(keyword);
+    public List<MovieCard> getMovieList(String keyword) {
+    	return movieSearchIndex.search(keyword);
     }
 
     /*
      * 映画登録 (ファイルアップロード含む)
-     * ポスター画像がある場合、サーバーに保存し、そのファイル名をDBに記録します。
+     * ポスター画像がある場合、サーバーに保存し、そのファイル名 (内容のハッシュ値) をDBに記録します。
      *
      * @param movie 映画情報
      * @param file アップロードファイル (ポスター)
@@ -73,21 +72,23 @@ public class MovieService {
     public void registerMovie(Movie movie, MultipartFile file) throws IOException {
         // ファイルが存在する場合、アップロード処理を実行
         if (file != null && !file.isEmpty()) {
-            String savedFileName = uploadFile(file);
-            movie.setPoster(savedFileName); // UUID_OriginalName -> DB: poster
+            String savedFileName = posterStorage.store(file);
+            movie.setPoster(savedFileName); // {SHA-256}.{ext} -> DB: poster
         } else {
             // ファイルがない場合、デフォルト画像を設定 (DB Default制約があるが、念のため)
-            movie.setPoster("default.jpg");
+            movie.setPoster(PosterStorage.DEFAULT_POSTER);
         }
 
         // DBに映画情報を保存
         movieMapper.insertMovie(movie);
+        publishChanged(movie.getMno());
         log.info(" - New Movie Registered: {}", movie.getTitle());
     }
 
     /*
      * 映画情報修正
-     * 新しいファイルがアップロードされた場合、既存のファイルを削除し、新しいファイルを保存します。
+     * 新しいファイルがアップロードされた場合、新しいファイルを保存し (内容が変わればファイル名・URLも変わります)、
+     * 既存のファイルはコミット後に、他の映画から参照されていなければ削除します。
      *
      * @param movie 修正する映画情報
      * @param file 新しいポスターファイル (任意)
@@ -96,28 +97,31 @@ public class MovieService {
     @Transactional
     public void modifyMovie(Movie movie, MultipartFile file) throws IOException {
         // 1. 新しいファイルがあるか確認
+        String oldPoster = null;
         if (file != null && !file.isEmpty()) {
             // 既存の映画情報を取得 (古いファイル名を知るため)
             Movie oldMovie = movieMapper.selectMovieDetail(movie.getMno());
-            
-            // 既存ファイルがあれば削除 (default.jpg は削除しない)
-            if (oldMovie.getPoster() != null && !"default.jpg".equals(oldMovie.getPoster())) {
-                deleteFile(oldMovie.getPoster());
-            }
+            oldPoster = oldMovie.getPoster();
 
             // 新しいファイルをアップロード
-            String savedFileName = uploadFile(file);
+            String savedFileName = posterStorage.store(file);
             movie.setPoster(savedFileName);
         }
 
         // 2. DB更新
         movieMapper.updateMovie(movie);
+
+        // 既存ファイルの参照を解除 (同じ内容の画像の場合はファイル名も同じため解除しない)
+        if (oldPoster != null && !oldPoster.equals(movie.getPoster())) {
+            eventPublisher.publishEvent(new PosterReleasedEvent(oldPoster));
+        }
+        publishChanged(movie.getMno());
         log.info(" - Movie Modified: {}", movie.getMno());
     }
 
     /*
      * 映画削除
-     * DBのデータだけでなく、サーバーに保存されたポスター画像も削除します。
+     * DBのデータだけでなく、サーバーに保存されたポスター画像も削除します (コミット後、他の映画から参照されていない場合)。
      *
      * @param mno 削除対象の映画番号
      */
@@ -126,58 +130,25 @@ public class MovieService {
         // 削除前にファイル情報を取得
         Movie movie = movieMapper.selectMovieDetail(mno);
 
-        // ファイルが存在すれば物理削除 (default.jpg は削除しない)
-        if (movie != null && movie.getPoster() != null && !"default.jpg".equals(movie.getPoster())) {
-            deleteFile(movie.getPoster());
-        }
-
         // DBから削除
         movieMapper.deleteMovie(mno);
-        log.info(" - Movie Deleted: {}", mno);
-    }
 
-    /*
-     * [内部メソッド] ファイルアップロード処理
-     *
-     * @param file アップロードされたファイル
-     * @return 保存された一意のファイル名 (UUID_OriginalName)
-     * @throws IOException IOエラー
-     */
-    private String uploadFile(MultipartFile file) throws IOException {
-        // アップロードディレクトリの確認・生成
-        File uploadDir = new File(uploadPath);
-        if (!uploadDir.exists()) {
-            uploadDir.mkdirs();
+        // ポスター画像の参照を解除 (default.jpg は削除しない)
+        if (movie != null && movie.getPoster() != null) {
+            eventPublisher.publishEvent(new PosterReleasedEvent(movie.getPoster()));
         }
-
-        // ユニークなファイル名を生成 (UUID + 元の拡張子維持)
-        String originalName = file.getOriginalFilename();
-        // UUID生成
-        String uniqueName = UUID.randomUUID().toString() + "_" + originalName;
-
-        // 保存パス生成
-        Path savePath = Paths.get(uploadPath, uniqueName);
-
-        // ファイル保存
-        file.transferTo(savePath.toFile());
-
-        return uniqueName;
+        eventPublisher.publishEvent(new MovieChangedEvent(mno, null));
+        log.info(" - Movie Deleted: {}", mno);
     }
 
     /*
-     * [内部メソッド] ファイル物理削除処理
+     * [内部メソッド] 映画情報の変更イベントを発行
+     * 変更後の映画情報 (ポスター・登録日時を含む全項目) をトランザクション内で読み込み、イベントに含めます。
+     * 検索インデックスなどはコミット後にこの情報で更新されます (DBへの再アクセスは不要です)。
      *
-     * @param fileName 削除するファイル名
+     * @param mno 登録・修正した映画番号
      */
-    private void deleteFile(String fileName) {
-        File file = new File(uploadPath, fileName);
-        if (file.exists()) {
-        	if (file.delete()) {
-                log.info(" - File deleted successfully: {}", fileName);
-            } else {
-                // 削除に失敗した場合のみ警告ログを出力するように修正
-                log.warn(" * Failed to delete file: {}", fileName);
-            }
-        }
+    private void publishChanged(Long mno) {
+        eventPublisher.publishEvent(new MovieChangedEvent(mno, movieMapper.selectMovieDetail(mno)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,348 @@
+package com.cinema.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
+import com.cinema.mapper.MovieMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 映画検索の入力候補 (Type-ahead Suggester)
+ * 正規化したタイトル・キャッチフレーズ (各語の先頭から末尾まで) を、配列で表現した不変のトライ木に保持し、
+ * 入力途中の文字列から候補の映画を人気順 (直近の予約件数) に返します。
+ *
+ * - 各ノードに、部分木に含まれる映画の上位 {@link #MAX_LIMIT} 件 (重複なし) を構築時に計算して持たせています。
+ *   検索は入力文字数分だけ子ノードを二分探索でたどり、そのノードの上位リストを返すだけです (DBアクセスなし)。
+ * - 映画リストは映画カタログ ({@link MovieCatalog})、人気度は selectMoviePopularity から、初回アクセス時に構築します。
+ *   人気度を反映するため、一定時間 (cinema.suggest.reload-minutes) ごとに再構築します。
+ * - 映画の登録・修正・削除 ({@link MovieChangedEvent}) はコミット後に新しいトライ木を作成して差し替えます
+ *   (人気度は前回の集計を引き継ぎます)。
+ ** **/
+@Service
+@Slf4j
+public class MovieSuggester {
+
+    /* 1回の検索で返す候補の最大件数 */
+    public static final int MAX_LIMIT = 10;
+
+    /* 索引するキーの最大長 (これより長い入力は先頭のみで検索します) */
+    private static final int MAX_KEY_LENGTH = 40;
+
+    private final MovieCatalog movieCatalog;
+    private final MovieMapper movieMapper;
+    private final Clock clock;
+    private final Duration reloadInterval;
+    private final Duration popularityPeriod;
+
+    /* 現在の入力候補 (null = 未構築または再構築が必要) */
+    private volatile Trie trie;
+
+    public MovieSuggester(MovieCatalog movieCatalog, MovieMapper movieMapper, Clock clock,
+                          @Value("${cinema.suggest.reload-minutes:10}") long reloadMinutes,
+                          @Value("${cinema.suggest.popularity-days:7}") long popularityDays) {
+        this.movieCatalog = movieCatalog;
+        this.movieMapper = movieMapper;
+        this.clock = clock;
+        this.reloadInterval = Duration.ofMinutes(reloadMinutes);
+        this.popularityPeriod = Duration.ofDays(popularityDays);
+    }
+
+    /*
+     * 入力途中の文字列に前方一致する映画を、人気順に取得します。
+     * タイトル・キャッチフレーズの先頭だけでなく、途中の語の先頭からも一致します (例: "ring" → "The Lord of the Rings")。
+     * @param query 入力途中の文字列
+     * @param limit 最大件数 (1 〜 {@link #MAX_LIMIT})
+     * @return 入力候補 (一致なし・空の入力の場合は空のリスト)
+     */
+    public List<MovieSuggestion> suggest(String query, int limit) {
+        String key = query == null ? "" : key(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return current().lookup(key, Math.min(limit, MAX_LIMIT));
+    }
+
+    /*
+     * 映画の登録・修正・削除を受けて、入力候補を作り直します (コミット後)。
+     * @param event 映画情報の変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        Trie current = trie;
+        if (current == null) {
+            return;
+        }
+        Map<Long, Source> sources = new LinkedHashMap<>(current.sources);
+        Movie movie = event.movie();
+        if (movie == null) {
+            sources.remove(event.mno());
+        } else {
+            Source previous = sources.get(event.mno());
+            sources.put(event.mno(), new Source(movie.getMno(), movie.getTitle(), movie.getCatchphrase(),
+                    previous == null ? 0 : previous.bookings));
+        }
+        trie = Trie.build(sources, current.reloadAt);
+        log.info(" - Suggest index rebuilt: movie {} changed", event.mno());
+    }
+
+    /* [内部メソッド] 現在の入力候補を取得 (未構築・期限切れの場合は構築) */
+    private Trie current() {
+        Trie current = trie;
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (current != null && now.isBefore(current.reloadAt)) {
+            return current;
+        }
+        synchronized (this) {
+            current = trie;
+            if (current == null || !now.isBefore(current.reloadAt)) {
+                current = load(now);
+                trie = current;
+            }
+            return current;
+        }
+    }
+
+    /* [内部メソッド] 映画カタログと予約件数から入力候補を構築 */
+    private Trie load(LocalDateTime now) {
+        Map<Long, Long> bookings = new HashMap<>();
+        for (Map<String, Object> row : movieMapper.selectMoviePopularity(now.minus(popularityPeriod))) {
+            bookings.put(((Number) row.get("mno")).longValue(), ((Number) row.get("bookings")).longValue());
+        }
+        Map<Long, Source> sources = new LinkedHashMap<>();
+        for (MovieCard card : movieCatalog.movies()) {
+            sources.put(card.getMno(), new Source(card.getMno(), card.getTitle(), card.getCatchphrase(),
+                    bookings.getOrDefault(card.getMno(), 0L)));
+        }
+        Trie built = Trie.build(sources, now.plus(reloadInterval));
+        log.info(" - Suggest index loaded: {} movie(s), {} node(s)", sources.size(), built.labels.length);
+        return built;
+    }
+
+    /* [内部メソッド] 正規化 (NFKC + 小文字化) し、語を1つの空白で連結したキー */
+    private static String key(String text) {
+        String joined = String.join(" ", words(text));
+        return joined.length() > MAX_KEY_LENGTH ? joined.substring(0, MAX_KEY_LENGTH) : joined;
+    }
+
+    /* [内部メソッド] 正規化した文字列を、文字・数字の連続 (語) に分割 (語順のままキーにするため、重複も残します) */
+    private static List<String> words(String text) {
+        return MovieSearchIndex.terms(MovieSearchIndex.normalize(text), false);
+    }
+
+    /* [内部メソッド] 1作品分のキー (タイトル・キャッチフレーズの各語から末尾まで) */
+    private static List<String> keys(Source source) {
+        List<String> keys = new ArrayList<>();
+        for (String text : new String[] { source.title, source.catchphrase }) {
+            if (text == null) {
+                continue;
+            }
+            List<String> words = words(text);
+            for (int i = 0; i < words.size(); i++) {
+                String key = String.join(" ", words.subList(i, words.size()));
+                keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+            }
+        }
+        return keys;
+    }
+
+    /* 入力候補の元データ (1作品分) */
+    private record Source(long mno, String title, String catchphrase, long bookings) {
+    }
+
+    /** **
+     * 配列で表現したトライ木 (不変)
+     * ノード番号は幅優先の順で、各ノードの子は連続した番号 (ラベルの昇順) に配置されます。
+     * 候補は人気順の順位 (0 = 最も人気) で保持し、順位の小さい順がそのまま表示順になります。
+     ** **/
+    private static final class Trie {
+
+        /* 映画番号 → 元データ (再構築用) */
+        private final Map<Long, Source> sources;
+        /* 順位 → 入力候補 */
+        private final MovieSuggestion[] ranked;
+        /* ノードに入る辺のラベル (文字) */
+        private final char[] labels;
+        /* 最初の子ノードの番号と子ノードの数 */
+        private final int[] firstChild;
+        private final int[] childCount;
+        /* ノードの上位候補 (順位) は tops[topOffset[node] .. topOffset[node + 1]) */
+        private final int[] topOffset;
+        private final int[] tops;
+        /* DBから再構築する時刻 */
+        private final LocalDateTime reloadAt;
+
+        private Trie(Map<Long, Source> sources, MovieSuggestion[] ranked, char[] labels, int[] firstChild,
+                     int[] childCount, int[] topOffset, int[] tops, LocalDateTime reloadAt) {
+            this.sources = Map.copyOf(sources);
+            this.ranked = ranked;
+            this.labels = labels;
+            this.firstChild = firstChild;
+            this.childCount = childCount;
+            this.topOffset = topOffset;
+            this.tops = tops;
+            this.reloadAt = reloadAt;
+        }
+
+        List<MovieSuggestion> lookup(String key, int limit) {
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                node = child(node, key.charAt(i));
+                if (node < 0) {
+                    return List.of();
+                }
+            }
+            int from = topOffset[node];
+            int to = Math.min(topOffset[node + 1], from + limit);
+            MovieSuggestion[] result = new MovieSuggestion[to - from];
+            for (int i = from; i < to; i++) {
+                result[i - from] = ranked[tops[i]];
+            }
+            return Arrays.asList(result);
+        }
+
+        /* 子ノードの二分探索 (ない場合は -1) */
+        private int child(int node, char label) {
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (labels[mid] < label) {
+                    low = mid + 1;
+                } else if (labels[mid] > label) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        static Trie build(Map<Long, Source> sources, LocalDateTime reloadAt) {
+            // 人気順 (予約件数の多い順、同数の場合はタイトル順) に順位を付けます
+            List<Source> order = new ArrayList<>(sources.values());
+            order.sort(Comparator.comparingLong(Source::bookings).reversed()
+                    .thenComparing(source -> source.title == null ? "" : source.title)
+                    .thenComparingLong(Source::mno));
+            MovieSuggestion[] ranked = new MovieSuggestion[order.size()];
+
+            List<String> keys = new ArrayList<>();
+            List<Integer> keyRanks = new ArrayList<>();
+            int totalLength = 1;
+            for (int rank = 0; rank < order.size(); rank++) {
+                Source source = order.get(rank);
+                ranked[rank] = new MovieSuggestion(source.mno, source.title);
+                for (String key : keys(source)) {
+                    keys.add(key);
+                    keyRanks.add(rank);
+                    totalLength += key.length();
+                }
+            }
+            Integer[] sorted = new Integer[keys.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, Comparator.comparing(keys::get));
+
+            // 幅優先でノードを作成します (ノード数はキーの文字数の合計 + 1 以下)
+            char[] labels = new char[totalLength];
+            int[] firstChild = new int[totalLength];
+            int[] childCount = new int[totalLength];
+            int[][] terminals = new int[totalLength][];
+            int nodes = 1;
+            ArrayDeque<int[]> queue = new ArrayDeque<>();
+            queue.add(new int[] { 0, 0, sorted.length, 0 });
+            while (!queue.isEmpty()) {
+                int[] item = queue.poll();
+                int node = item[0];
+                int lo = item[1];
+                int hi = item[2];
+                int depth = item[3];
+
+                // このノードで終わるキー (ソート済みのため先頭に並びます)
+                int start = lo;
+                while (start < hi && keys.get(sorted[start]).length() == depth) {
+                    start++;
+                }
+                if (start > lo) {
+                    terminals[node] = new int[start - lo];
+                    for (int i = lo; i < start; i++) {
+                        terminals[node][i - lo] = keyRanks.get(sorted[i]);
+                    }
+                }
+
+                firstChild[node] = nodes;
+                for (int i = start; i < hi; ) {
+                    char label = keys.get(sorted[i]).charAt(depth);
+                    int end = i + 1;
+                    while (end < hi && keys.get(sorted[end]).charAt(depth) == label) {
+                        end++;
+                    }
+                    int child = nodes++;
+                    labels[child] = label;
+                    childCount[node]++;
+                    queue.add(new int[] { child, i, end, depth + 1 });
+                    i = end;
+                }
+            }
+
+            // 子ノードから順に、上位候補 (順位の小さい順に最大 MAX_LIMIT 件、重複なし) を計算します
+            int[][] nodeTops = new int[nodes][];
+            int[] buffer = new int[MAX_LIMIT * 64];
+            for (int node = nodes - 1; node >= 0; node--) {
+                int size = 0;
+                if (terminals[node] != null) {
+                    for (int rank : terminals[node]) {
+                        buffer = ensure(buffer, size);
+                        buffer[size++] = rank;
+                    }
+                }
+                for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+                    for (int rank : nodeTops[child]) {
+                        buffer = ensure(buffer, size);
+                        buffer[size++] = rank;
+                    }
+                }
+                Arrays.sort(buffer, 0, size);
+                int[] top = new int[Math.min(size, MAX_LIMIT)];
+                int count = 0;
+                for (int i = 0; i < size && count < top.length; i++) {
+                    if (count == 0 || top[count - 1] != buffer[i]) {
+                        top[count++] = buffer[i];
+                    }
+                }
+                nodeTops[node] = count == top.length ? top : Arrays.copyOf(top, count);
+            }
+
+            int[] topOffset = new int[nodes + 1];
+            for (int node = 0; node < nodes; node++) {
+                topOffset[node + 1] = topOffset[node] + nodeTops[node].length;
+            }
+            int[] tops = new int[topOffset[nodes]];
+            for (int node = 0; node < nodes; node++) {
+                System.arraycopy(nodeTops[node], 0, tops, topOffset[node], nodeTops[node].length);
+            }
+            return new Trie(sources, ranked, Arrays.copyOf(labels, nodes), Arrays.copyOf(firstChild, nodes),
+                    Arrays.copyOf(childCount, nodes), topOffset, tops, reloadAt);
+        }
+
+        private static int[] ensure(int[] buffer, int size) {
+            return size < buffer.length ? buffer : Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.cinema.service;
+
+/** **
+ * 映画検索の入力候補 (Type-ahead)
+ *
+ * @param mno 映画番号
+ * @param title 映画タイトル
+ ** **/
+public record MovieSuggestion(long mno, String title) {
+}
@@ -0,0 +1,125 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.cinema.domain.Reservation;
+import com.cinema.domain.ReservationSeat;
+
+/** **
+ * 検証済みの予約コマンド (Pending Booking)
+ * 座席の確保 (メモリ上) まで完了し、DBへの書き込み (グループコミット) を待っている予約です。
+ * 書き込み結果は {@link #getResult()} を通じて、予約を要求した呼び出し元へ個別に通知されます。
+ ** **/
+final class PendingBooking {
+
+    private final Long sno;
+    private final String userid;
+    private final int basePrice;
+    private final SeatMap seatMap;
+    private final int[] seatIndexes;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    // 以下は書き込み処理 (ReservationBatchWriter) の中でのみ設定されます
+    private Reservation reservation;
+    private int price;
+    private int earnedPoints;
+    private String rejection;
+
+    PendingBooking(Long sno, String userid, int basePrice, SeatMap seatMap, int[] seatIndexes) {
+        this.sno = sno;
+        this.userid = userid;
+        this.basePrice = basePrice;
+        this.seatMap = seatMap;
+        this.seatIndexes = seatIndexes;
+    }
+
+    Long getSno() {
+        return sno;
+    }
+
+    String getUserid() {
+        return userid;
+    }
+
+    /* 割引前の合計料金 (料金エンジンで算出済み) */
+    int getBasePrice() {
+        return basePrice;
+    }
+
+    /* 会員等級の割引を適用した決済金額 (書き込み時に確定) */
+    int getPrice() {
+        return price;
+    }
+
+    SeatMap getSeatMap() {
+        return seatMap;
+    }
+
+    int[] getSeatIndexes() {
+        return seatIndexes;
+    }
+
+    CompletableFuture<Void> getResult() {
+        return result;
+    }
+
+    Reservation getReservation() {
+        return reservation;
+    }
+
+    int getEarnedPoints() {
+        return earnedPoints;
+    }
+
+    String getRejection() {
+        return rejection;
+    }
+
+    /* 書き込み前の状態に戻します (グループコミット失敗後の個別再実行時) */
+    void reset() {
+        this.reservation = null;
+        this.price = 0;
+        this.earnedPoints = 0;
+        this.rejection = null;
+    }
+
+    void accept(Reservation reservation, int earnedPoints) {
+        this.reservation = reservation;
+        this.price = reservation.getPrice();
+        this.earnedPoints = earnedPoints;
+    }
+
+    /* 業務エラー (残高不足など) により、この予約のみを不成立とします */
+    void reject(String message) {
+        this.rejection = message;
+    }
+
+    boolean isRejected() {
+        return rejection != null;
+    }
+
+    /* 座席番号 -> 座席ラベルのリスト */
+    List<String> seatLabels() {
+        List<String> labels = new ArrayList<>(seatIndexes.length);
+        for (int index : seatIndexes) {
+            labels.add(seatMap.labelOf(index));
+        }
+        return labels;
+    }
+
+    /* 座席番号 -> reservation_seat の登録用データ (予約番号の採番後に呼び出します) */
+    List<ReservationSeat> reservationSeats() {
+        List<ReservationSeat> seats = new ArrayList<>(seatIndexes.length);
+        for (int index : seatIndexes) {
+            seats.add(ReservationSeat.builder()
+                    .rno(reservation.getRno())
+                    .sno(sno)
+                    .seatRow(String.valueOf(seatMap.rowOf(index)))
+                    .seatCol(seatMap.colOf(index))
+                    .build());
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,11 @@
+package com.cinema.service;
+
+/** **
+ * ポスター画像の参照解除イベント (映画の削除・ポスターの差し替え)
+ * 参照を解除したトランザクションのコミット後に {@link PosterStorage} へ通知され、
+ * 他の映画から参照されていないポスター画像 (原本・サイズ別バリアント) を削除します。
+ *
+ * @param poster 参照を解除したポスターのファイル名
+ ** **/
+public record PosterReleasedEvent(String poster) {
+}
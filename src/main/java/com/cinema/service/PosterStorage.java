@@ -0,0 +1,255 @@
+package com.cinema.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.cinema.mapper.MovieMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * ポスター画像ストレージ (Content-Addressed Poster Storage)
+ * アップロードされたポスター画像を、内容の SHA-256 ハッシュ値をファイル名として保存します ({ハッシュ値}.{拡張子})。
+ *
+ * - ハッシュ値はアップロードの読み込みと同時に計算します (ファイルの再読み込みは行いません)。
+ * - 同じ内容の画像は1つのファイルを共有し、映画からの参照件数 (movie.poster) が 0 になった時点で削除します (参照カウント)。
+ *   保存 (共有) と削除の判定はファイル名ごとのロックで排他し、保存したトランザクションが完了するまでは
+ *   参照件数に関係なく削除しません (コミット前の映画の行は参照件数に含まれないため)。
+ * - 内容が変わればファイル名 (URL) も変わるため、ファイルは一度保存すると変更されません。
+ *   ブラウザには長期間のキャッシュ (immutable) を許可できます ({@link #isImmutable})。
+ ** **/
+@Service
+@Slf4j
+public class PosterStorage {
+
+    /* ポスター未登録時の既定画像 (削除しない) */
+    public static final String DEFAULT_POSTER = "default.jpg";
+
+    /* 内容のハッシュ値によるファイル名 (サイズ別バリアントは原本のファイル名 + .jpg) */
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,5}){0,2}");
+    /* 以前の形式のファイル名 (UUID_元のファイル名)。同名で上書きされることはありません */
+    private static final Pattern LEGACY_UNIQUE = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+");
+    /* サイズ別バリアントのディレクトリ名 (w200 など) */
+    private static final Pattern VARIANT_DIR = Pattern.compile("w[0-9]{1,4}");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+
+    /* ファイル名ごとの排他に使うロックの数 (ファイル名のハッシュ値で割り当てます) */
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path uploadDir;
+    private final MovieMapper movieMapper;
+    private final PosterVariants posterVariants;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    /* ファイル名 → 保存したトランザクションのうち未完了の件数 (ロック内でのみ更新します) */
+    private final Map<String, Integer> pins = new ConcurrentHashMap<>();
+
+    public PosterStorage(@Value("${file.upload.path}") String uploadPath,
+                         MovieMapper movieMapper,
+                         PosterVariants posterVariants) {
+        this.uploadDir = Paths.get(uploadPath).toAbsolutePath().normalize();
+        this.movieMapper = movieMapper;
+        this.posterVariants = posterVariants;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /*
+     * ポスター画像を保存します。
+     * 同じ内容のファイルが既に保存されている場合は、そのファイルを共有します (新たに書き込みません)。
+     * 呼び出し元のトランザクションが完了するまで、ファイルは削除されません。
+     * ロールバックされた場合は、どの映画からも参照されていなければ削除します。
+     *
+     * @param file アップロードされたファイル
+     * @return 保存したファイル名 ({ハッシュ値}.{拡張子})
+     * @throws IOException ファイル保存失敗時
+     */
+    public String store(MultipartFile file) throws IOException {
+        Files.createDirectories(uploadDir);
+        Path temp = Files.createTempFile(uploadDir, ".upload", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + extensionOf(file.getOriginalFilename());
+            Path target = uploadDir.resolve(name);
+
+            synchronized (lockOf(name)) {
+                pin(name);
+                if (Files.exists(target)) {
+                    log.info(" - Poster already stored, shared: {}", name);
+                    return name;
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 同じ内容の画像が同時に保存された場合 (内容は同一)
+                }
+            }
+            log.info(" - Poster stored: {} ({} bytes)", name, file.getSize());
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /*
+     * ポスター画像の参照解除を受けて、どの映画からも参照されていなければ削除します (コミット後)。
+     * 原本と一緒にサイズ別バリアントも削除します。
+     *
+     * @param event ポスター画像の参照解除イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPosterReleased(PosterReleasedEvent event) {
+        String poster = event.poster();
+        if (!isValidName(poster) || DEFAULT_POSTER.equals(poster)) {
+            return;
+        }
+        deleteIfUnreferenced(poster);
+    }
+
+    /*
+     * 配信するポスター画像のファイルを取得します。
+     *
+     * @param variant サイズ別バリアントのディレクトリ名 (w200 など。原本の場合は null)
+     * @param name ファイル名
+     * @return ファイルのパス (不正なパス・存在しない場合は null)
+     */
+    public Path locate(String variant, String name) {
+        if (!isValidName(name) || (variant != null && !VARIANT_DIR.matcher(variant).matches())) {
+            return null;
+        }
+        Path file = (variant == null ? uploadDir : uploadDir.resolve(variant)).resolve(name).normalize();
+        return file.startsWith(uploadDir) && Files.isRegularFile(file) ? file : null;
+    }
+
+    /*
+     * ファイル名の内容が変更されないか (同じ URL で別の画像が配信されないか) を判定します。
+     * 内容のハッシュ値のファイル名と以前の形式 (UUID_元のファイル名) が該当します。
+     * 既定画像や手動で配置した画像 (初期データ) は上書きされる可能性があるため該当しません。
+     *
+     * @param name ファイル名
+     */
+    public boolean isImmutable(String name) {
+        return CONTENT_ADDRESSED.matcher(name).matches() || LEGACY_UNIQUE.matcher(name).matches();
+    }
+
+    /*
+     * 強い ETag を生成します。
+     * 内容のハッシュ値のファイル名はハッシュ値 (+バリアント)、それ以外はファイルサイズと更新日時から生成します。
+     *
+     * @param variant サイズ別バリアントのディレクトリ名 (原本の場合は null)
+     * @param name ファイル名
+     * @param file ファイルのパス
+     * @return ETag (引用符付き)
+     * @throws IOException ファイル情報の取得失敗時
+     */
+    public String etag(String variant, String name, Path file) throws IOException {
+        if (CONTENT_ADDRESSED.matcher(name).matches()) {
+            String hash = name.substring(0, 64);
+            return "\"" + (variant == null ? hash : hash + "-" + variant) + "\"";
+        }
+        return "\"" + Long.toHexString(Files.size(file)) + "-" + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+    }
+
+    /*
+     * [内部メソッド] どの映画からも参照されておらず、保存中のトランザクションもなければ削除します。
+     * 参照件数の確認と削除は、保存 (共有) と同じファイル名のロック内で行います。
+     */
+    private void deleteIfUnreferenced(String poster) {
+        synchronized (lockOf(poster)) {
+            if (pins.containsKey(poster)) {
+                log.info(" - Poster is being stored by another transaction, kept: {}", poster);
+                return;
+            }
+            int references = movieMapper.countMoviesByPoster(poster);
+            if (references > 0) {
+                log.info(" - Poster still referenced by {} movie(s): {}", references, poster);
+                return;
+            }
+
+            posterVariants.delete(poster);
+            try {
+                if (Files.deleteIfExists(uploadDir.resolve(poster))) {
+                    log.info(" - File deleted successfully: {}", poster);
+                }
+            } catch (IOException e) {
+                log.warn(" * Failed to delete file: {}", poster);
+            }
+        }
+    }
+
+    /*
+     * [内部メソッド] 保存したトランザクションの完了まで、ファイルを削除の対象外にします (ロック内で呼び出します)。
+     * トランザクション外で保存した場合は何もしません。
+     */
+    private void pin(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        pins.merge(name, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (lockOf(name)) {
+                    pins.computeIfPresent(name, (key, count) -> count > 1 ? count - 1 : null);
+                }
+                if (status != STATUS_COMMITTED) {
+                    // ロールバックされた場合、保存したファイルは映画から参照されません
+                    deleteIfUnreferenced(name);
+                }
+            }
+        });
+    }
+
+    private Object lockOf(String name) {
+        return locks[Math.floorMod(name.hashCode(), LOCK_STRIPES)];
+    }
+
+    /* [内部メソッド] パス区切り・親ディレクトリ参照を含むファイル名は扱わない */
+    private static boolean isValidName(String name) {
+        return name != null && !name.isBlank()
+                && name.indexOf('/') < 0 && name.indexOf('\\') < 0 && !name.contains("..");
+    }
+
+    /* [内部メソッド] 元のファイル名の拡張子 (英数字のみ、小文字)。不正な場合は拡張子なし */
+    private static String extensionOf(String originalName) {
+        String extension = StringUtils.getFilenameExtension(originalName);
+        if (extension == null) {
+            return "";
+        }
+        extension = extension.toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.cinema.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * ポスター画像のサイズ別バリアント (Poster Variants)
+ * アップロードされたポスター画像 (原本) から、表示幅ごとの縮小画像 (既定: 200/400/800px、プログレッシブ JPEG) を
+ * バックグラウンドのスレッドで生成し、テンプレートに表示用の URL・srcset を提供します。
+ *
+ * - 生成先: {アップロードパス}/w{幅}/{原本のファイル名}.jpg (URL: /upload/w{幅}/...)
+ *   拡張子を含めた原本のファイル名ごとに生成するため、拡張子だけが異なる原本 (x.jpg と x.jpeg) がバリアントを共有することはありません。
+ * - 映画の登録・修正 ({@link MovieChangedEvent}) のコミット後に生成を開始します。
+ *   既存のポスターは、初めて表示された時点で生成を開始します (DBへのアクセスはありません)。
+ * - 生成が完了するまでは原本の URL を返却します (srcset は返却しません)。
+ * - 生成キューは有限 (cinema.poster.queue-capacity) で、満杯の場合は生成を見送り、次回の表示時に再度登録します。
+ * - 原本が読み込めない画像の場合は生成を行わず、原本をそのまま表示します。
+ ** **/
+@Service
+@Slf4j
+public class PosterVariants {
+
+    /* 生成状態 */
+    private enum State { PENDING, READY, FAILED }
+
+    private final Path uploadDir;
+    private final int[] widths;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    public PosterVariants(@Value("${file.upload.path}") String uploadPath,
+                          @Value("${cinema.poster.widths:200,400,800}") int[] widths,
+                          @Value("${cinema.poster.quality:0.8}") float quality,
+                          @Value("${cinema.poster.workers:1}") int workers,
+                          @Value("${cinema.poster.queue-capacity:64}") int queueCapacity) {
+        this.uploadDir = Paths.get(uploadPath);
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        this.quality = quality;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "poster-variant-" + sequence.getAndIncrement());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /*
+     * 表示幅に合ったポスター画像の URL を取得します。
+     * 表示幅以上で最小のバリアント (表示幅が最大のバリアントを超える場合は最大のバリアント) を返却します。
+     *
+     * @param poster ポスターのファイル名 (原本)
+     * @param width 表示幅 (px)
+     * @return バリアントの URL (生成前の場合は原本の URL)
+     */
+    public String url(String poster, int width) {
+        if (!isReady(poster)) {
+            return original(poster);
+        }
+        for (int candidate : widths) {
+            if (candidate >= width) {
+                return variantUrl(poster, candidate);
+            }
+        }
+        return variantUrl(poster, widths[widths.length - 1]);
+    }
+
+    /*
+     * img タグの srcset 属性の値を取得します (例: "/upload/w200/a.jpg 200w, /upload/w400/a.jpg 400w")。
+     *
+     * @param poster ポスターのファイル名 (原本)
+     * @return srcset の値 (生成前の場合は null。th:srcset では属性が出力されません)
+     */
+    public String srcset(String poster) {
+        if (!isReady(poster)) {
+            return null;
+        }
+        StringJoiner srcset = new StringJoiner(", ");
+        for (int width : widths) {
+            srcset.add(variantUrl(poster, width) + " " + width + "w");
+        }
+        return srcset.toString();
+    }
+
+    /*
+     * 映画の登録・修正を受けて、ポスター画像のバリアントの生成を開始します (コミット後)。
+     * ポスターが差し替えられた場合は新しいファイル名で生成します (古いバリアントは {@link #delete} で削除済みです)。
+     *
+     * @param event 映画情報の変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.movie() != null) {
+            isReady(event.movie().getPoster());
+        }
+    }
+
+    /*
+     * ポスター画像のバリアントを削除します (原本の削除時)。
+     *
+     * @param poster ポスターのファイル名 (原本)
+     */
+    public void delete(String poster) {
+        if (!isValidName(poster)) {
+            return;
+        }
+        states.remove(poster);
+        for (int width : widths) {
+            try {
+                Files.deleteIfExists(variantPath(poster, width));
+            } catch (IOException e) {
+                log.warn(" * Failed to delete poster variant: w{}/{}", width, poster);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /*
+     * [内部メソッド] バリアントの生成が完了しているか判定します。
+     * 初めて参照されたポスターは、ディスク上のバリアントを確認し、なければ生成キューに登録します。
+     * 判定結果は保持するため、ディスクの確認はポスターごとに1回のみです。
+     */
+    private boolean isReady(String poster) {
+        if (!isValidName(poster) || widths.length == 0) {
+            return false;
+        }
+        State state = states.get(poster);
+        if (state != null) {
+            return state == State.READY;
+        }
+
+        if (Arrays.stream(widths).allMatch(width -> Files.isRegularFile(variantPath(poster, width)))) {
+            states.put(poster, State.READY);
+            return true;
+        }
+        if (!Files.isRegularFile(uploadDir.resolve(poster))) {
+            // 原本がない場合 (初期データのポスター未配置など) は生成しない
+            states.put(poster, State.FAILED);
+            return false;
+        }
+        if (states.putIfAbsent(poster, State.PENDING) == null) {
+            try {
+                executor.execute(() -> generate(poster));
+            } catch (RejectedExecutionException e) {
+                // キューが満杯の場合は次回の表示時に再度登録する
+                states.remove(poster, State.PENDING);
+                log.warn(" - Poster variant queue is full: {}", poster);
+            }
+        }
+        return false;
+    }
+
+    /* [内部メソッド] バリアントの生成 (バックグラウンドスレッド) */
+    private void generate(String poster) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage source = ImageIO.read(uploadDir.resolve(poster).toFile());
+            if (source == null) {
+                states.put(poster, State.FAILED);
+                log.warn(" * Unsupported poster image, variants skipped: {}", poster);
+                return;
+            }
+            for (int width : widths) {
+                write(resize(source, Math.min(width, source.getWidth())), variantPath(poster, width));
+            }
+            states.replace(poster, State.PENDING, State.READY);
+            log.info(" - Poster variants generated: {} ({} ms)", poster, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            states.put(poster, State.FAILED);
+            log.warn(" * Failed to generate poster variants: {} ({})", poster, e.toString());
+        }
+    }
+
+    /*
+     * [内部メソッド] 画像の縮小 (アスペクト比を維持)
+     * 縮小率が大きい場合の画質低下を防ぐため、半分ずつ段階的に縮小します。
+     * 透過部分は白で塗りつぶします (JPEG は透過に非対応)。
+     */
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    /* [内部メソッド] プログレッシブ JPEG で保存 (一時ファイルに書き込んでから置き換え) */
+    private void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".variant", ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /* [内部メソッド] パス区切り・親ディレクトリ参照を含むファイル名は扱わない */
+    private static boolean isValidName(String poster) {
+        return poster != null && !poster.isBlank()
+                && poster.indexOf('/') < 0 && poster.indexOf('\\') < 0 && !poster.contains("..");
+    }
+
+    private static String original(String poster) {
+        return "/upload/" + poster;
+    }
+
+    private static String variantName(String poster) {
+        return poster + ".jpg";
+    }
+
+    private static String variantUrl(String poster, int width) {
+        return "/upload/w" + width + "/" + variantName(poster);
+    }
+
+    private Path variantPath(String poster, int width) {
+        return uploadDir.resolve("w" + width).resolve(variantName(poster));
+    }
+}
@@ -0,0 +1,201 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cinema.mapper.PricingMapper;
+import com.cinema.service.TariffMatrix.DayType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 料金エンジン (Pricing Engine)
+ * チケット料金をサーバー側で算出します。ブラウザから送信された金額は一切使用しません。
+ *
+ *   料金 = Σ 座席ごとの料金 (上映館 x 曜日区分 x 座席クラス) - 会員等級の割引
+ *
+ * 料金表と会員等級は不変の {@link TariffMatrix} としてメモリ上に保持し、
+ * 予約時の計算は配列参照のみで完結させます (SQLは発行しません)。
+ * 管理者が料金や等級を変更した場合は {@link #reload()} でマトリクスを再構築します。
+ * 料金表に登録のない上映館は、既定の料金 (cinema.tariff.default-prices) で計算します。
+ ** **/
+@Service
+@Slf4j
+public class PricingEngine {
+
+    private final PricingMapper pricingMapper;
+    private final SeatPageCache seatPageCache;
+    private final int[] defaultPrices;
+
+    private volatile TariffMatrix matrix;
+
+    /* スケジュール -> 行ごとの料金 (構築元のマトリクスと組で保持し、再構築後は自動的に再計算) */
+    private final Map<Long, ScheduleTariff> scheduleTariffs = new ConcurrentHashMap<>();
+
+    public PricingEngine(PricingMapper pricingMapper,
+                         SeatPageCache seatPageCache,
+                         @Value("${cinema.tariff.default-prices:15000,18000}") int[] defaultPrices) {
+        this.pricingMapper = pricingMapper;
+        this.seatPageCache = seatPageCache;
+        this.defaultPrices = defaultPrices.clone();
+    }
+
+    /*
+     * 座席の合計料金 (割引前) を算出します。
+     *
+     * @param sno スケジュール番号
+     * @param seatMap 座席マップ (行の算出用)
+     * @param seatIndexes 座席番号
+     * @return 割引前の合計料金
+     * @throws IllegalStateException 料金が設定されていない座席が含まれる場合
+     */
+    public int basePrice(Long sno, SeatMap seatMap, int[] seatIndexes) {
+        int[] rowPrices = rowPricesOf(sno);
+        int total = 0;
+        for (int index : seatIndexes) {
+            int price = rowPrices[seatMap.rowOf(index) - 'A'];
+            if (price <= 0) {
+                throw new IllegalStateException("この座席の料金が設定されていません: " + seatMap.labelOf(index));
+            }
+            total += price;
+        }
+        return total;
+    }
+
+    /*
+     * 会員等級の割引を適用した決済金額を算出します (割引額の1P未満は切り捨て)。
+     *
+     * @param basePrice 割引前の合計料金
+     * @param mgrade 会員等級
+     * @return 決済金額
+     */
+    public int discountedPrice(int basePrice, int mgrade) {
+        return basePrice - (int) (basePrice * matrix().discountRate(mgrade));
+    }
+
+    /*
+     * 会員等級に応じたリワードポイントを算出します。
+     *
+     * @param price 決済金額
+     * @param mgrade 会員等級
+     * @return 積立ポイント
+     */
+    public int earnedPoints(int price, int mgrade) {
+        return (int) (price * matrix().pointRate(mgrade));
+    }
+
+    /* 会員等級の割引率 (画面表示用) */
+    public double discountRate(int mgrade) {
+        return matrix().discountRate(mgrade);
+    }
+
+    /*
+     * スケジュールの行ごとの料金を取得します (座席選択画面の表示用)。
+     *
+     * @param sno スケジュール番号
+     * @param rows 行数
+     * @return 行 (A行から順) ごとの1席あたりの料金
+     */
+    public List<Integer> rowPrices(Long sno, int rows) {
+        int[] rowPrices = rowPricesOf(sno);
+        List<Integer> prices = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            prices.add(rowPrices[row]);
+        }
+        return prices;
+    }
+
+    /*
+     * 料金を登録・変更し、料金マトリクスを再構築します。
+     *
+     * @param tno 上映館番号
+     * @param dayType 曜日区分
+     * @param seatClass 座席クラス
+     * @param price 1席あたりの料金
+     */
+    public void updateTariff(int tno, DayType dayType, TariffMatrix.SeatClass seatClass, int price) {
+        if (price <= 0) {
+            throw new IllegalStateException("料金は1P以上で指定してください。");
+        }
+        pricingMapper.upsertTariff(tno, dayType.name(), seatClass.name(), price);
+        reload();
+    }
+
+    /*
+     * 会員等級の積立率・割引率を変更し、料金マトリクスを再構築します。
+     *
+     * @param mgrade 会員等級
+     * @param pointRate ポイント積立率 (0 以上 1 未満)
+     * @param discountRate 割引率 (0 以上 1 未満)
+     */
+    public void updateGradeRates(int mgrade, double pointRate, double discountRate) {
+        if (pointRate < 0 || pointRate >= 1 || discountRate < 0 || discountRate >= 1) {
+            throw new IllegalStateException("積立率・割引率は 0 以上 1 未満で指定してください。");
+        }
+        if (pricingMapper.updateGradeRates(mgrade, pointRate, discountRate) == 0) {
+            throw new IllegalStateException("指定された会員等級が存在しません。");
+        }
+        reload();
+    }
+
+    /* 現在の料金表・座席クラス・会員等級 (管理画面の表示用) */
+    public Map<String, Object> describe() {
+        return Map.of(
+                "tariffs", pricingMapper.selectTariffs(),
+                "seatClassRows", pricingMapper.selectSeatClassRows(),
+                "grades", pricingMapper.selectMemberGrades());
+    }
+
+    /*
+     * 料金表・会員等級をDBから再読み込みし、料金マトリクスを差し替えます。
+     * 管理者による料金・等級の変更後に呼び出します。
+     */
+    public synchronized void reload() {
+        matrix = TariffMatrix.build(
+                pricingMapper.selectTariffs(),
+                pricingMapper.selectSeatClassRows(),
+                pricingMapper.selectMemberGrades(),
+                defaultPrices);
+        scheduleTariffs.clear();
+        log.info(" - Tariff matrix rebuilt");
+    }
+
+    /* [内部メソッド] 料金マトリクスを取得 (未構築の場合はDBから構築) */
+    private TariffMatrix matrix() {
+        TariffMatrix current = matrix;
+        if (current == null) {
+            synchronized (this) {
+                if (matrix == null) {
+                    reload();
+                }
+                current = matrix;
+            }
+        }
+        return current;
+    }
+
+    /* [内部メソッド] スケジュールの行ごとの料金を取得 (上映館と上映日は座席選択画面の表示情報キャッシュから取得) */
+    private int[] rowPricesOf(Long sno) {
+        TariffMatrix current = matrix();
+        ScheduleTariff cached = scheduleTariffs.get(sno);
+        if (cached != null && cached.matrix() == current) {
+            return cached.rowPrices();
+        }
+
+        SeatPageInfo info = seatPageCache.get(sno);
+        int tno = info.getTno().intValue();
+        DayType dayType = DayType.of(info.getSdate().toLocalDate());
+
+        int[] rowPrices = current.rowPrices(tno, dayType);
+        scheduleTariffs.put(sno, new ScheduleTariff(current, rowPrices));
+        return rowPrices;
+    }
+
+    private record ScheduleTariff(TariffMatrix matrix, int[] rowPrices) {
+    }
+}
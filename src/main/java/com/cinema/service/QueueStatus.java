@@ -0,0 +1,30 @@
+package com.cinema.service;
+
+/** **
+ * 待合室 (Virtual Waiting Room) の整理券の状態
+ *
+ * @param state 整理券の状態
+ * @param position 待ち順位 (1 = 次に入場。ADMITTED の場合は 0)
+ * @param waiting 待機中の人数
+ * @param active 入場中 (予約操作中) の人数
+ * @param admitIntervalMillis 直近の入場間隔の平均 (ミリ秒。実績がない場合は 0)
+ ** **/
+public record QueueStatus(State state, long position, int waiting, int active, long admitIntervalMillis) {
+
+    public enum State {
+        /* 入場済み (予約画面へ進めます) */
+        ADMITTED,
+        /* 待機中 */
+        WAITING,
+        /* 不明・期限切れ (再度整理券を発行する必要があります) */
+        UNKNOWN
+    }
+
+    public static QueueStatus unknown() {
+        return new QueueStatus(State.UNKNOWN, 0, 0, 0, 0);
+    }
+
+    public boolean isAdmitted() {
+        return state == State.ADMITTED;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cinema.service;
+
+import java.time.Instant;
+
+/** **
+ * 待合室の待ち行列ストア (Queue Store)
+ * 整理券の発行・入場枠の管理を行うストアのインターフェースです。
+ * 既定ではメモリ上の {@link InMemoryQueueStore} を使用しますが、
+ * 複数ノードで待ち行列を共有する場合は、本インターフェースを Redis などで実装したBeanに差し替えます。
+ *
+ * 待ち行列は「スコープ」単位で独立しています (サイト全体: "site"、スケジュール単位: "schedule-{sno}")。
+ * 各操作はスコープ単位で原子的に実行される必要があります。
+ ** **/
+public interface QueueStore {
+
+    /*
+     * 待ち行列に並び、整理券番号を取得します。
+     * 同じユーザーが既に待機中・入場中の場合は、同じ整理券番号を返します。
+     *
+     * @param scope スコープ
+     * @param userid ユーザーID
+     * @param now 現在時刻
+     * @return 整理券番号
+     */
+    long join(String scope, String userid, Instant now);
+
+    /*
+     * 期限切れの入場枠・放棄された整理券を回収し、空き枠の分だけ先頭から入場させた上で、
+     * 整理券の状態を返します。入場済みの場合は入場枠の有効期限を延長します。
+     *
+     * @param scope スコープ
+     * @param ticket 整理券番号
+     * @param capacity 同時に入場できる人数
+     * @param now 現在時刻
+     * @return 整理券の状態
+     */
+    QueueStatus poll(String scope, long ticket, int capacity, Instant now);
+
+    /*
+     * 入場枠を返却します (予約完了時など)。次の待機者が入場できるようになります。
+     *
+     * @param scope スコープ
+     * @param ticket 整理券番号
+     */
+    void leave(String scope, long ticket);
+
+    /*
+     * ユーザーが全スコープで保持している入場枠を返却します (予約完了時)。
+     * 入場待ちの整理券 (別のタブで並んでいるスケジュールなど) はそのまま残します。
+     *
+     * @param userid ユーザーID
+     */
+    void leaveAll(String userid);
+}
@@ -0,0 +1,123 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cinema.domain.PointHistory;
+import com.cinema.domain.Reservation;
+import com.cinema.domain.ReservationSeat;
+import com.cinema.mapper.MemberMapper;
+import com.cinema.mapper.ReservationMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 予約の一括書き込み (Reservation Batch Writer)
+ * グループコミットで集められた複数の予約を、1つのトランザクションでまとめてDBへ書き込みます。
+ *
+ * 予約件数に関わらず、テーブルごとに1回のステートメント (マルチロー INSERT / CASE UPDATE) で
+ * 書き込むため、1予約あたりのラウンドトリップ数は件数に反比例して減少します。
+ ** **/
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationBatchWriter {
+
+    private final MemberMapper memberMapper;
+    private final ReservationMapper reservationMapper;
+    private final PricingEngine pricingEngine;
+
+    /*
+     * 予約をまとめて書き込みます。
+     * ポイント残高が不足している予約は、その予約のみを不成立 (reject) としてスキップし、
+     * 他の予約の書き込みは継続します。
+     * 座席のユニーク制約違反などのDBエラーが発生した場合は、全件ロールバックされます。
+     *
+     * @param bookings 検証済みの予約 (到着順)
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void write(List<PendingBooking> bookings) {
+        bookings.forEach(PendingBooking::reset);
+
+        // 1. 対象会員のポイント残高と会員等級を1回のクエリで取得 (会員行をロック)
+        Set<String> userids = new LinkedHashSet<>();
+        bookings.forEach(b -> userids.add(b.getUserid()));
+        Map<String, Integer> balances = new HashMap<>();
+        Map<String, Integer> grades = new HashMap<>();
+        for (Map<String, Object> account : memberMapper.selectPointAccountsForUpdate(userids)) {
+            String userid = (String) account.get("userid");
+            // 未設定 (NULL) の残高は 0、会員等級は既定の等級として扱います
+            Number point = (Number) account.get("point");
+            Number mgrade = (Number) account.get("mgrade");
+            balances.put(userid, point != null ? point.intValue() : 0);
+            grades.put(userid, mgrade != null ? mgrade.intValue() : TariffMatrix.BASE_GRADE);
+        }
+
+        // 2. 会員等級の割引を適用した上で到着順に残高を検証し、ポイントの増減と履歴をメモリ上で集計
+        Map<String, Integer> amounts = new LinkedHashMap<>();
+        List<PointHistory> histories = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        List<PendingBooking> accepted = new ArrayList<>();
+
+        for (PendingBooking booking : bookings) {
+            String userid = booking.getUserid();
+            int balance = balances.getOrDefault(userid, 0);
+
+            if (!balances.containsKey(userid)) {
+                booking.reject("会員情報が見つかりません。");
+                continue;
+            }
+
+            // 割引率・積立率はメモリ上の料金マトリクス (会員等級テーブル) から取得します
+            int mgrade = grades.get(userid);
+            int price = pricingEngine.discountedPrice(booking.getBasePrice(), mgrade);
+            if (balance < price) {
+                log.warn(" - Booking Rejected: Insufficient points (User: {}, Required: {})", userid, price);
+                booking.reject("ポイントが不足しています。");
+                continue;
+            }
+
+            int earnedPoints = pricingEngine.earnedPoints(price, mgrade);
+            balances.put(userid, balance - price + earnedPoints);
+            amounts.merge(userid, earnedPoints - price, Integer::sum);
+
+            histories.add(PointHistory.builder().userid(userid).amount(-price).description("映画チケット決済").build());
+            if (earnedPoints > 0) {
+                histories.add(PointHistory.builder().userid(userid).amount(earnedPoints).description("チケット決済に伴うリワード積立").build());
+            }
+
+            Reservation reservation = Reservation.builder()
+                    .sno(booking.getSno())
+                    .userid(userid)
+                    .price(price)
+                    .build();
+            reservations.add(reservation);
+            booking.accept(reservation, earnedPoints);
+            accepted.add(booking);
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // 3. テーブルごとに1回ずつ書き込み
+        memberMapper.updateMemberPoints(amounts);
+        memberMapper.insertPointHistories(histories);
+        reservationMapper.insertReservations(reservations);
+
+        List<ReservationSeat> seats = new ArrayList<>();
+        accepted.forEach(b -> seats.addAll(b.reservationSeats()));
+        reservationMapper.insertReservationSeats(seats);
+
+        log.info(" - Batch Written: {} reservation(s), {} seat(s)", accepted.size(), seats.size());
+    }
+}
@@ -0,0 +1,188 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 予約のグループコミット (Group Commit)
+ * 同時に到着した検証済みの予約を数ミリ秒 (linger) だけ待って集め、
+ * {@link ReservationBatchWriter} により1つのトランザクションでまとめて書き込みます。
+ * コミット後、各予約の呼び出し元へ結果を個別に通知します。
+ *
+ * 一括書き込みが失敗した場合 (他ノードでの予約による座席の重複など) は、
+ * 同じバッチの予約を1件ずつ個別のトランザクションで再実行し、失敗した予約のみをエラーとします。
+ ** **/
+@Service
+@Slf4j
+public class ReservationGroupCommitter {
+
+    private static final String SEAT_TAKEN_MESSAGE = "誠に恐れ入りますが、選択された座席は既に他のお客様によって予約されております。別の座席をご選択ください。";
+
+    private final ReservationBatchWriter batchWriter;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final SeatEventHub seatEventHub;
+    private final SeatOccupancy seatOccupancy;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingBooking> queue;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public ReservationGroupCommitter(ReservationBatchWriter batchWriter,
+                                     SeatInventory seatInventory,
+                                     SeatHoldService seatHoldService,
+                                     SeatEventHub seatEventHub,
+                                     SeatOccupancy seatOccupancy,
+                                     @Value("${cinema.booking.group-commit.max-batch-size:64}") int maxBatchSize,
+                                     @Value("${cinema.booking.group-commit.linger-ms:2}") long lingerMillis,
+                                     @Value("${cinema.booking.group-commit.queue-capacity:4096}") int queueCapacity) {
+        this.batchWriter = batchWriter;
+        this.seatInventory = seatInventory;
+        this.seatHoldService = seatHoldService;
+        this.seatEventHub = seatEventHub;
+        this.seatOccupancy = seatOccupancy;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.worker = new Thread(this::run, "reservation-group-commit");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /*
+     * 座席確保済みの予約をグループコミットの待ち行列へ登録します。
+     * 待ち行列が満杯の場合は、確保した座席を解放した上で「混雑」エラーとします。
+     *
+     * @param booking 検証済みの予約
+     * @return 書き込み完了時に完了する Future (失敗時は例外で完了)
+     * @throws IllegalStateException 待ち行列が満杯の場合
+     */
+    CompletableFuture<Void> submit(PendingBooking booking) {
+        if (!running || !queue.offer(booking)) {
+            booking.getSeatMap().release(booking.getSeatIndexes());
+            log.warn(" - Group commit queue is full (Schedule: {})", booking.getSno());
+            throw new IllegalStateException("ただいま予約が大変混み合っております。しばらくしてから再度お試しください。");
+        }
+        return booking.getResult();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /* [内部メソッド] ワーカースレッドのメインループ */
+    private void run() {
+        List<PendingBooking> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                collect(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+                continue;
+            }
+            commit(batch);
+            batch.clear();
+        }
+
+        // 停止時に残っている予約は不成立とします
+        batch.addAll(queue);
+        queue.clear();
+        batch.forEach(b -> fail(b, new IllegalStateException("予約処理が中断されました。")));
+    }
+
+    /* 最初の予約から linger 時間が経過するか、最大件数に達するまで予約を集めます */
+    private void collect(List<PendingBooking> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                return;
+            }
+            PendingBooking next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /* バッチを書き込み、失敗した場合は1件ずつ再実行します */
+    private void commit(List<PendingBooking> batch) {
+        try {
+            batchWriter.write(batch);
+            batch.forEach(this::complete);
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            log.warn(" - Group commit failed, retrying individually ({} bookings): {}", batch.size(), e.getMessage());
+        }
+
+        for (PendingBooking booking : batch) {
+            try {
+                batchWriter.write(List.of(booking));
+                complete(booking);
+            } catch (Exception e) {
+                fail(booking, e);
+            }
+        }
+    }
+
+    /* コミット後の後処理: 残席数の更新、仮押さえの解除と予約確定の通知 */
+    private void complete(PendingBooking booking) {
+        if (booking.isRejected()) {
+            booking.getSeatMap().release(booking.getSeatIndexes());
+            booking.getResult().completeExceptionally(new IllegalStateException(booking.getRejection()));
+            return;
+        }
+        seatOccupancy.addBooked(booking.getSno(), booking.getSeatIndexes().length);
+        try {
+            seatHoldService.release(booking.getSno(), booking.getUserid());
+            seatEventHub.publish(booking.getSno(), SeatEventHub.BOOKED, booking.seatLabels());
+        } catch (RuntimeException e) {
+            log.warn(" * Post-commit notification failed (Schedule: {})", booking.getSno(), e);
+        }
+        log.info(" - Transaction Success: Reservation Completed. Paid: {} P, Earned: {} P",
+                booking.getPrice(), booking.getEarnedPoints());
+        booking.getResult().complete(null);
+    }
+
+    /* 書き込み失敗時の後処理: 確保した座席を解放し、呼び出し元へ例外を通知します */
+    private void fail(PendingBooking booking, Exception e) {
+        booking.getSeatMap().release(booking.getSeatIndexes());
+
+        if (e instanceof DuplicateKeyException) {
+            // メモリ上では空席でもDBのユニーク制約で拒否された場合 (他ノードでの予約など)、
+            // 座席マップが古くなっているため破棄し、次回アクセス時にDBから再ロードさせます。
+            log.warn(" - Transaction Failed: Seat rejected by unique constraint (Schedule: {})", booking.getSno());
+            seatInventory.invalidate(booking.getSno());
+            booking.getResult().completeExceptionally(new IllegalStateException(SEAT_TAKEN_MESSAGE));
+        } else if (e instanceof IllegalStateException) {
+            booking.getResult().completeExceptionally(e);
+        } else {
+            log.error(" * Transaction Failed: Critical DB Error -> Rollback", e);
+            booking.getResult().completeExceptionally(new RuntimeException("システムエラーが発生しました。処理を中断します。", e));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cinema.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** **
+ * 上映スケジュール一括登録の結果
+ *
+ * @param requested 展開した上映回の数
+ * @param created 登録したスケジュール番号
+ * @param conflicts 登録しなかった上映回とその理由
+ ** **/
+public record ScheduleBulkResult(int requested, List<Long> created, List<Conflict> conflicts) {
+
+    /*
+     * 登録しなかった上映回
+     * @param tno 上映館番号
+     * @param sdate 上映開始日時
+     * @param reason 理由 (重複した既存スケジュールなど)
+     */
+    public record Conflict(long tno, LocalDateTime sdate, String reason) {
+    }
+}
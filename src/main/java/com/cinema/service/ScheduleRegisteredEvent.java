@@ -0,0 +1,12 @@
+package com.cinema.service;
+
+import java.util.List;
+
+/** **
+ * 上映スケジュール登録イベント
+ * スケジュールを登録したトランザクションのコミット後に、上映時間表 ({@link ShowtimeTimetable}) へ反映されます。
+ *
+ * @param showtimes 登録された上映回 (映画・上映館の情報を含む)
+ ** **/
+public record ScheduleRegisteredEvent(List<Showtime> showtimes) {
+}
@@ -0,0 +1,202 @@
+package com.cinema.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cinema.domain.Movie;
+import com.cinema.domain.Schedule;
+import com.cinema.dto.ScheduleBulkRequest;
+import com.cinema.mapper.MovieMapper;
+import com.cinema.mapper.ScheduleMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 上映スケジュール管理サービス
+ * 管理者によるスケジュールの登録を行い、コミット後に上映時間表 ({@link ShowtimeTimetable}) へ反映します。
+ ** **/
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleService {
+
+    /* 一括登録で一度に展開できる上映回の上限 */
+    static final int MAX_BULK_SHOWINGS = 2000;
+
+    /* 清掃時間の既定値 (分) */
+    static final int DEFAULT_CLEANUP_MINUTES = 15;
+
+    private static final DateTimeFormatter SDATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter LABEL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final ScheduleMapper scheduleMapper;
+    private final MovieMapper movieMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    /*
+     * 上映スケジュールを登録します。
+     * 1日 x 1上映館 x 1上映開始時刻 の一括登録 ({@link #registerSchedules}) として扱うため、
+     * 上映館のロックと区間木による重複判定 (既定の清掃時間を含む) も一括登録と同じです。
+     *
+     * @param schedule 登録するスケジュール情報 (登録後、sno が設定されます)
+     * @throws IllegalStateException 入力値が不正な場合、過去の日時の場合、同じ上映館の上映回と重複する場合
+     */
+    @Transactional
+    public void registerSchedule(Schedule schedule) {
+        LocalDateTime sdate;
+        try {
+            sdate = LocalDateTime.parse(schedule.getSdate());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("上映開始日時を正しく指定してください。");
+        }
+        ScheduleBulkRequest request = new ScheduleBulkRequest();
+        request.setMno(schedule.getMno());
+        request.setTnos(schedule.getTno() == null ? null : List.of(schedule.getTno()));
+        request.setStartDate(sdate.toLocalDate());
+        request.setEndDate(sdate.toLocalDate());
+        request.setTimes(List.of(sdate.toLocalTime()));
+
+        ScheduleBulkResult result = registerSchedules(request);
+        if (!result.conflicts().isEmpty()) {
+            throw new IllegalStateException(result.conflicts().get(0).reason());
+        }
+        schedule.setSno(result.created().get(0));
+        log.info(" - Schedule Registered: sno={}, mno={}, sdate={}", schedule.getSno(), schedule.getMno(), schedule.getSdate());
+    }
+
+    /*
+     * 上映スケジュールを一括登録します。
+     * 期間内の毎日 x 上映館 x 上映開始時刻 を上映回として展開し、上映館ごとの区間木 ({@link IntervalTree}) で
+     * 既存のスケジュールおよび同時に登録する上映回との重複 (上映時間 + 清掃時間) を判定します。
+     * 重複しない上映回のみを1回のステートメントで登録し、重複した上映回は理由とともに返却します。
+     *
+     * 同じ上映館への一括登録が同時に実行された場合に備え、判定の前に上映館の行をロックします。
+     *
+     * @param request 一括登録リクエスト
+     * @return 登録結果
+     * @throws IllegalStateException 入力値が不正な場合、映画・上映館が存在しない場合
+     */
+    @Transactional
+    public ScheduleBulkResult registerSchedules(ScheduleBulkRequest request) {
+        validate(request);
+        Movie movie = movieMapper.selectMovieDetail(request.getMno());
+        if (movie == null || movie.getRuntime() == null) {
+            throw new IllegalStateException("指定された映画が存在しないか、上映時間が登録されていません。");
+        }
+        int cleanupMinutes = request.getCleanupMinutes() == null ? DEFAULT_CLEANUP_MINUTES : request.getCleanupMinutes();
+        long blockMinutes = movie.getRuntime() + cleanupMinutes;
+
+        List<Long> tnos = new ArrayList<>(new LinkedHashSet<>(request.getTnos()));
+        if (scheduleMapper.selectTheatersForUpdate(tnos).size() != tnos.size()) {
+            throw new IllegalStateException("存在しない上映館が含まれています。");
+        }
+
+        // 1. 上映館ごとの区間木を既存のスケジュールから構築
+        //    (期間の前日に始まり期間内まで続く上映、期間の最終日の深夜から翌日に続く上映も判定するため、前後1日を含めます)
+        LocalDateTime from = request.getStartDate().atStartOfDay();
+        LocalDateTime to = request.getEndDate().plusDays(1).atStartOfDay();
+        Map<Long, IntervalTree<String>> trees = new HashMap<>();
+        tnos.forEach(tno -> trees.put(tno, new IntervalTree<>()));
+        for (Map<String, Object> row : scheduleMapper.selectTheaterSchedules(tnos, from.minusDays(1), to.plusDays(1))) {
+            LocalDateTime sdate = (LocalDateTime) row.get("sdate");
+            Object runtime = row.get("runtime");
+            long start = minutes(sdate);
+            long end = start + (runtime == null ? 0 : ((Number) runtime).intValue()) + cleanupMinutes;
+            trees.get(((Number) row.get("tno")).longValue())
+                    .add(start, Math.max(end, start + 1), "既存の上映回 (sno=" + row.get("sno") + ", " + sdate.format(LABEL) + ") と重複しています。");
+        }
+
+        // 2. 上映回を展開して重複を判定 (重複しない上映回は区間木に追加し、以降の上映回の判定に含めます)
+        List<LocalTime> times = request.getTimes().stream().distinct().sorted().toList();
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Schedule> schedules = new ArrayList<>();
+        List<ScheduleBulkResult.Conflict> conflicts = new ArrayList<>();
+        int requested = 0;
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            for (Long tno : tnos) {
+                IntervalTree<String> tree = trees.get(tno);
+                for (LocalTime time : times) {
+                    requested++;
+                    LocalDateTime sdate = date.atTime(time);
+                    if (!sdate.isAfter(now)) {
+                        conflicts.add(new ScheduleBulkResult.Conflict(tno, sdate, "過去の日時です。"));
+                        continue;
+                    }
+                    long start = minutes(sdate);
+                    String overlap = tree.findOverlap(start, start + blockMinutes);
+                    if (overlap != null) {
+                        conflicts.add(new ScheduleBulkResult.Conflict(tno, sdate, overlap));
+                        continue;
+                    }
+                    tree.add(start, start + blockMinutes, "同時に登録する上映回 (" + sdate.format(LABEL) + ") と重複しています。");
+
+                    Schedule schedule = new Schedule();
+                    schedule.setMno(request.getMno());
+                    schedule.setTno(tno);
+                    schedule.setSdate(sdate.format(SDATE));
+                    schedules.add(schedule);
+                }
+            }
+        }
+
+        // 3. 重複しない上映回を1回のステートメントで登録
+        List<Long> created = new ArrayList<>(schedules.size());
+        if (!schedules.isEmpty()) {
+            scheduleMapper.insertSchedules(schedules);
+            schedules.forEach(schedule -> created.add(schedule.getSno()));
+            publishRegistered(created);
+        }
+        log.info(" - Schedules Registered (Bulk): mno={}, requested={}, created={}, conflicts={}",
+                request.getMno(), requested, created.size(), conflicts.size());
+        return new ScheduleBulkResult(requested, created, conflicts);
+    }
+
+    /* [内部メソッド] 一括登録リクエストの検証 */
+    private void validate(ScheduleBulkRequest request) {
+        if (request.getMno() == null || request.getTnos() == null || request.getTnos().isEmpty()
+                || request.getStartDate() == null || request.getEndDate() == null
+                || request.getTimes() == null || request.getTimes().isEmpty()) {
+            throw new IllegalStateException("映画、上映館、期間、上映開始時刻を指定してください。");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalStateException("期間の最終日は初日以降の日付を指定してください。");
+        }
+        if (request.getCleanupMinutes() != null && request.getCleanupMinutes() < 0) {
+            throw new IllegalStateException("清掃時間は0分以上で指定してください。");
+        }
+        long days = request.getEndDate().toEpochDay() - request.getStartDate().toEpochDay() + 1;
+        if (days * request.getTnos().size() * request.getTimes().size() > MAX_BULK_SHOWINGS) {
+            throw new IllegalStateException("一度に登録できる上映回は" + MAX_BULK_SHOWINGS + "件までです。");
+        }
+    }
+
+    /* [内部メソッド] 日時を分単位の数値に変換 (区間木のキー) */
+    private static long minutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /* [内部メソッド] 登録した上映回を読み直してイベントを発行 */
+    private void publishRegistered(List<Long> snos) {
+        List<Map<String, Object>> rows = scheduleMapper.selectShowtimes(snos);
+        List<Showtime> showtimes = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            showtimes.add(Showtime.of(row));
+        }
+        eventPublisher.publishEvent(new ScheduleRegisteredEvent(showtimes));
+    }
+}
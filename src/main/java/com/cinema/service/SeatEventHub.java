@@ -0,0 +1,237 @@
+package com.cinema.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 座席状況のリアルタイム配信ハブ (Server-Sent Events)
+ * 座席選択画面を開いている全ユーザーに対し、予約済み・仮押さえ・解放の差分 (Delta) をプッシュします。
+ *
+ * スケジュール(sno)ごとに1つのチャネルを持ち、イベントは購読者ごとの有限のキューに積まれ、
+ * 共有の配信スレッドプールから購読者ごとに順序を保ったまま送信 (Fan-out) されます。
+ * 送信が遅い購読者は他の購読者の配信を妨げず、キューが満杯になった時点で切断します
+ * (ブラウザの EventSource が再接続し、最新のスナップショットから再開します)。
+ * クライアントごとのDBポーリングは発生しません。
+ ** **/
+@Service
+@Slf4j
+public class SeatEventHub {
+
+    /* イベント種別 */
+    public static final String SNAPSHOT = "snapshot";
+    public static final String BOOKED = "booked";
+    public static final String HELD = "held";
+    public static final String RELEASED = "released";
+
+    /* SSE 接続のタイムアウト (ブラウザの EventSource が自動で再接続します) */
+    private static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    /* 切断検知用のハートビート間隔 */
+    private static final long HEARTBEAT_SECONDS = 25;
+
+    /* 購読者ごとの未送信イベントの上限 (超えた購読者は切断します) */
+    private static final int SUBSCRIBER_QUEUE_CAPACITY = 256;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), daemon("seat-event-dispatch"));
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("seat-event-heartbeat"));
+
+    public SeatEventHub() {
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /*
+     * スケジュールの座席イベントを購読します。
+     * 接続直後に現在の座席状況 (スナップショット) を送信し、以降は差分のみを送信します。
+     * スナップショットはチャネルへの参加後に作成するため、その間に発生した差分も取りこぼしません
+     * (参加後の差分はスナップショットの後に順番に送信されます)。
+     *
+     * @param sno スケジュール番号
+     * @param snapshot 現在の座席状況 (booked: 予約済み座席ラベル, held: 仮押さえ中の座席ラベル) の作成処理
+     * @return SSE エミッター
+     */
+    public SseEmitter subscribe(Long sno, Supplier<Map<String, Object>> snapshot) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        emitter.onCompletion(() -> unsubscribe(sno, emitter));
+        emitter.onTimeout(() -> unsubscribe(sno, emitter));
+        emitter.onError(e -> unsubscribe(sno, emitter));
+
+        // チャネルの生成と購読者の追加を原子的に行います (空チャネルの除去との競合を防止)
+        Subscriber subscriber = new Subscriber(sno, emitter);
+        channels.compute(sno, (key, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            target.subscribers.add(subscriber);
+            return target;
+        });
+
+        try {
+            subscriber.start(SseEmitter.event().name(SNAPSHOT).data(snapshot.get()).build());
+        } catch (RuntimeException e) {
+            unsubscribe(sno, emitter);
+            emitter.completeWithError(e);
+            throw e;
+        }
+        return emitter;
+    }
+
+    /*
+     * 座席の状態変化を購読者全員に通知します。
+     * 送信は配信スレッドで非同期に行われるため、呼び出し元 (予約処理など) はブロックされません。
+     * キューが満杯の購読者 (送信が追いつかない接続) は切断します。
+     *
+     * @param sno スケジュール番号
+     * @param type イベント種別 (booked / held / released)
+     * @param seats 対象の座席ラベル
+     */
+    public void publish(Long sno, String type, List<String> seats) {
+        Channel channel = channels.get(sno);
+        if (channel == null || channel.subscribers.isEmpty() || seats.isEmpty()) {
+            return;
+        }
+        channel.offer(SseEmitter.event().name(type).data(Map.of("seats", seats)).build());
+    }
+
+    /* 現在の購読者数 (全スケジュール合計) */
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(c -> c.subscribers.size()).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        channels.values().forEach(c -> c.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /* [内部メソッド] 購読を解除し、購読者がいなくなったチャネルを除去します */
+    private void unsubscribe(Long sno, SseEmitter emitter) {
+        channels.computeIfPresent(sno, (key, channel) -> {
+            channel.subscribers.removeIf(subscriber -> subscriber.emitter == emitter);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    /* [内部メソッド] 全購読者へハートビート (SSE コメント) を送信し、切断済みの接続を検知します */
+    private void sendHeartbeat() {
+        channels.values().forEach(channel -> channel.offer(SseEmitter.event().comment("ping").build()));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** **
+     * スケジュール単位の配信チャネル (購読者の一覧)
+     ** **/
+    private final class Channel {
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /** **
+     * 購読者 (SSE 接続1件)
+     * 組み立て済みのイベントを有限のキューに積み、配信スレッド上で1件ずつ順番に送信します。
+     * 同一購読者の送信は同時に1スレッドのみが担当するため、イベントの順序が保証されます。
+     * スナップショットが用意されるまでは差分をキューに保持し、スナップショットの送信後に送信します。
+     ** **/
+    private final class Subscriber {
+
+        private final Long sno;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile Set<ResponseBodyEmitter.DataWithMediaType> snapshot;
+        private volatile boolean started;
+
+        private Subscriber(Long sno, SseEmitter emitter) {
+            this.sno = sno;
+            this.emitter = emitter;
+        }
+
+        /* スナップショットを先頭に送信し、配信を開始します */
+        private void start(Set<ResponseBodyEmitter.DataWithMediaType> snapshot) {
+            this.snapshot = snapshot;
+            this.started = true;
+            schedule();
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!queue.offer(event)) {
+                log.info(" - SSE subscriber dropped: too slow (Schedule: {})", sno);
+                unsubscribe(sno, emitter);
+                emitter.complete();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (started && draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // 停止処理中
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    Set<ResponseBodyEmitter.DataWithMediaType> first = snapshot;
+                    if (first != null) {
+                        snapshot = null;
+                        emitter.send(first);
+                    }
+                    Set<ResponseBodyEmitter.DataWithMediaType> event;
+                    while ((event = queue.poll()) != null) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // 切断済みの購読者は配信を終了します (以降は再スケジュールされません)
+                    unsubscribe(sno, emitter);
+                    log.debug(" - SSE subscriber disconnected (Schedule: {})", sno);
+                    return;
+                }
+                draining.set(false);
+                // フラグを下ろした直後に積まれたイベントを取りこぼさないよう再確認します
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cinema.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+/** **
+ * 座席の仮押さえ (Seat Hold)
+ * 座席選択から決済完了までの間、一定時間だけ座席を特定のユーザーに確保しておくための情報です。
+ * 1ユーザーにつき、1スケジュールあたり1件のみ有効です (再取得時は置き換え)。
+ ** **/
+@Getter
+@ToString(exclude = {"seatIndexes", "timeout"})
+public final class SeatHold {
+
+    /* スケジュール番号 */
+    private final Long sno;
+
+    /* 仮押さえしたユーザーID */
+    private final String userid;
+
+    /* 仮押さえした座席ラベル (例: ["A-1", "A-2"]) */
+    private final List<String> seats;
+
+    /* 仮押さえの有効期限 */
+    private final Instant expiresAt;
+
+    /* 座席番号 (SeatMap 上のインデックス) */
+    @Getter(AccessLevel.PACKAGE)
+    private final int[] seatIndexes;
+
+    /* 期限切れ処理のタイマーハンドル */
+    @Getter(AccessLevel.PACKAGE)
+    private volatile HashedWheelTimer.Timeout timeout;
+
+    SeatHold(Long sno, String userid, List<String> seats, int[] seatIndexes, Instant expiresAt) {
+        this.sno = sno;
+        this.userid = userid;
+        this.seats = List.copyOf(seats);
+        this.seatIndexes = seatIndexes;
+        this.expiresAt = expiresAt;
+    }
+
+    /* 有効期限を過ぎているかどうか */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    void setTimeout(HashedWheelTimer.Timeout timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,271 @@
+package com.cinema.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 座席仮押さえサービス (Seat Hold Service)
+ * 座席選択画面から決済までの間、選択された座席を一定時間 (TTL) 仮押さえします。
+ *
+ * 仮押さえはスケジュール(sno)ごとの座席スロット配列 ({@link AtomicReferenceArray}) に
+ * CAS で書き込むロックフリーな構造で保持し、DBには一切アクセスしません。
+ * 期限切れの解放は {@link HashedWheelTimer} が行うため、DBのポーリングも不要です。
+ *
+ * 予約確定時の座席確保 ({@link #claim}) も同じ座席スロットを経由するため、
+ * 同じ座席の仮押さえと予約確定が両方成功することはありません。
+ * スケジュールごとのテーブルは、仮押さえの有効時間を超えて参照がなくなった時点 (上映終了後など) で破棄します。
+ ** **/
+@Service
+@Slf4j
+public class SeatHoldService {
+
+    /* 1回の仮押さえで確保できる最大座席数 */
+    public static final int MAX_HOLD_SEATS = 8;
+
+    private final SeatInventory seatInventory;
+    private final SeatEventHub seatEventHub;
+    private final long ttlSeconds;
+    private final Clock clock;
+    private final HashedWheelTimer timer = new HashedWheelTimer("seat-hold-timer", 1, TimeUnit.SECONDS, 512);
+
+    /* スケジュール番号 -> 仮押さえテーブル (有効な仮押さえがあるテーブルは、有効時間内に必ず参照されています) */
+    private final Cache<Long, HoldTable> tables;
+
+    public SeatHoldService(SeatInventory seatInventory,
+                           SeatEventHub seatEventHub,
+                           Clock clock,
+                           @Value("${cinema.seat-hold.ttl-minutes:5}") long ttlMinutes) {
+        this.seatInventory = seatInventory;
+        this.seatEventHub = seatEventHub;
+        this.clock = clock;
+        this.ttlSeconds = TimeUnit.MINUTES.toSeconds(ttlMinutes);
+        this.tables = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds).plusMinutes(1))
+                .build();
+    }
+
+    /*
+     * 座席を仮押さえします。
+     * 同じユーザーが同じスケジュールで既に仮押さえしている場合は、新しい座席で置き換えます。
+     * 1席でも他のユーザーの仮押さえ中、または予約済みであれば、何も確保せずに例外をスローします。
+     *
+     * @param sno スケジュール番号
+     * @param userid ユーザーID
+     * @param seats 座席ラベル (例: ["A-1", "A-2"])
+     * @return 確保した仮押さえ情報
+     * @throws IllegalStateException 座席が確保できない場合
+     */
+    public SeatHold hold(Long sno, String userid, List<String> seats) {
+        if (seats == null || seats.isEmpty() || seats.size() > MAX_HOLD_SEATS) {
+            throw new IllegalStateException("一度に仮押さえできるのは1〜" + MAX_HOLD_SEATS + "席までです。");
+        }
+        SeatMap seatMap = seatInventory.get(sno);
+        int[] indexes = seatMap.indexesOf(seats);
+        // 表記ゆれ (" A-01" など) を含む入力ではなく、座席番号から作り直した正規のラベルを保持・通知します
+        List<String> labels = Arrays.stream(indexes).mapToObj(seatMap::labelOf).toList();
+        HoldTable table = tables.get(sno, key -> new HoldTable(seatMap.capacity()));
+
+        // 既存の仮押さえは置き換えるため、先に解放します
+        release(sno, userid);
+
+        Instant now = clock.instant();
+        SeatHold hold = new SeatHold(sno, userid, labels, indexes, now.plusSeconds(ttlSeconds));
+
+        // 1. 座席スロットへの CAS 書き込み (空き、または期限切れのスロットのみ上書き可能)
+        for (int i = 0; i < indexes.length; i++) {
+            if (!table.tryAcquire(indexes[i], hold, now)) {
+                table.releaseSlots(hold, indexes, i);
+                log.info(" - Seat Hold Rejected: Held by another user (Schedule: {}, Seat: {})", sno, labels.get(i));
+                throw new IllegalStateException("選択された座席は現在他のお客様が選択中です。別の座席をご選択ください。");
+            }
+        }
+
+        // 2. スロット確保後に予約済みかどうかを確認 (予約確定との競合を防止)
+        for (int index : indexes) {
+            if (seatMap.isBooked(index)) {
+                table.releaseSlots(hold, indexes, indexes.length);
+                log.info(" - Seat Hold Rejected: Already booked (Schedule: {}, Seat: {})", sno, seatMap.labelOf(index));
+                throw new IllegalStateException("誠に恐れ入りますが、選択された座席は既に他のお客様によって予約されております。別の座席をご選択ください。");
+            }
+        }
+
+        // 3. ユーザー単位の登録と期限切れタイマーの設定
+        SeatHold previous = table.byUser.put(userid, hold);
+        if (previous != null) {
+            expire(table, previous);
+        }
+        hold.setTimeout(timer.schedule(() -> expire(table, hold), ttlSeconds, TimeUnit.SECONDS));
+        seatEventHub.publish(sno, SeatEventHub.HELD, hold.getSeats());
+
+        log.info(" - Seat Hold Acquired (Schedule: {}, User: {}, Seats: {}, Expires: {})", sno, userid, labels, hold.getExpiresAt());
+        return hold;
+    }
+
+    /*
+     * ユーザーの仮押さえを解放します (選択取消、予約確定時など)。
+     *
+     * @param sno スケジュール番号
+     * @param userid ユーザーID
+     * @return 解放した仮押さえがあった場合 true
+     */
+    public boolean release(Long sno, String userid) {
+        HoldTable table = tables.getIfPresent(sno);
+        if (table == null) {
+            return false;
+        }
+        SeatHold hold = table.byUser.remove(userid);
+        if (hold == null) {
+            return false;
+        }
+        HashedWheelTimer.Timeout timeout = hold.getTimeout();
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        table.releaseSlots(hold, hold.getSeatIndexes(), hold.getSeatIndexes().length);
+        seatEventHub.publish(sno, SeatEventHub.RELEASED, hold.getSeats());
+        return true;
+    }
+
+    /*
+     * 予約確定のために座席を確保します (座席マップ上で予約済みに変更)。
+     * 仮押さえの座席スロットを「予約処理中」の仮押さえで一時的に占有した上で座席マップを更新するため、
+     * 同じ座席への仮押さえ ({@link #hold}) と同時に実行されても、両方が成功することはありません。
+     * (ご自身の仮押さえ中の座席はそのまま予約へ切り替えます)
+     *
+     * @param sno スケジュール番号
+     * @param seatMap 座席マップ
+     * @param seatIndexes 座席番号
+     * @param userid ユーザーID
+     * @return 確保に成功した場合 true (予約済みの座席が含まれる場合 false)
+     * @throws IllegalStateException 他のお客様が仮押さえ中の座席が含まれる場合
+     */
+    public boolean claim(Long sno, SeatMap seatMap, int[] seatIndexes, String userid) {
+        HoldTable table = tables.get(sno, key -> new HoldTable(seatMap.capacity()));
+        Instant now = clock.instant();
+        SeatHold marker = new SeatHold(sno, userid, List.of(), seatIndexes, now.plusSeconds(ttlSeconds));
+
+        int acquired = 0;
+        try {
+            for (; acquired < seatIndexes.length; acquired++) {
+                if (!table.tryAcquire(seatIndexes[acquired], marker, now)) {
+                    throw new IllegalStateException("選択された座席は現在他のお客様が選択中です。別の座席をご選択ください。");
+                }
+            }
+            return seatMap.tryClaim(seatIndexes);
+        } finally {
+            // 予約処理中の占有を解除し、ご自身の有効な仮押さえの座席は元に戻します (予約のコミット後に解放されます)
+            SeatHold own = table.byUser.get(userid);
+            for (int i = 0; i < acquired; i++) {
+                int index = seatIndexes[i];
+                boolean keep = own != null && !own.isExpired(now) && Arrays.stream(own.getSeatIndexes()).anyMatch(held -> held == index);
+                table.slots.compareAndSet(index, marker, keep ? own : null);
+            }
+        }
+    }
+
+    /*
+     * 他のユーザーが仮押さえ中の座席ラベル一覧を取得します (座席選択画面の表示用)。
+     *
+     * @param sno スケジュール番号
+     * @param userid 自分のユーザーID (null 可)
+     * @return 仮押さえ中の座席ラベル
+     */
+    public List<String> getHeldSeats(Long sno, String userid) {
+        List<String> held = new ArrayList<>();
+        HoldTable table = tables.getIfPresent(sno);
+        if (table == null) {
+            return held;
+        }
+        Instant now = clock.instant();
+        for (SeatHold hold : table.byUser.values()) {
+            if (!hold.isExpired(now) && !hold.getUserid().equals(userid)) {
+                held.addAll(hold.getSeats());
+            }
+        }
+        return held;
+    }
+
+    /*
+     * 他のユーザーが仮押さえ中の座席番号を取得します (おすすめ座席の探索用)。
+     *
+     * @param sno スケジュール番号
+     * @param userid 自分のユーザーID (null 可)
+     * @return 仮押さえ中の座席番号
+     */
+    public int[] getHeldIndexes(Long sno, String userid) {
+        HoldTable table = tables.getIfPresent(sno);
+        if (table == null) {
+            return new int[0];
+        }
+        Instant now = clock.instant();
+        return table.byUser.values().stream()
+                .filter(hold -> !hold.isExpired(now) && !hold.getUserid().equals(userid))
+                .flatMapToInt(hold -> Arrays.stream(hold.getSeatIndexes()))
+                .toArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.close();
+    }
+
+    /* [内部メソッド] 期限切れになった仮押さえを解放します (タイマースレッドから呼び出し) */
+    private void expire(HoldTable table, SeatHold hold) {
+        table.byUser.remove(hold.getUserid(), hold);
+        table.releaseSlots(hold, hold.getSeatIndexes(), hold.getSeatIndexes().length);
+        seatEventHub.publish(hold.getSno(), SeatEventHub.RELEASED, hold.getSeats());
+        log.debug(" - Seat Hold Expired (Schedule: {}, User: {})", hold.getSno(), hold.getUserid());
+    }
+
+    /** **
+     * スケジュール単位の仮押さえテーブル
+     * slots: 座席番号 -> 仮押さえ (CAS で更新)
+     * byUser: ユーザーID -> 仮押さえ
+     ** **/
+    private static final class HoldTable {
+
+        private final AtomicReferenceArray<SeatHold> slots;
+        private final Map<String, SeatHold> byUser = new ConcurrentHashMap<>();
+
+        private HoldTable(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        /* 空き、または期限切れのスロットに限り仮押さえを書き込みます */
+        private boolean tryAcquire(int index, SeatHold hold, Instant now) {
+            while (true) {
+                SeatHold current = slots.get(index);
+                if (current != null && !current.isExpired(now) && !current.getUserid().equals(hold.getUserid())) {
+                    return false;
+                }
+                if (slots.compareAndSet(index, current, hold)) {
+                    return true;
+                }
+            }
+        }
+
+        /* 指定した仮押さえが保持しているスロットのみを解放します (先頭 count 件) */
+        private void releaseSlots(SeatHold hold, int[] indexes, int count) {
+            for (int i = 0; i < count; i++) {
+                slots.compareAndSet(indexes[i], hold, null);
+            }
+        }
+    }
+}
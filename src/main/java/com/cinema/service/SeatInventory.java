@@ -0,0 +1,154 @@
+package com.cinema.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.cinema.mapper.ScheduleMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 座席在庫サービス (Seat Inventory)
+ * 上映スケジュール(sno)ごとの座席占有状態を {@link SeatMap} としてメモリ上に保持します。
+ * 初回アクセス時に座席レイアウト (theater.trow / tcol) と予約済み座席を読み込み (Lazy Load)、
+ * 以降の重複チェックと座席確保はメモリ上で完結させます。
+ * DBは永続化された正式な記録 (Durable Record) として扱います。
+ *
+ * - 座席マップは上映開始から一定時間 (cinema.seat-inventory.retain-minutes) が経過した時点でメモリから破棄します。
+ *   販売締め切り後のため、確保中の座席 (グループコミット待ち) が残っている座席マップは破棄されません。
+ * - 映画の削除 ({@link MovieChangedEvent}) のコミット後に、その映画のスケジュール分を破棄します
+ *   (スケジュールは映画の削除に連動して削除されます)。
+ * - 件数による追い出しは行いません (確保中の座席を失わないため)。
+ ** **/
+@Service
+@Slf4j
+public class SeatInventory {
+
+    private final ScheduleMapper scheduleMapper;
+    private final SeatPageCache seatPageCache;
+    private final Clock clock;
+    private final Duration retainAfterStart;
+
+    private final Cache<Long, Entry> seatMaps;
+
+    public SeatInventory(ScheduleMapper scheduleMapper,
+                         SeatPageCache seatPageCache,
+                         Clock clock,
+                         @Value("${cinema.seat-inventory.retain-minutes:60}") long retainMinutes) {
+        this.scheduleMapper = scheduleMapper;
+        this.seatPageCache = seatPageCache;
+        this.clock = clock;
+        this.retainAfterStart = Duration.ofMinutes(retainMinutes);
+        this.seatMaps = Caffeine.newBuilder()
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long sno, Entry entry, long currentTime) {
+                        return entry.retainNanos(LocalDateTime.now(clock));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long sno, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(sno, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long sno, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /*
+     * スケジュールの座席マップを取得します。
+     * 未ロードの場合はDBから座席レイアウトと予約済み座席を読み込みます。
+     *
+     * @param sno スケジュール番号
+     * @return 座席マップ
+     * @throws IllegalStateException スケジュールが存在しない場合
+     */
+    public SeatMap get(Long sno) {
+        Entry entry = seatMaps.getIfPresent(sno);
+        if (entry != null) {
+            return entry.seatMap();
+        }
+        // DBアクセスはマップのロック外で実行し、先に登録された方を採用します
+        Entry loaded = load(sno);
+        Entry existing = seatMaps.asMap().putIfAbsent(sno, loaded);
+        return existing != null ? existing.seatMap() : loaded.seatMap();
+    }
+
+    /*
+     * ロード済みの座席マップを取得します (未ロードの場合もDBから読み込みません)。
+     * @param sno スケジュール番号
+     * @return 座席マップ (未ロードの場合は null)
+     */
+    public SeatMap peek(Long sno) {
+        Entry entry = seatMaps.getIfPresent(sno);
+        return entry == null ? null : entry.seatMap();
+    }
+
+    /*
+     * メモリ上の座席マップを破棄します。次回アクセス時にDBから再ロードされます。
+     * @param sno スケジュール番号
+     */
+    public void invalidate(Long sno) {
+        seatMaps.invalidate(sno);
+    }
+
+    /*
+     * 映画の削除を受けて、その映画のスケジュールの座席マップを破棄します (コミット後)。
+     * @param event 映画情報の変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.movie() != null) {
+            return;
+        }
+        int before = seatMaps.asMap().size();
+        seatMaps.asMap().values().removeIf(entry -> entry.mno() == event.mno());
+        log.info(" - Seat maps invalidated: movie {} deleted ({} schedule(s))", event.mno(), before - seatMaps.asMap().size());
+    }
+
+    /* [内部メソッド] DBから座席マップを構築 */
+    private Entry load(Long sno) {
+        // 座席レイアウトは座席選択画面の表示情報キャッシュから取得します
+        SeatPageInfo info = seatPageCache.get(sno);
+        int rows = info.getTrow();
+        int cols = info.getTcol();
+        SeatMap seatMap = new SeatMap(rows, cols);
+
+        // reservation_seat から1座席ずつ予約済みとして反映します
+        for (String label : scheduleMapper.selectBookedSeats(sno)) {
+            int index = seatMap.indexOf(label);
+            if (index >= 0) {
+                seatMap.markBooked(index);
+            } else {
+                log.warn(" * Unknown seat label ignored (Schedule: {}, Seat: {})", sno, label);
+            }
+        }
+
+        log.info(" - Seat map loaded (Schedule: {}, Layout: {}x{}, Booked: {})", sno, rows, cols, seatMap.bookedCount());
+        return new Entry(seatMap, info.getMno(), info.getSdate().plus(retainAfterStart));
+    }
+
+    /** **
+     * 座席マップとその破棄時刻 (上映開始 + 保持時間)
+     ** **/
+    private record Entry(SeatMap seatMap, long mno, LocalDateTime evictAt) {
+
+        /* 破棄までの時間 (上映開始から保持時間が経過済みの場合も、再読み込みの繰り返しを避けるため最低1分保持します) */
+        long retainNanos(LocalDateTime now) {
+            Duration remaining = Duration.between(now, evictAt);
+            return Math.max(remaining.toNanos(), Duration.ofMinutes(1).toNanos());
+        }
+    }
+}
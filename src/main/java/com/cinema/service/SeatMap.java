@@ -0,0 +1,236 @@
+package com.cinema.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** **
+ * 座席占有ビットマップ (Seat Occupancy Bitmap)
+ * 1つの上映スケジュール(sno)に対する座席の予約状態を、1座席 = 1ビットで保持します。
+ * ビット列は行(row)単位で 64bit ワード境界に揃えて配置しており、
+ * 行ごとのワード演算(空席ブロック探索など)にもそのまま利用できます。
+ *
+ * 座席番号(index)は「行 * 列数 + 列」で表す 0 始まりの通し番号です。
+ * 画面上の座席ラベル ("A-1" = A行1列) との相互変換も本クラスが担当します。
+ ** **/
+public final class SeatMap {
+
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /* 予約済み座席数 (ビットの立っている数) */
+    private int bookedCount;
+
+    /*
+     * コンストラクタ
+     * @param rows 行数 (theater.trow)
+     * @param cols 列数 (theater.tcol)
+     */
+    public SeatMap(int rows, int cols) {
+        if (rows <= 0 || rows > 26 || cols <= 0) {
+            throw new IllegalArgumentException("不正な座席レイアウトです: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.words = new long[rows * wordsPerRow];
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /* 全座席数 */
+    public int capacity() {
+        return rows * cols;
+    }
+
+    /* 予約済み座席数 */
+    public synchronized int bookedCount() {
+        return bookedCount;
+    }
+
+    /*
+     * 座席ラベル ("A-1") を座席番号に変換します。
+     * 形式不正やレイアウト範囲外の場合は -1 を返します。
+     *
+     * @param label 座席ラベル
+     * @return 座席番号 (0 始まり) または -1
+     */
+    public int indexOf(String label) {
+        if (label == null) {
+            return -1;
+        }
+        String s = label.trim();
+        if (s.length() < 3 || s.charAt(1) != '-') {
+            return -1;
+        }
+        int row = s.charAt(0) - 'A';
+        int col = 0;
+        for (int i = 2; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9' || col > cols) {
+                return -1;
+            }
+            col = col * 10 + (c - '0');
+        }
+        if (row < 0 || row >= rows || col < 1 || col > cols) {
+            return -1;
+        }
+        return row * cols + (col - 1);
+    }
+
+    /*
+     * 座席ラベルのリストを座席番号の配列に変換します。
+     * 不正なラベルや重複指定が含まれる場合は例外をスローします。
+     *
+     * @param labels 座席ラベル (例: ["A-1", "A-2"])
+     * @return 座席番号の配列
+     * @throws IllegalStateException 無効な座席、または重複指定がある場合
+     */
+    public int[] indexesOf(List<String> labels) {
+        int[] indexes = new int[labels.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            int index = indexOf(labels.get(i));
+            if (index < 0) {
+                throw new IllegalStateException("無効な座席が指定されました: " + labels.get(i));
+            }
+            for (int j = 0; j < i; j++) {
+                if (indexes[j] == index) {
+                    throw new IllegalStateException("同じ座席が重複して指定されています: " + labels.get(i));
+                }
+            }
+            indexes[i] = index;
+        }
+        return indexes;
+    }
+
+    /*
+     * 座席番号を座席ラベル ("A-1") に変換します。
+     * @param index 座席番号
+     * @return 座席ラベル
+     */
+    public String labelOf(int index) {
+        return rowOf(index) + "-" + colOf(index);
+    }
+
+    /* 座席番号 -> 行ラベル (A, B, C ...) */
+    public char rowOf(int index) {
+        return (char) ('A' + index / cols);
+    }
+
+    /* 座席番号 -> 列番号 (1 始まり) */
+    public int colOf(int index) {
+        return index % cols + 1;
+    }
+
+    /*
+     * 指定座席が予約済みかどうかを判定します。
+     * @param index 座席番号
+     */
+    public synchronized boolean isBooked(int index) {
+        int bit = bitOf(index);
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /*
+     * 要求された座席がすべて空席であれば、まとめて予約済みに変更します (All or Nothing)。
+     * 1席でも予約済みの座席が含まれている場合は何も変更せず false を返します。
+     * 計算量は要求座席数に比例します (O(seats requested))。
+     *
+     * @param indexes 座席番号の配列
+     * @return 確保に成功した場合 true
+     */
+    public synchronized boolean tryClaim(int[] indexes) {
+        for (int index : indexes) {
+            int bit = bitOf(index);
+            if ((words[bit >>> 6] & (1L << bit)) != 0) {
+                return false;
+            }
+        }
+        for (int index : indexes) {
+            set(index);
+        }
+        return true;
+    }
+
+    /*
+     * 確保済みの座席を空席に戻します (ロールバック・キャンセル時)。
+     * @param indexes 座席番号の配列
+     */
+    public synchronized void release(int[] indexes) {
+        for (int index : indexes) {
+            int bit = bitOf(index);
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) != 0) {
+                words[bit >>> 6] &= ~mask;
+                bookedCount--;
+            }
+        }
+    }
+
+    /*
+     * DBからのロード時に、予約済み座席を1席ずつ反映します。
+     * @param index 座席番号
+     */
+    synchronized void markBooked(int index) {
+        set(index);
+    }
+
+    /*
+     * 予約済み座席のラベル一覧を取得します (座席状況のスナップショット用)。
+     * @return 予約済み座席ラベル (行・列の昇順)
+     */
+    public synchronized List<String> bookedLabels() {
+        List<String> labels = new ArrayList<>(bookedCount);
+        for (int row = 0; row < rows; row++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = words[row * wordsPerRow + w];
+                while (word != 0) {
+                    int col = (w << 6) + Long.numberOfTrailingZeros(word);
+                    labels.add(labelOf(row * cols + col));
+                    word &= word - 1;
+                }
+            }
+        }
+        return labels;
+    }
+
+    /*
+     * 占有ワード列全体のコピーを取得します (空席ブロック探索用)。
+     * 行 r の列 c は、ワード (r * wordsPerRow + (c >>> 6)) のビット (c & 63) に対応します。
+     *
+     * @return 占有ワード列のスナップショット
+     */
+    public synchronized long[] snapshotWords() {
+        return words.clone();
+    }
+
+    private void set(int index) {
+        int bit = bitOf(index);
+        long mask = 1L << bit;
+        if ((words[bit >>> 6] & mask) == 0) {
+            words[bit >>> 6] |= mask;
+            bookedCount++;
+        }
+    }
+
+    /* 座席番号 -> 行境界に揃えたビット位置 */
+    private int bitOf(int index) {
+        if (index < 0 || index >= rows * cols) {
+            throw new IndexOutOfBoundsException("座席番号が範囲外です: " + index);
+        }
+        int row = index / cols;
+        int col = index % cols;
+        return (row * wordsPerRow << 6) + col;
+    }
+}
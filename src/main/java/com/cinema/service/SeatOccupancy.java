@@ -0,0 +1,82 @@
+package com.cinema.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Service;
+
+import com.cinema.mapper.ScheduleMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 座席の予約状況カウンター (Seat Occupancy)
+ * 上映スケジュール(sno)ごとの予約済み座席数をアトミックなカウンターとしてメモリ上に保持し、
+ * 上映スケジュール一覧の残席数・満席表示に使用します (1リクエストごとの COUNT は行いません)。
+ *
+ * - 初回アクセス時に、今後の全スケジュール分を1回の集計 (selectBookedSeatCounts) で構築します。
+ * - 予約のコミット後に {@link ReservationGroupCommitter} が座席数を加算します。
+ * - 座席マップ ({@link SeatInventory}) がメモリ上にあるスケジュールは、座席マップの予約済み座席数を返却します
+ *   (座席マップは座席の確保と同時に更新されるため、カウンターとのずれや加算の取りこぼしがありません)。
+ *
+ * 表示用の値であり、予約の可否は座席マップで判定します。
+ ** **/
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatOccupancy {
+
+    private final ScheduleMapper scheduleMapper;
+    private final SeatInventory seatInventory;
+    private final Clock clock;
+
+    private final Map<Long, AtomicInteger> bookedCounts = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /*
+     * 予約済み座席数を取得します。
+     * @param sno スケジュール番号
+     * @return 予約済み座席数
+     */
+    public int booked(long sno) {
+        SeatMap seatMap = seatInventory.peek(sno);
+        if (seatMap != null) {
+            return seatMap.bookedCount();
+        }
+        if (!loaded) {
+            load();
+        }
+        AtomicInteger count = bookedCounts.get(sno);
+        return count == null ? 0 : count.get();
+    }
+
+    /*
+     * 予約のコミット後に予約済み座席数を加算します。
+     * 未ロードの場合、コミット済みの予約はロード時の集計に含まれるため加算しません。
+     *
+     * @param sno スケジュール番号
+     * @param seats 予約した座席数
+     */
+    public void addBooked(long sno, int seats) {
+        if (loaded) {
+            bookedCounts.computeIfAbsent(sno, key -> new AtomicInteger()).addAndGet(seats);
+        }
+    }
+
+    /* [内部メソッド] 今後のスケジュールの予約済み座席数を1回の集計で読み込み */
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        for (Map<String, Object> row : scheduleMapper.selectBookedSeatCounts(LocalDateTime.now(clock))) {
+            long sno = ((Number) row.get("sno")).longValue();
+            bookedCounts.put(sno, new AtomicInteger(((Number) row.get("booked")).intValue()));
+        }
+        loaded = true;
+        log.info(" - Seat occupancy loaded ({} schedule(s) with bookings)", bookedCounts.size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.cinema.service;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.cinema.mapper.ScheduleMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 座席選択画面の表示情報キャッシュ (Seat Page Cache)
+ * スケジュール(sno)ごとの {@link SeatPageInfo} を、件数上限付きのキャッシュ (Caffeine) に保持します。
+ * 座席選択画面・座席マップ・料金算出のたびに行っていた3テーブルの結合 (selectScheduleDetail) は、
+ * スケジュールごとに初回の1回のみとなります。
+ *
+ * 映画情報の修正・削除 ({@link MovieChangedEvent}) のコミット後に、その映画のスケジュール分を破棄します。
+ * (上映スケジュールには修正・削除の経路がないため、スケジュール単位の破棄はありません)
+ * ヒット率・追い出し件数は {@link #stats()} で管理者 API から参照できます。
+ ** **/
+@Service
+@Slf4j
+public class SeatPageCache {
+
+    private final ScheduleMapper scheduleMapper;
+    private final Cache<Long, SeatPageInfo> cache;
+
+    public SeatPageCache(ScheduleMapper scheduleMapper,
+                         @Value("${cinema.seat-page-cache.max-size:5000}") long maxSize) {
+        this.scheduleMapper = scheduleMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /*
+     * 座席選択画面の表示情報を取得します (未キャッシュの場合はDBから読み込み)。
+     * @param sno スケジュール番号
+     * @return 座席選択画面の表示情報
+     * @throws IllegalStateException スケジュールが存在しない場合
+     */
+    public SeatPageInfo get(Long sno) {
+        SeatPageInfo info = cache.get(sno, key -> {
+            Map<String, Object> detail = scheduleMapper.selectScheduleDetail(key);
+            return detail == null ? null : SeatPageInfo.of(detail);
+        });
+        if (info == null) {
+            throw new IllegalStateException("指定された上映スケジュールが存在しません。");
+        }
+        return info;
+    }
+
+    /*
+     * 映画情報の変更 (タイトル・ポスター・上映時間の修正、削除) を受けて、その映画のスケジュール分を破棄します。
+     * @param event 映画情報の変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        int before = cache.asMap().size();
+        cache.asMap().values().removeIf(info -> info.getMno().equals(event.mno()));
+        log.info(" - Seat page cache invalidated: movie {} ({} entries)", event.mno(), before - cache.asMap().size());
+    }
+
+    /*
+     * キャッシュの統計情報を取得します。
+     * @return size, hitCount, missCount, hitRate, evictionCount, loadFailureCount
+     */
+    public Map<String, Object> stats() {
+        return CacheStatsView.of(cache);
+    }
+}
@@ -0,0 +1,67 @@
+package com.cinema.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/** **
+ * 座席選択画面の表示情報 (不変)
+ * スケジュール作成後に変化しない情報 (上映館の座席レイアウト、映画情報、上映日時) と、
+ * それを基に事前に組み立てた座席グリッドの情報 (行ラベル、座席数) を保持します。
+ * 予約状況など変動する情報は含みません。
+ ** **/
+@Getter
+@ToString
+public final class SeatPageInfo {
+
+    private final Long sno;
+    private final Long mno;
+    private final Long tno;
+    private final String tname;
+    private final int trow;
+    private final int tcol;
+    private final String title;
+    private final String poster;
+    private final Integer runtime;
+    private final LocalDateTime sdate;
+
+    /* 座席グリッド: 行ラベル (A 行から順) と総座席数 */
+    private final List<String> rowLabels;
+    private final int capacity;
+
+    private SeatPageInfo(Map<String, Object> detail) {
+        this.sno = ((Number) detail.get("sno")).longValue();
+        this.mno = ((Number) detail.get("mno")).longValue();
+        this.tno = ((Number) detail.get("tno")).longValue();
+        this.tname = (String) detail.get("tname");
+        this.trow = ((Number) detail.get("trow")).intValue();
+        this.tcol = ((Number) detail.get("tcol")).intValue();
+        this.title = (String) detail.get("title");
+        this.poster = (String) detail.get("poster");
+        Object runtime = detail.get("runtime");
+        this.runtime = runtime == null ? null : ((Number) runtime).intValue();
+        Object sdate = detail.get("sdate");
+        this.sdate = sdate instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) sdate;
+
+        List<String> labels = new ArrayList<>(trow);
+        for (int row = 0; row < trow; row++) {
+            labels.add(String.valueOf((char) ('A' + row)));
+        }
+        this.rowLabels = List.copyOf(labels);
+        this.capacity = trow * tcol;
+    }
+
+    /*
+     * ScheduleMapper.selectScheduleDetail の結果から生成します。
+     * @param detail スケジュール詳細 (sno, mno, sdate, tno, tname, trow, tcol, title, poster, runtime)
+     * @return 座席選択画面の表示情報
+     */
+    public static SeatPageInfo of(Map<String, Object> detail) {
+        return new SeatPageInfo(detail);
+    }
+}
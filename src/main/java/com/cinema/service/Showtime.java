@@ -0,0 +1,51 @@
+package com.cinema.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/** **
+ * 上映回 (上映時間表の1エントリ)
+ * ScheduleMapper.selectUpcomingShowtimes / selectShowtimes の1行から生成する不変オブジェクトです。
+ * 残席数は変動するため保持せず、API の応答の1行 {@link #row(int)} を組み立てる際に受け取ります。
+ *
+ * @param sno スケジュール番号
+ * @param mno 映画番号
+ * @param tno 上映館番号
+ * @param theaterName 上映館名
+ * @param start 上映開始日時
+ * @param startTime 上映開始時刻 (HH:mm)
+ * @param totalSeats 上映館の総座席数
+ * @param title 映画タイトル
+ * @param poster ポスター画像のファイル名
+ * @param runtime 上映時間 (分)
+ ** **/
+public record Showtime(long sno, long mno, long tno, String theaterName, LocalDateTime start, String startTime,
+                       int totalSeats, String title, String poster, Integer runtime) {
+
+    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
+
+    /*
+     * マッパーの結果の1行から上映回を生成します。
+     * @param row selectUpcomingShowtimes の1行
+     * @return 上映回
+     */
+    public static Showtime of(Map<String, Object> row) {
+        LocalDateTime start = (LocalDateTime) row.get("sdate");
+        Object runtime = row.get("runtime");
+        return new Showtime(((Number) row.get("sno")).longValue(), ((Number) row.get("mno")).longValue(),
+                ((Number) row.get("tno")).longValue(), (String) row.get("theater_name"), start, start.format(HH_MM),
+                ((Number) row.get("total_seats")).intValue(), (String) row.get("title"), (String) row.get("poster"),
+                runtime == null ? null : ((Number) runtime).intValue());
+    }
+
+    /*
+     * API の応答 (上映スケジュール) の1行を組み立てます。
+     * @param remainingSeats 残席数
+     * @return sno, start_time, tno, theater_name, total_seats, remaining_seats, sold_out
+     */
+    public Map<String, Object> row(int remainingSeats) {
+        return Map.of("sno", sno, "start_time", startTime, "tno", tno, "theater_name", theaterName,
+                "total_seats", totalSeats, "remaining_seats", remainingSeats, "sold_out", remainingSeats <= 0);
+    }
+}
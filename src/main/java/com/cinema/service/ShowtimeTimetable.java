@@ -0,0 +1,304 @@
+package com.cinema.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.cinema.domain.Movie;
+import com.cinema.mapper.ScheduleMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 上映時間表 (Showtime Timetable)
+ * 今後の全ての上映回を、映画 → 上映日 → 開始時刻の順に整列した不変の構造としてメモリ上に保持し、
+ * 予約画面の映画・日付・上映スケジュールの検索をDBアクセスなしで処理します。
+ *
+ * - 初回アクセス時に1回の検索 (selectUpcomingShowtimes) で構築します (Lazy Load)。
+ * - スケジュールの登録はコミット後に {@link ScheduleRegisteredEvent} で差分を反映し、
+ *   映画の修正・削除 ({@link MovieChangedEvent}) の場合は次回アクセス時に再構築します。
+ * - 開始済みの上映回は検索時の基準時刻で除外し、日付が変わった時点で過去の日付をメモリから取り除きます。
+ * - DBを直接変更した場合に備え、一定時間 (cinema.timetable.reload-minutes) ごとに再構築します。
+ *
+ * 読み取りはロックなし (volatile の参照を1回読むだけ) で、更新は新しい構造を作成して参照を差し替えます。
+ ** **/
+@Service
+@Slf4j
+public class ShowtimeTimetable {
+
+    private final ScheduleMapper scheduleMapper;
+    private final Clock clock;
+    private final Duration reloadInterval;
+
+    /* 現在の上映時間表 (null = 未ロードまたは再構築が必要) */
+    private volatile Snapshot snapshot;
+
+    public ShowtimeTimetable(ScheduleMapper scheduleMapper, Clock clock,
+                             @Value("${cinema.timetable.reload-minutes:60}") long reloadMinutes) {
+        this.scheduleMapper = scheduleMapper;
+        this.clock = clock;
+        this.reloadInterval = Duration.ofMinutes(reloadMinutes);
+    }
+
+    /*
+     * 基準時刻より後に開始する上映回がある映画のリストを取得します (映画タイトル順)。
+     * @param from 上映開始時刻の下限
+     * @return 映画リスト (mno, title, poster, runtime)
+     */
+    public List<Movie> movies(LocalDateTime from) {
+        List<Movie> movies = new ArrayList<>();
+        for (MovieTimetable timetable : current().movies) {
+            if (timetable.lastStart.isAfter(from)) {
+                movies.add(timetable.movie);
+            }
+        }
+        return movies;
+    }
+
+    /*
+     * 映画の上映日のうち、基準時刻より後に開始する上映回がある日付のリストを取得します。
+     * @param mno 映画番号
+     * @param from 上映開始時刻の下限
+     * @return 上映日のリスト (例: "2026-02-21")
+     */
+    public List<String> dates(Long mno, LocalDateTime from) {
+        MovieTimetable timetable = current().byMno.get(mno);
+        if (timetable == null) {
+            return List.of();
+        }
+        List<String> dates = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<Showtime>> day : timetable.days.tailMap(from.toLocalDate(), true).entrySet()) {
+            List<Showtime> showtimes = day.getValue();
+            if (showtimes.get(showtimes.size() - 1).start().isAfter(from)) {
+                dates.add(day.getKey().toString());
+            }
+        }
+        return dates;
+    }
+
+    /*
+     * 映画と上映日を指定して、基準時刻より後に開始する上映回を取得します (開始時刻順)。
+     * @param mno 映画番号
+     * @param sdate 上映日
+     * @param from 上映開始時刻の下限
+     * @return 上映回のリスト
+     */
+    public List<Showtime> showtimes(Long mno, LocalDate sdate, LocalDateTime from) {
+        MovieTimetable timetable = current().byMno.get(mno);
+        List<Showtime> showtimes = timetable == null ? null : timetable.days.get(sdate);
+        if (showtimes == null) {
+            return List.of();
+        }
+        return showtimes.subList(firstAfter(showtimes, from), showtimes.size());
+    }
+
+    /*
+     * 登録されたスケジュールを上映時間表へ反映します (登録トランザクションのコミット後)。
+     * 上映時間表にない映画の上映回が含まれる場合は、次回アクセス時に再構築します。
+     * @param event スケジュール登録イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onScheduleRegistered(ScheduleRegisteredEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        snapshot = current.with(event.showtimes());
+        log.info(" - Timetable Updated: {} showtime(s) added", event.showtimes().size());
+    }
+
+    /*
+     * 映画情報の変更 (タイトル・ポスターの修正、削除) を受けて、上映時間表を破棄します。
+     * 次回アクセス時にDBから再構築されます。
+     * @param event 映画情報の変更イベント
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        snapshot = null;
+        log.info(" - Timetable Invalidated: movie {} changed", event.mno());
+    }
+
+    /* [内部メソッド] 現在の上映時間表を取得 (未ロード・期限切れの場合は構築、日付が変わった場合は過去分を除去) */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (current != null && now.isBefore(current.reloadAt) && !now.toLocalDate().isAfter(current.today)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || !now.isBefore(current.reloadAt)) {
+                current = load(now);
+            } else if (now.toLocalDate().isAfter(current.today)) {
+                current = current.prune(now.toLocalDate());
+            }
+            snapshot = current;
+            return current;
+        }
+    }
+
+    /* [内部メソッド] DBから上映時間表を構築 */
+    private Snapshot load(LocalDateTime now) {
+        List<Map<String, Object>> rows = scheduleMapper.selectUpcomingShowtimes(now);
+        List<Showtime> showtimes = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            showtimes.add(Showtime.of(row));
+        }
+        log.info(" - Timetable Loaded: {} showtime(s)", showtimes.size());
+        return Snapshot.build(showtimes, now.toLocalDate(), now.plus(reloadInterval));
+    }
+
+    /* [内部メソッド] 開始時刻順のリストで、基準時刻より後に開始する最初の位置 (二分探索) */
+    private static int firstAfter(List<Showtime> showtimes, LocalDateTime from) {
+        int low = 0;
+        int high = showtimes.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (showtimes.get(mid).start().isAfter(from)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /** **
+     * 上映時間表のある時点の状態 (不変)
+     ** **/
+    private static final class Snapshot {
+
+        /* 映画タイトル順 */
+        private final List<MovieTimetable> movies;
+        private final Map<Long, MovieTimetable> byMno;
+        /* この日より前の上映日は保持しません */
+        private final LocalDate today;
+        /* DBから再構築する時刻 */
+        private final LocalDateTime reloadAt;
+
+        private Snapshot(List<MovieTimetable> movies, LocalDate today, LocalDateTime reloadAt) {
+            this.movies = List.copyOf(movies);
+            Map<Long, MovieTimetable> byMno = new HashMap<>();
+            for (MovieTimetable timetable : movies) {
+                byMno.put(timetable.movie.getMno(), timetable);
+            }
+            this.byMno = Map.copyOf(byMno);
+            this.today = today;
+            this.reloadAt = reloadAt;
+        }
+
+        /* 映画タイトル順・開始時刻順の上映回から構築します */
+        static Snapshot build(List<Showtime> showtimes, LocalDate today, LocalDateTime reloadAt) {
+            Map<Long, List<Showtime>> byMovie = new LinkedHashMap<>();
+            for (Showtime showtime : showtimes) {
+                byMovie.computeIfAbsent(showtime.mno(), mno -> new ArrayList<>()).add(showtime);
+            }
+            List<MovieTimetable> movies = new ArrayList<>(byMovie.size());
+            for (List<Showtime> movieShowtimes : byMovie.values()) {
+                movies.add(MovieTimetable.of(movieShowtimes));
+            }
+            return new Snapshot(movies, today, reloadAt);
+        }
+
+        /* 上映回を追加した上映時間表 (未知の映画が含まれる場合は null = 再構築) */
+        Snapshot with(List<Showtime> added) {
+            Map<Long, List<Showtime>> addedByMovie = new HashMap<>();
+            for (Showtime showtime : added) {
+                if (!byMno.containsKey(showtime.mno())) {
+                    return null;
+                }
+                addedByMovie.computeIfAbsent(showtime.mno(), mno -> new ArrayList<>()).add(showtime);
+            }
+            List<MovieTimetable> updated = new ArrayList<>(movies.size());
+            for (MovieTimetable timetable : movies) {
+                List<Showtime> movieAdded = addedByMovie.get(timetable.movie.getMno());
+                updated.add(movieAdded == null ? timetable : timetable.with(movieAdded));
+            }
+            return new Snapshot(updated, today, reloadAt);
+        }
+
+        /* 指定日より前の上映日を取り除いた上映時間表 */
+        Snapshot prune(LocalDate newToday) {
+            List<MovieTimetable> pruned = new ArrayList<>(movies.size());
+            for (MovieTimetable timetable : movies) {
+                NavigableMap<LocalDate, List<Showtime>> days = timetable.days.tailMap(newToday, true);
+                if (days.size() == timetable.days.size()) {
+                    pruned.add(timetable);
+                } else if (!days.isEmpty()) {
+                    pruned.add(new MovieTimetable(timetable.movie, new TreeMap<>(days)));
+                }
+            }
+            return new Snapshot(pruned, newToday, reloadAt);
+        }
+    }
+
+    /** **
+     * 1作品分の上映時間表 (不変)
+     ** **/
+    private static final class MovieTimetable {
+
+        private static final Comparator<Showtime> BY_START =
+                Comparator.comparing(Showtime::start).thenComparingLong(Showtime::sno);
+
+        /* 予約画面用の映画情報 (mno, title, poster, runtime) */
+        private final Movie movie;
+        /* 上映日 → 上映回 (開始時刻順) */
+        private final NavigableMap<LocalDate, List<Showtime>> days;
+        /* 最終上映回の開始時刻 */
+        private final LocalDateTime lastStart;
+
+        private MovieTimetable(Movie movie, TreeMap<LocalDate, List<Showtime>> days) {
+            this.movie = movie;
+            this.days = Collections.unmodifiableNavigableMap(days);
+            List<Showtime> lastDay = days.lastEntry().getValue();
+            this.lastStart = lastDay.get(lastDay.size() - 1).start();
+        }
+
+        /* 開始時刻順の上映回から構築します */
+        static MovieTimetable of(List<Showtime> showtimes) {
+            Showtime first = showtimes.get(0);
+            Movie movie = Movie.builder()
+                    .mno(first.mno())
+                    .title(first.title())
+                    .poster(first.poster())
+                    .runtime(first.runtime())
+                    .build();
+            TreeMap<LocalDate, List<Showtime>> days = new TreeMap<>();
+            for (Showtime showtime : showtimes) {
+                days.computeIfAbsent(showtime.start().toLocalDate(), date -> new ArrayList<>()).add(showtime);
+            }
+            days.replaceAll((date, list) -> List.copyOf(list));
+            return new MovieTimetable(movie, days);
+        }
+
+        /* 上映回を追加した上映時間表 (登録済みの sno は重複して追加しません) */
+        MovieTimetable with(List<Showtime> added) {
+            TreeMap<LocalDate, List<Showtime>> updated = new TreeMap<>(days);
+            for (Showtime showtime : added) {
+                LocalDate date = showtime.start().toLocalDate();
+                List<Showtime> list = new ArrayList<>(updated.getOrDefault(date, List.of()));
+                if (list.stream().anyMatch(existing -> existing.sno() == showtime.sno())) {
+                    continue;
+                }
+                list.add(showtime);
+                list.sort(BY_START);
+                updated.put(date, List.copyOf(list));
+            }
+            return new MovieTimetable(movie, updated);
+        }
+    }
+}
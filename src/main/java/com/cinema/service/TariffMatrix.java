@@ -0,0 +1,171 @@
+package com.cinema.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/** **
+ * 料金マトリクス (Immutable Tariff Matrix)
+ * 料金表・座席クラス・会員等級を、予約時に配列参照だけで引ける形へ事前展開した不変オブジェクトです。
+ *
+ *   rowPrices[tno][曜日区分][行]  : 1席あたりの料金 (座席クラスを行単位で解決済み)
+ *   discountRates[mgrade]         : 会員等級の割引率
+ *   pointRates[mgrade]            : 会員等級のポイント積立率
+ *
+ * 料金表に登録のない上映館・座席クラス (V3 の適用後に追加された上映館など) は、既定の料金 (座席クラスごと) で計算します。
+ * 料金・等級が変更された場合は、新しいインスタンスを丸ごと構築して差し替えます (Copy-on-Write)。
+ ** **/
+public final class TariffMatrix {
+
+    /* 曜日区分 */
+    public enum DayType {
+        WEEKDAY, WEEKEND;
+
+        public static DayType of(LocalDate date) {
+            DayOfWeek day = date.getDayOfWeek();
+            return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? WEEKEND : WEEKDAY;
+        }
+    }
+
+    /* 座席クラス (seat_class_row に登録のない行は STANDARD) */
+    public enum SeatClass {
+        STANDARD, PREMIUM
+    }
+
+    /* 会員等級の既定値 (member_cinema.mgrade の DEFAULT。等級が未設定の会員に適用) */
+    public static final int BASE_GRADE = 1;
+
+    /* 行ラベルの最大数 (A-Z) */
+    private static final int MAX_ROWS = 26;
+
+    private final int[][][] rowPrices;
+    private final int[][] defaultRowPrices;
+    private final double[] discountRates;
+    private final double[] pointRates;
+
+    private TariffMatrix(int[][][] rowPrices, int[][] defaultRowPrices, double[] discountRates, double[] pointRates) {
+        this.rowPrices = rowPrices;
+        this.defaultRowPrices = defaultRowPrices;
+        this.discountRates = discountRates;
+        this.pointRates = pointRates;
+    }
+
+    /*
+     * DBから取得した料金表・座席クラス・会員等級から料金マトリクスを構築します。
+     *
+     * @param tariffs ticket_tariff (tno, day_type, seat_class, price)
+     * @param seatClassRows seat_class_row (tno, seat_row, seat_class)
+     * @param grades member_grade (mgrade, point_rate, discount_rate)
+     * @param defaultPrices 料金表に登録のない場合の既定の料金 (座席クラスの順。0 = 未設定)
+     * @return 料金マトリクス
+     */
+    public static TariffMatrix build(List<Map<String, Object>> tariffs,
+                                     List<Map<String, Object>> seatClassRows,
+                                     List<Map<String, Object>> grades,
+                                     int[] defaultPrices) {
+        int maxTno = 0;
+        for (Map<String, Object> tariff : tariffs) {
+            maxTno = Math.max(maxTno, intOf(tariff, "tno"));
+        }
+        for (Map<String, Object> seatClassRow : seatClassRows) {
+            maxTno = Math.max(maxTno, intOf(seatClassRow, "tno"));
+        }
+
+        // 1. 上映館 x 曜日区分 x 座席クラス の料金 (未登録の組み合わせは既定の料金)
+        int dayTypes = DayType.values().length;
+        int seatClasses = SeatClass.values().length;
+        int[][][] classPrices = new int[maxTno + 1][dayTypes][seatClasses];
+        for (int[][] dayPrices : classPrices) {
+            for (int[] prices : dayPrices) {
+                for (int seatClass = 0; seatClass < seatClasses && seatClass < defaultPrices.length; seatClass++) {
+                    prices[seatClass] = defaultPrices[seatClass];
+                }
+            }
+        }
+        for (Map<String, Object> tariff : tariffs) {
+            int tno = intOf(tariff, "tno");
+            DayType dayType = DayType.valueOf((String) tariff.get("day_type"));
+            SeatClass seatClass = SeatClass.valueOf((String) tariff.get("seat_class"));
+            classPrices[tno][dayType.ordinal()][seatClass.ordinal()] = intOf(tariff, "price");
+        }
+
+        // 2. 上映館ごとの行 -> 座席クラス
+        SeatClass[][] rowClasses = new SeatClass[maxTno + 1][MAX_ROWS];
+        for (Map<String, Object> seatClassRow : seatClassRows) {
+            int tno = intOf(seatClassRow, "tno");
+            int row = ((String) seatClassRow.get("seat_row")).charAt(0) - 'A';
+            if (row >= 0 && row < MAX_ROWS) {
+                rowClasses[tno][row] = SeatClass.valueOf((String) seatClassRow.get("seat_class"));
+            }
+        }
+
+        // 3. 座席クラスを行単位に展開 (予約時は [tno][曜日区分][行] の参照のみ)
+        int[][][] rowPrices = new int[maxTno + 1][dayTypes][MAX_ROWS];
+        for (int tno = 0; tno <= maxTno; tno++) {
+            for (int day = 0; day < dayTypes; day++) {
+                for (int row = 0; row < MAX_ROWS; row++) {
+                    SeatClass seatClass = rowClasses[tno][row] != null ? rowClasses[tno][row] : SeatClass.STANDARD;
+                    rowPrices[tno][day][row] = classPrices[tno][day][seatClass.ordinal()];
+                }
+            }
+        }
+
+        // 4. 会員等級 -> 割引率・積立率
+        int maxGrade = 0;
+        for (Map<String, Object> grade : grades) {
+            maxGrade = Math.max(maxGrade, intOf(grade, "mgrade"));
+        }
+        double[] discountRates = new double[maxGrade + 1];
+        double[] pointRates = new double[maxGrade + 1];
+        for (Map<String, Object> grade : grades) {
+            int mgrade = intOf(grade, "mgrade");
+            discountRates[mgrade] = doubleOf(grade, "discount_rate");
+            pointRates[mgrade] = doubleOf(grade, "point_rate");
+        }
+
+        // 5. 料金表・座席クラスのどちらにも登録のない上映館 (全行 STANDARD の既定の料金)
+        int standardPrice = defaultPrices.length > 0 ? defaultPrices[SeatClass.STANDARD.ordinal()] : 0;
+        int[][] defaultRowPrices = new int[dayTypes][MAX_ROWS];
+        for (int[] prices : defaultRowPrices) {
+            Arrays.fill(prices, standardPrice);
+        }
+
+        return new TariffMatrix(rowPrices, defaultRowPrices, discountRates, pointRates);
+    }
+
+    /*
+     * 上映館・曜日区分に対応する、行ごとの1席あたりの料金を取得します。
+     * 返却される配列は共有のため、変更してはいけません。
+     *
+     * @param tno 上映館番号
+     * @param dayType 曜日区分
+     * @return 行 (0 = A行) ごとの料金 (0 = 未設定。料金表に登録のない上映館は既定の料金)
+     */
+    int[] rowPrices(int tno, DayType dayType) {
+        if (tno < 0 || tno >= rowPrices.length) {
+            return defaultRowPrices[dayType.ordinal()];
+        }
+        return rowPrices[tno][dayType.ordinal()];
+    }
+
+    /* 会員等級の割引率 (未登録の等級は 0) */
+    public double discountRate(int mgrade) {
+        return mgrade >= 0 && mgrade < discountRates.length ? discountRates[mgrade] : 0;
+    }
+
+    /* 会員等級のポイント積立率 (未登録の等級は 0) */
+    public double pointRate(int mgrade) {
+        return mgrade >= 0 && mgrade < pointRates.length ? pointRates[mgrade] : 0;
+    }
+
+    private static int intOf(Map<String, Object> row, String key) {
+        return ((Number) row.get(key)).intValue();
+    }
+
+    private static double doubleOf(Map<String, Object> row, String key) {
+        Object value = row.get(key);
+        return value != null ? ((Number) value).doubleValue() : 0;
+    }
+}
@@ -1,19 +1,19 @@
 package com.cinema.service;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.cinema.domain.Movie;
-import com.cinema.mapper.MemberMapper;
-import com.cinema.mapper.ReservationMapper;
 import com.cinema.mapper.ScheduleMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -29,141 +29,196 @@ import lombok.extern.slf4j.Slf4j;
 public class TicketService {
 
     private final ScheduleMapper scheduleMapper;
-    private final ReservationMapper reservationMapper;
-    private final MemberMapper memberMapper;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final ReservationGroupCommitter groupCommitter;
+    private final BookingLanes bookingLanes;
+    private final PricingEngine pricingEngine;
+    private final BookingWindow bookingWindow;
+    private final ShowtimeTimetable timetable;
+    private final SeatOccupancy seatOccupancy;
+    private final SeatPageCache seatPageCache;
 
+    /*
+     * 予約可能な映画リストを取得します。
+     * 販売締め切り (上映開始の一定時間前) を過ぎたスケジュールしかない映画は含まれません。
+     * 映画・日付・上映スケジュールの検索は、上映時間表 ({@link ShowtimeTimetable}) からDBアクセスなしで行います。
+     */
     public List<Movie> getAvailableMovies() {
-        return scheduleMapper.selectAvailableMovies();
+        return timetable.movies(bookingWindow.salesOpenAfter());
     }
 
     /*
      * 予約可能な日付リストを取得します。
-     * 本日の場合、現在時刻から10分以上残っているスケジュールが一つもなければ、日付リストから除外します。
+     * 販売締め切りの基準時刻より後に開始するスケジュールが1つもない日付 (本日の最終回が間近な場合など) は含まれません。
      *
      * @param mno 映画番号
-     * @return フィルタリングされた日付リスト
+     * @return 予約可能な日付リスト
      */
     public List<String> getAvailableDates(Long mno) {
-        List<String> allDates = scheduleMapper.selectAvailableDates(mno);
-        String todayStr = LocalDate.now().toString(); // "yyyy-MM-dd"
-
-        return allDates.stream().filter(date -> {
-            if (date.equals(todayStr)) {
-                // 本日のスケジュールをすべて取得して検証
-                List<Map<String, Object>> todaySchedules = scheduleMapper.selectSchedulesByDate(mno, date);
-                LocalTime limitTime = LocalTime.now().plusMinutes(10);
-
-                // 10分後以降に開始するスケジュールが1つでもあれば表示
-                return todaySchedules.stream().anyMatch(s -> {
-                    LocalTime startTime = LocalTime.parse((String) s.get("start_time"), DateTimeFormatter.ofPattern("HH:mm"));
-                    return startTime.isAfter(limitTime);
-                });
-            }
-            return true; // 明日以降の日付はそのまま表示
-        }).collect(Collectors.toList());
+        return timetable.dates(mno, bookingWindow.salesOpenAfter());
     }
 
     /*
      * 特定の映画と日付の上映スケジュールを取得します。
-     * 現在時刻から10分以内のスケジュールは除外して返却します。
+     * 販売締め切りを過ぎたスケジュールは除外して返却します。
+     * 各上映回の残席数・満席フラグは、予約状況カウンター ({@link SeatOccupancy}) から算出します。
      *
      * @param mno 映画番号
-     * @param sdate 上映日 (yyyy-MM-dd)
-     * @return フィルタリングされたスケジュールリスト
+     * @param sdate 上映日
+     * @return 予約可能なスケジュールリスト
+     */
+    public List<Map<String, Object>> getSchedules(Long mno, LocalDate sdate) {
+        return scheduleRows(mno, sdate, bookingWindow.salesOpenAfter());
+    }
+
+    /*
+     * 予約画面の初期表示に必要なデータ (映画リスト、選択した映画の日付リスト、選択した日付の上映スケジュール) を
+     * まとめて取得します。映画・日付・上映スケジュールを順に取得する3回の通信を1回にまとめるためのものです。
+     * 販売締め切りの基準時刻は1回だけ算出し、3つの検索で共通に使用します。
+     *
+     * @param mno 映画番号 (null の場合は映画リストのみ)
+     * @param sdate 上映日 (null の場合は選択した映画の最初の上映日)
+     * @return movies, mno, dates, sdate, showtimes
      */
-    public List<Map<String, Object>> getSchedules(Long mno, String sdate) {
-        List<Map<String, Object>> allSchedules = scheduleMapper.selectSchedulesByDate(mno, sdate);
-        
-        LocalDate today = LocalDate.now();
-        LocalDate selectedDate = LocalDate.parse(sdate);
-
-        // 選択された日が今日ではない場合は全リストを返却
-        if (!selectedDate.isEqual(today)) {
-            return allSchedules;
+    public Map<String, Object> getBootstrap(Long mno, LocalDate sdate) {
+        LocalDateTime from = bookingWindow.salesOpenAfter();
+
+        // 映画リストは予約画面で使用する項目のみに絞ります
+        List<Map<String, Object>> movies = new ArrayList<>();
+        for (Movie movie : timetable.movies(from)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("mno", movie.getMno());
+            item.put("title", movie.getTitle());
+            item.put("runtime", movie.getRuntime());
+            movies.add(item);
         }
 
-        // 今日である場合、現在時刻 + 10分以降のスケジュールのみフィルタリング
-        LocalTime limitTime = LocalTime.now().plusMinutes(10);
+        List<String> dates = mno == null ? List.of() : timetable.dates(mno, from);
+        LocalDate chosen = sdate != null || dates.isEmpty() ? sdate : LocalDate.parse(dates.get(0));
 
-        return allSchedules.stream().filter(s -> {
-            LocalTime startTime = LocalTime.parse((String) s.get("start_time"), DateTimeFormatter.ofPattern("HH:mm"));
-            return startTime.isAfter(limitTime);
-        }).collect(Collectors.toList());
+        Map<String, Object> bootstrap = new LinkedHashMap<>();
+        bootstrap.put("movies", movies);
+        bootstrap.put("mno", mno);
+        bootstrap.put("dates", dates);
+        bootstrap.put("sdate", chosen == null ? null : chosen.toString());
+        bootstrap.put("showtimes", mno == null || chosen == null ? List.of() : scheduleRows(mno, chosen, from));
+        return bootstrap;
+    }
+
+    /* [内部メソッド] 上映スケジュールの応答行 (残席数・満席フラグ付き) を生成 */
+    private List<Map<String, Object>> scheduleRows(Long mno, LocalDate sdate, LocalDateTime from) {
+        List<Showtime> showtimes = timetable.showtimes(mno, sdate, from);
+        List<Map<String, Object>> rows = new ArrayList<>(showtimes.size());
+        for (Showtime showtime : showtimes) {
+            int remaining = Math.max(0, showtime.totalSeats() - seatOccupancy.booked(showtime.sno()));
+            rows.add(showtime.row(remaining));
+        }
+        return rows;
     }
     
-    public Map<String, Object> getScheduleDetail(Long sno) {
-        return scheduleMapper.selectScheduleDetail(sno);
+    /*
+     * 座席選択画面の表示情報 (上映館の座席レイアウト、映画情報、上映日時) を取得します。
+     * スケジュール作成後に変化しない情報のため、キャッシュ ({@link SeatPageCache}) から取得します。
+     *
+     * @param sno スケジュール番号
+     * @return 座席選択画面の表示情報
+     * @throws IllegalStateException スケジュールが存在しない場合
+     */
+    public SeatPageInfo getScheduleDetail(Long sno) {
+        return seatPageCache.get(sno);
     }
 
+    /*
+     * 予約済み座席のリストを取得します。
+     * 変動する予約状況は、メモリ上の座席マップ ({@link SeatInventory}) から都度生成します。
+     *
+     * @param sno スケジュール番号
+     * @return 予約済み座席のリスト (例: ["A-1", "B-2"])
+     */
     public List<String> getBookedSeats(Long sno) {
-        return scheduleMapper.selectBookedSeats(sno);
+        return seatInventory.get(sno).bookedLabels();
+    }
+
+    /*
+     * 指定枚数の連続した空席から、おすすめの座席ブロックを探索します。
+     * 予約済みに加え、他のお客様が仮押さえ中の座席も除外します。
+     *
+     * @param sno スケジュール番号
+     * @param count 枚数
+     * @param userid ユーザーID (null 可。自分の仮押さえは選択可能として扱います)
+     * @return 座席ラベル (左から順)。条件に合うブロックがない場合は空リスト
+     */
+    public List<String> findBestSeats(Long sno, int count, String userid) {
+        if (count < 1 || count > SeatHoldService.MAX_HOLD_SEATS) {
+            throw new IllegalStateException("一度に選択できるのは1〜" + SeatHoldService.MAX_HOLD_SEATS + "席までです。");
+        }
+        SeatMap seatMap = seatInventory.get(sno);
+        int[] seats = BestSeatFinder.find(seatMap, seatHoldService.getHeldIndexes(sno, userid), count);
+        return Arrays.stream(seats).mapToObj(seatMap::labelOf).collect(Collectors.toList());
     }
     
     /*
-     * 予約決済のトランザクション処理を実行します。
-     * 予約テーブル（reservation）における座席の重複チェックおよび悲観的ロックを行い、
-     * ポイント決済と予約登録を一連のプロセスとして管理します。
+     * 予約決済を実行します。
+     * 座席の重複チェックと確保はメモリ上の座席マップ ({@link SeatInventory}) で行い、
+     * 料金は料金エンジン ({@link PricingEngine}) によりサーバー側で算出し、
+     * ポイント決済と予約登録はグループコミット ({@link ReservationGroupCommitter}) により
+     * 同時に到着した他の予約とまとめて1つのトランザクションで書き込みます。
+     * 書き込みが失敗した場合、確保した座席は自動的に解放されます。
      * * @param sno スケジュール番号
      * @param seatInfo 座席情報 (例: "E-10,E-11")
-     * @param price 金額
      * @param userid ユーザーID
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void processReservation(Long sno, String seatInfo, int price, String userid) {
-        log.info(" - Transaction Start: Conflict Check & Point Payment (User: {})", userid);
+    public void processReservation(Long sno, String seatInfo, String userid) {
+        log.info(" - Reservation Start: Conflict Check & Point Payment (User: {})", userid);
 
-        try {
-            // 0. 座席情報のパースおよび重複予約の検証（排他制御）
-            // seatInfoをリストに変換し、既存の予約データとの競合を確認します。
-            List<String> seatList = Arrays.asList(seatInfo.split(","));
-
-            // SELECT ... FOR UPDATE を用いて、該当スケジュールの予約状況をロック状態で照会します。
-            // 既に同一の座席が登録されている場合、その件数を取得します。
-            int conflictCount = reservationMapper.checkExistingReservationForUpdate(sno, seatList);
-            
-            // 競合する予約が1件以上存在する場合、重複と判断し例外をスローします。
-            if (conflictCount > 0) {
-                log.warn(" - Transaction Failed: Seat already taken (Schedule: {}, Seat: {})", sno, seatInfo);
-                throw new IllegalStateException("誠に恐れ入りますが、選択された座席は既に他のお客様によって予約されております。別の座席をご選択ください。");
-            }
-
-            // 1. 現在の保有ポイントの確認
-            int currentPoint = memberMapper.selectCurrentPoint(userid);
-            
-            // 2. ポイント残高の検証
-            if (currentPoint < price) {
-                log.warn(" - Transaction Failed: Insufficient points (User: {}, Required: {})", userid, price);
-                throw new IllegalStateException("ポイントが不足しています。");
-            }
+        // 予約レーン有効時は、座席の確保までをスケジュール単位のレーンで直列に実行します
+        CompletableFuture<Void> result = bookingLanes.call(sno, () -> submitReservation(sno, seatInfo, userid));
 
-            // 3. ポイントの減算処理および履歴の記録
-            memberMapper.updateMemberPoint(userid, -price);
-            memberMapper.insertPointHistory(userid, -price, "映画チケット決済");
-
-            // 4. 予約情報の新規登録
-            // 取得したsno, userid, seatInfo, priceを基に、status='PAID'としてデータを挿入します。
-            // ※ 別途のseatsテーブルがないため、この登録が座席占有を意味します。
-            reservationMapper.insertReservation(sno, userid, seatInfo, price);
-            
-            // 5. 会員ランクに応じたポイント還元（リワード）
-            double pointRate = memberMapper.selectPointRate(userid);
-            int earnedPoints = (int) (price * pointRate);
-            
-            if (earnedPoints > 0) {
-                memberMapper.updateMemberPoint(userid, earnedPoints);
-                memberMapper.insertPointHistory(userid, earnedPoints, "チケット決済に伴うリワード積立");
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            // 書き込み結果の例外 (重複、残高不足、システムエラー) をそのまま上位へ通知します
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-            
-            log.info(" - Transaction Success: Reservation Completed. Paid: {} P, Earned: {} P", price, earnedPoints);
+            throw e;
+        }
+    }
 
+    /*
+     * [内部メソッド] 座席を検証・確保し、予約をグループコミットの待ち行列へ登録します。
+     *
+     * @return 書き込み完了時に完了する Future
+     */
+    private CompletableFuture<Void> submitReservation(Long sno, String seatInfo, String userid) {
+        // 0. 座席情報のパースおよび重複予約の検証（排他制御）
+        // seatInfoを座席番号に変換し、メモリ上の座席マップで空席確認と確保を同時に行います。
+        List<String> seatList = Arrays.asList(seatInfo.split(","));
+        SeatMap seatMap = seatInventory.get(sno);
+        int[] seatIndexes = seatMap.indexesOf(seatList);
+
+        // 座席ごとの料金 (上映館 x 曜日区分 x 座席クラス) をメモリ上の料金マトリクスから算出します。
+        // 会員等級の割引は、書き込み時にロックした会員情報を基に適用されます。
+        int basePrice = pricingEngine.basePrice(sno, seatMap, seatIndexes);
+
+        // 他のお客様が仮押さえ中、または既に確保されている座席は、DBに問い合わせることなく即座に失敗させます。
+        // 仮押さえの確認と座席の確保は、仮押さえの座席スロット上で一体として行います。
+        // (ご自身の仮押さえはそのまま予約へ切り替えます)
+        boolean claimed;
+        try {
+            claimed = seatHoldService.claim(sno, seatMap, seatIndexes, userid);
         } catch (IllegalStateException e) {
-            // ビジネスロジック上の例外（重複、残高不足）はそのままスローし、上位へ通知します。
+            log.warn(" - Reservation Failed: Seat held by another user (Schedule: {}, Seat: {})", sno, seatInfo);
             throw e;
-        } catch (Exception e) {
-            // 予期せぬDBエラーなどのシステム例外発生時、ログを記録しロールバックを誘導します。
-            log.error(" * Transaction Failed: Critical DB Error -> Rollback", e);
-            throw new RuntimeException("システムエラーが発生しました。処理を中断します。", e);
         }
+        if (!claimed) {
+            log.warn(" - Reservation Failed: Seat already taken (Schedule: {}, Seat: {})", sno, seatInfo);
+            throw new IllegalStateException("誠に恐れ入りますが、選択された座席は既に他のお客様によって予約されております。別の座席をご選択ください。");
+        }
+
+        // 1. ポイント決済・予約登録・リワード積立は、グループコミットでまとめて書き込みます
+        return groupCommitter.submit(new PendingBooking(sno, userid, basePrice, seatMap, seatIndexes));
     }
     
 }
\ No newline at end of file
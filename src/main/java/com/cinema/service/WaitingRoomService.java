@@ -0,0 +1,235 @@
+package com.cinema.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/** **
+ * 待合室サービス (Virtual Waiting Room)
+ * チケット販売開始直後などのアクセス集中時に、予約画面 (/ticket/**) へ同時に入場できる人数を制限します。
+ *
+ * 入場待ちのユーザーには署名付きの整理券 (HMAC-SHA256) を発行し、待ち順位と推定待ち時間を
+ * 軽量なポーリングAPIで通知します。入場枠はスコープ単位で管理します。
+ *   - "site"           : サイト全体 (スケジュール未選択の画面)
+ *   - "schedule-{sno}" : スケジュール単位 (座席選択・決済)
+ * 整理券のクッキーはサイト全体用とスケジュール用の2つのみです。スケジュール用のクッキーは
+ * 最後に選択したスケジュールの整理券を保持し、別のスケジュールに移った時点で前の入場枠を返却します。
+ * 待ち行列の状態は {@link QueueStore} に保持します。
+ ** **/
+@Service
+@Slf4j
+public class WaitingRoomService {
+
+    public static final String SITE_SCOPE = "site";
+
+    private static final String SCHEDULE_SCOPE_PREFIX = "schedule-";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final QueueStore queueStore;
+    private final boolean enabled;
+    private final int maxActive;
+    private final int maxActivePerSchedule;
+    private final long activeTtlMillis;
+    private final SecretKeySpec signingKey;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    public WaitingRoomService(QueueStore queueStore,
+                              @Value("${cinema.waiting-room.enabled:true}") boolean enabled,
+                              @Value("${cinema.waiting-room.max-active:200}") int maxActive,
+                              @Value("${cinema.waiting-room.max-active-per-schedule:100}") int maxActivePerSchedule,
+                              @Value("${cinema.waiting-room.active-ttl-minutes:10}") long activeTtlMinutes,
+                              @Value("${cinema.waiting-room.secret:}") String secret) {
+        this.queueStore = queueStore;
+        this.enabled = enabled;
+        this.maxActive = maxActive;
+        this.maxActivePerSchedule = maxActivePerSchedule;
+        this.activeTtlMillis = activeTtlMinutes * 60_000;
+
+        // 複数ノードで整理券を共有する場合は、全ノードで同じ secret を設定してください
+        byte[] key;
+        if (secret.isBlank()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * リクエストのスコープを決定します。
+     * スケジュール単位の入場制限が有効で、sno が指定されている場合はスケジュール単位となります。
+     *
+     * @param sno スケジュール番号パラメータ (null 可)
+     * @return スコープ
+     */
+    public String scopeOf(String sno) {
+        if (maxActivePerSchedule > 0 && sno != null && !sno.isEmpty() && sno.chars().allMatch(Character::isDigit)) {
+            return SCHEDULE_SCOPE_PREFIX + sno;
+        }
+        return SITE_SCOPE;
+    }
+
+    /* スコープの整理券クッキー名 (スケジュール単位のスコープは全スケジュールで1つのクッキーを共有します) */
+    public String cookieName(String scope) {
+        return scope.startsWith(SCHEDULE_SCOPE_PREFIX) ? "CINEMA_QUEUE_SCHEDULE" : "CINEMA_QUEUE_SITE";
+    }
+
+    /*
+     * 入場を判定します。有効な整理券を持っていない場合は、新しく待ち行列に並ばせます。
+     *
+     * @param scope スコープ
+     * @param userid ユーザーID
+     * @param token 提示された整理券 (null 可)
+     * @return 入場判定の結果 (新しい整理券を発行した場合は token が変わります)
+     */
+    public Admission admit(String scope, String userid, String token) {
+        long ticket = verify(scope, userid, token);
+        if (ticket > 0) {
+            QueueStatus status = queueStore.poll(scope, ticket, capacityOf(scope), clock.instant());
+            if (status.state() != QueueStatus.State.UNKNOWN) {
+                return new Admission(scope, ticket, token, status);
+            }
+        }
+
+        // 別のスケジュールの整理券 (同じクッキーを上書きするもの) は、入場枠を返却します
+        Lease previous = parse(userid, token);
+        if (previous != null && !previous.scope().equals(scope)) {
+            queueStore.leave(previous.scope(), previous.ticket());
+        }
+
+        // 整理券がない、または期限切れの場合は最後尾に並びます
+        ticket = queueStore.join(scope, userid, clock.instant());
+        QueueStatus status = queueStore.poll(scope, ticket, capacityOf(scope), clock.instant());
+        log.debug(" - Waiting Room: Ticket Issued (Scope: {}, User: {}, Ticket: {}, State: {})", scope, userid, ticket, status.state());
+        return new Admission(scope, ticket, sign(scope, userid, ticket), status);
+    }
+
+    /*
+     * 整理券の現在の状態を取得します (待合室画面のポーリング用)。
+     *
+     * @param scope スコープ
+     * @param userid ユーザーID
+     * @param token 整理券
+     * @return 整理券の状態 (不正・期限切れの場合は UNKNOWN)
+     */
+    public QueueStatus status(String scope, String userid, String token) {
+        long ticket = verify(scope, userid, token);
+        if (ticket <= 0) {
+            return QueueStatus.unknown();
+        }
+        return queueStore.poll(scope, ticket, capacityOf(scope), clock.instant());
+    }
+
+    /*
+     * ユーザーが保持している全スコープ (サイト全体・スケジュール) の入場枠を返却します (予約完了時)。
+     * @param userid ユーザーID
+     */
+    public void leaveAll(String userid) {
+        queueStore.leaveAll(userid);
+    }
+
+    /*
+     * 推定待ち時間 (秒) を算出します。
+     * 入場間隔の実績があればそれを、なければ入場枠の有効期限から見積もります。
+     *
+     * @param scope スコープ
+     * @param status 整理券の状態
+     * @return 推定待ち時間 (秒)
+     */
+    public long estimatedWaitSeconds(String scope, QueueStatus status) {
+        if (status.isAdmitted()) {
+            return 0;
+        }
+        long interval = status.admitIntervalMillis() > 0
+                ? status.admitIntervalMillis()
+                : activeTtlMillis / Math.max(1, capacityOf(scope));
+        return Math.max(1, status.position() * interval / 1000);
+    }
+
+    private int capacityOf(String scope) {
+        return SITE_SCOPE.equals(scope) ? maxActive : maxActivePerSchedule;
+    }
+
+    /* [内部メソッド] 整理券を発行します: base64url(scope|userid|ticket).base64url(HMAC) */
+    private String sign(String scope, String userid, long ticket) {
+        byte[] payload = (scope + "|" + userid + "|" + ticket).getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(hmac(payload));
+    }
+
+    /* [内部メソッド] 整理券を検証し、整理券番号を返します (不正な場合・スコープが異なる場合は 0) */
+    private long verify(String scope, String userid, String token) {
+        Lease lease = parse(userid, token);
+        return lease != null && lease.scope().equals(scope) ? lease.ticket() : 0;
+    }
+
+    /* [内部メソッド] 整理券の署名とユーザーを検証し、スコープと整理券番号を返します (不正な場合は null) */
+    private Lease parse(String userid, String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(token.substring(0, dot));
+            byte[] signature = decoder.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, hmac(payload))) {
+                return null;
+            }
+            // scope|userid|ticket (ユーザーIDに区切り文字が含まれても、scope と ticket には含まれません)
+            String value = new String(payload, StandardCharsets.UTF_8);
+            int first = value.indexOf('|');
+            int last = value.lastIndexOf('|');
+            if (first <= 0 || last <= first || !value.substring(first + 1, last).equals(userid)) {
+                return null;
+            }
+            long ticket = Long.parseLong(value.substring(last + 1));
+            return ticket > 0 ? new Lease(value.substring(0, first), ticket) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] hmac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** **
+     * 入場判定の結果
+     * @param scope スコープ
+     * @param ticket 整理券番号
+     * @param token 整理券 (クッキーに保存する値)
+     * @param status 整理券の状態
+     ** **/
+    public record Admission(String scope, long ticket, String token, QueueStatus status) {
+    }
+
+    private record Lease(String scope, long ticket) {
+    }
+}
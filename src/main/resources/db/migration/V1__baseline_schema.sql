@@ -0,0 +1,109 @@
+-- --------------------------------------------------------
+-- V1: 初期スキーマ (PROJECT_JSL-Cinema-Boot.sql のテーブル定義)
+-- 前提: 空のデータベース
+--
+-- 空のデータベースで起動した場合は、Flyway がこのスクリプトから順番に適用します。
+-- PROJECT_JSL-Cinema-Boot.sql で構築済みの既存データベースは V1 としてベースライン登録されるため、
+-- このスクリプトは実行されません (spring.flyway.baseline-on-migrate)。
+-- サンプルデータ (上映館・映画・スケジュール・管理者) は含みません。必要な場合は
+-- PROJECT_JSL-Cinema-Boot.sql の初期データ部分を流してください。
+-- テーブル定義を変更する場合は、このファイルではなく新しいバージョンのスクリプトを追加してください。
+-- --------------------------------------------------------
+
+-- 1. 会員等級 (Member Grade)
+CREATE TABLE IF NOT EXISTS member_grade (
+    mgrade INT PRIMARY KEY,
+    grade_name VARCHAR(20) NOT NULL COMMENT '등급명 (Member, VIP...)',
+    point_rate DECIMAL(3, 2) DEFAULT 0.01 COMMENT '포인트 적립율',
+    discount_rate DECIMAL(3, 2) DEFAULT 0 COMMENT '할인율'
+);
+
+-- 2. 会員 (Member)
+CREATE TABLE IF NOT EXISTS member_cinema (
+    id INT AUTO_INCREMENT PRIMARY KEY COMMENT '내부 관리용 PK',
+    userid VARCHAR(50) NOT NULL UNIQUE COMMENT '로그인 ID',
+    password VARCHAR(100) NOT NULL COMMENT 'BCrypt 암호화 비번',
+    name VARCHAR(20) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    phone VARCHAR(20),
+    point INT DEFAULT 0,
+    mgrade INT DEFAULT 1 COMMENT 'FK: member_grade',
+    role VARCHAR(20) DEFAULT 'ROLE_USER' COMMENT 'Security 권한 (ROLE_USER, ROLE_ADMIN)',
+    enabled TINYINT(1) DEFAULT 1 COMMENT '계정 활성 여부 (1:활성, 0:탈퇴/정지)',
+    regdate DATETIME DEFAULT NOW(),
+    deldate DATETIME DEFAULT NULL,
+    FOREIGN KEY (mgrade) REFERENCES member_grade(mgrade)
+);
+
+-- 3. ポイント履歴 (Point History)
+CREATE TABLE IF NOT EXISTS point_history (
+    pno INT AUTO_INCREMENT PRIMARY KEY,
+    userid VARCHAR(50) NOT NULL,
+    amount INT NOT NULL COMMENT '양수:충전/적립, 음수:사용',
+    description VARCHAR(100) COMMENT '내용',
+    regdate DATETIME DEFAULT NOW(),
+    FOREIGN KEY (userid) REFERENCES member_cinema(userid) ON DELETE CASCADE
+);
+
+-- 4. 映画 (Movie)
+CREATE TABLE IF NOT EXISTS movie (
+    mno INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    content TEXT COMMENT 'Oracle VARCHAR2(4000) -> MySQL TEXT',
+    poster VARCHAR(500) DEFAULT 'default.jpg',
+    runtime INT COMMENT '상영시간(분)',
+    opendate DATE,
+    catchphrase VARCHAR(500),
+    regdate DATETIME DEFAULT NOW()
+);
+
+-- 5. 上映館 (Theater)
+CREATE TABLE IF NOT EXISTS theater (
+    tno INT AUTO_INCREMENT PRIMARY KEY,
+    tname VARCHAR(50) NOT NULL,
+    trow INT NOT NULL,
+    tcol INT NOT NULL,
+    total_seats INT NOT NULL
+);
+
+-- 6. 上映スケジュール (Schedule)
+CREATE TABLE IF NOT EXISTS schedule (
+    sno INT AUTO_INCREMENT PRIMARY KEY,
+    mno INT NOT NULL,
+    tno INT NOT NULL,
+    sdate DATETIME NOT NULL COMMENT '상영 시작 시간',
+    FOREIGN KEY (mno) REFERENCES movie(mno) ON DELETE CASCADE,
+    FOREIGN KEY (tno) REFERENCES theater(tno) ON DELETE CASCADE
+);
+
+-- 7. 予約 (Reservation)
+CREATE TABLE IF NOT EXISTS reservation (
+    rno INT AUTO_INCREMENT PRIMARY KEY,
+    sno INT NOT NULL,
+    userid VARCHAR(50) NOT NULL,
+    seat_info VARCHAR(20) NOT NULL COMMENT '좌석번호 (예: A-1)',
+    price INT NOT NULL,
+    status VARCHAR(20) DEFAULT 'PAID' COMMENT 'PAID(결제), CANCEL(취소)',
+    rdate DATETIME DEFAULT NOW(),
+    FOREIGN KEY (sno) REFERENCES schedule(sno) ON DELETE CASCADE,
+    FOREIGN KEY (userid) REFERENCES member_cinema(userid) ON DELETE CASCADE
+);
+
+-- 8. レビュー (Review)
+CREATE TABLE IF NOT EXISTS review (
+    rev_no INT AUTO_INCREMENT PRIMARY KEY,
+    mno INT NOT NULL,
+    userid VARCHAR(50) NOT NULL,
+    star INT DEFAULT 5 COMMENT '1~5点の星評価',
+    comments VARCHAR(1000),
+    regdate DATETIME DEFAULT NOW(),
+    FOREIGN KEY (mno) REFERENCES movie(mno) ON DELETE CASCADE,
+    FOREIGN KEY (userid) REFERENCES member_cinema(userid) ON DELETE CASCADE
+);
+
+-- 会員等級 (会員登録時の既定の等級 mgrade = 1 が外部キーで参照するため、スキーマと一緒に登録します)
+INSERT IGNORE INTO member_grade VALUES (1, 'Member', 0.01, 0);
+INSERT IGNORE INTO member_grade VALUES (2, 'VIP', 0.03, 0.05);
+INSERT IGNORE INTO member_grade VALUES (3, 'VVIP', 0.05, 0.1);
+INSERT IGNORE INTO member_grade VALUES (4, 'MVP', 0.1, 0.15);
+INSERT IGNORE INTO member_grade VALUES (0, 'Admin', 0, 0);
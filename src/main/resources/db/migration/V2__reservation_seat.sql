@@ -0,0 +1,48 @@
+-- --------------------------------------------------------
+-- V2: 座席単位の予約テーブル (reservation_seat) への正規化
+-- 前提: V1 (または PROJECT_JSL-Cinema-Boot.sql) 適用済みのデータベース
+--
+-- 1予約 = 1行 (seat_info にカンマ区切りで複数座席) の形式から、
+-- 1座席 = 1行の形式へ移行します。(sno, seat_row, seat_col) のユニーク制約により、
+-- 二重予約は FOR UPDATE による検索ではなく INSERT 時点でDBが拒否します。
+-- ※ 予約を取り消す場合は、該当予約の reservation_seat 行を削除して座席を解放します。
+-- --------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS reservation_seat (
+    rno INT NOT NULL COMMENT 'FK: reservation',
+    sno INT NOT NULL COMMENT 'FK: schedule',
+    seat_row CHAR(1) NOT NULL COMMENT '座席の行 (A, B, C ...)',
+    seat_col SMALLINT NOT NULL COMMENT '座席の列 (1 始まり)',
+    PRIMARY KEY (rno, seat_row, seat_col),
+    UNIQUE KEY uk_reservation_seat (sno, seat_row, seat_col),
+    FOREIGN KEY (rno) REFERENCES reservation(rno) ON DELETE CASCADE,
+    FOREIGN KEY (sno) REFERENCES schedule(sno) ON DELETE CASCADE
+);
+
+-- 既存の seat_info ("A-1,A-2") を1座席1行に分解して移行します。
+-- 取消済み (CANCEL) の予約は座席を占有しないため対象外とし、
+-- 旧ロジックで既に重複していた座席は INSERT IGNORE により先着の1件のみ残します。
+INSERT IGNORE INTO reservation_seat (rno, sno, seat_row, seat_col)
+WITH RECURSIVE seat_split AS (
+    SELECT rno,
+           sno,
+           TRIM(SUBSTRING_INDEX(seat_info, ',', 1)) AS seat,
+           SUBSTRING(seat_info, LENGTH(SUBSTRING_INDEX(seat_info, ',', 1)) + 2) AS rest
+    FROM reservation
+    WHERE status != 'CANCEL'
+      AND seat_info IS NOT NULL
+    UNION ALL
+    SELECT rno,
+           sno,
+           TRIM(SUBSTRING_INDEX(rest, ',', 1)),
+           SUBSTRING(rest, LENGTH(SUBSTRING_INDEX(rest, ',', 1)) + 2)
+    FROM seat_split
+    WHERE rest <> ''
+)
+SELECT rno, sno, LEFT(seat, 1), CAST(SUBSTRING(seat, 3) AS UNSIGNED)
+FROM seat_split
+WHERE seat REGEXP '^[A-Z]-[0-9]+$';
+
+-- seat_info は旧データ参照用に残し、新規予約では使用しません (NULL 許可に変更)
+ALTER TABLE reservation
+    MODIFY seat_info VARCHAR(20) NULL COMMENT '旧形式の座席情報 (reservation_seat へ移行済み)';
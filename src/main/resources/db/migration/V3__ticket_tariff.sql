@@ -0,0 +1,40 @@
+-- --------------------------------------------------------
+-- V3: チケット料金表 (ticket_tariff) と座席クラス (seat_class_row)
+-- 前提: V2 適用済みのデータベース
+--
+-- 料金はブラウザから受け取らず、サーバー側で以下の組み合わせから算出します。
+--   上映館 (tno) x 曜日区分 (WEEKDAY / WEEKEND) x 座席クラス (STANDARD / PREMIUM)
+-- seat_class_row に登録されていない行は STANDARD として扱います。
+-- 会員等級の割引 (member_grade.discount_rate) は、この料金に対して適用されます。
+-- --------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS ticket_tariff (
+    tno INT NOT NULL COMMENT 'FK: theater',
+    day_type VARCHAR(10) NOT NULL COMMENT '曜日区分 (WEEKDAY, WEEKEND)',
+    seat_class VARCHAR(20) NOT NULL COMMENT '座席クラス (STANDARD, PREMIUM)',
+    price INT NOT NULL COMMENT '1席あたりの料金 (Point)',
+    PRIMARY KEY (tno, day_type, seat_class),
+    FOREIGN KEY (tno) REFERENCES theater(tno) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS seat_class_row (
+    tno INT NOT NULL COMMENT 'FK: theater',
+    seat_row CHAR(1) NOT NULL COMMENT '座席の行 (A, B, C ...)',
+    seat_class VARCHAR(20) NOT NULL COMMENT '座席クラス (PREMIUM など)',
+    PRIMARY KEY (tno, seat_row),
+    FOREIGN KEY (tno) REFERENCES theater(tno) ON DELETE CASCADE
+);
+
+-- 既存の全上映館に、従来の一律料金 (15,000 P) を基準とした料金を登録します
+INSERT IGNORE INTO ticket_tariff (tno, day_type, seat_class, price)
+SELECT t.tno, d.day_type, c.seat_class, c.price
+FROM theater t
+CROSS JOIN (SELECT 'WEEKDAY' AS day_type UNION ALL SELECT 'WEEKEND') d
+CROSS JOIN (SELECT 'STANDARD' AS seat_class, 15000 AS price UNION ALL SELECT 'PREMIUM', 18000) c;
+
+-- Dolby Cinema の後方2列 (I, J) をプレミアムシートとします
+INSERT IGNORE INTO seat_class_row (tno, seat_row, seat_class)
+SELECT t.tno, r.seat_row, 'PREMIUM'
+FROM theater t
+CROSS JOIN (SELECT 'I' AS seat_row UNION ALL SELECT 'J') r
+WHERE t.tname = 'Dolby Cinema';
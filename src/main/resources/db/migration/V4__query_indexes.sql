@@ -0,0 +1,26 @@
+-- --------------------------------------------------------
+-- V4: 予約画面・管理画面の検索用インデックス
+-- 前提: V3 適用済みのデータベース
+--
+-- 日付の条件は列を関数で加工せず、半開区間 (sdate >= 当日 00:00 AND sdate < 翌日 00:00) で
+-- 指定しています。以下のインデックスはその範囲検索と並べ替えにそのまま使われます。
+-- (外部キー列の単独インデックスは、先頭列が同じ複合インデックスで置き換えられます)
+-- --------------------------------------------------------
+
+-- 予約可能な日付・上映スケジュール (mno 一致 + sdate 範囲)
+CREATE INDEX idx_schedule_mno_sdate ON schedule (mno, sdate);
+
+-- 上映中の映画一覧 (sdate 範囲のみ。mno まで含めてテーブルを読まずに結合します)
+CREATE INDEX idx_schedule_sdate_mno ON schedule (sdate, mno);
+
+-- 本日・週間の売上 (status 一致 + rdate 範囲。price まで含めて集計をインデックスのみで行います)
+CREATE INDEX idx_reservation_status_rdate ON reservation (status, rdate, price);
+
+-- 最近の予約一覧 (rdate の降順)
+CREATE INDEX idx_reservation_rdate ON reservation (rdate);
+
+-- 映画ごとのレビュー一覧 (新しい順)
+CREATE INDEX idx_review_mno_regdate ON review (mno, regdate);
+
+-- 会員ごとのポイント履歴 (新しい順)
+CREATE INDEX idx_point_history_userid_regdate ON point_history (userid, regdate);
@@ -0,0 +1,9 @@
+-- --------------------------------------------------------
+-- V5: 上映館ごとのスケジュール検索用インデックス
+-- 前提: V4 適用済みのデータベース
+--
+-- 上映スケジュールの一括登録では、対象の上映館・期間の既存スケジュールを読み込み、
+-- 上映時間の重複を判定します (tno 一致 + sdate 範囲)。
+-- --------------------------------------------------------
+
+CREATE INDEX idx_schedule_tno_sdate ON schedule (tno, sdate);
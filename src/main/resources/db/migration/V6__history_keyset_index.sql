@@ -0,0 +1,11 @@
+-- --------------------------------------------------------
+-- V6: 予約履歴 (マイページ) のキーセットページング用インデックス
+-- 前提: V5 適用済みのデータベース
+--
+-- マイページのチケット一覧は会員ごとに予約日時の新しい順 (rdate DESC, rno DESC) で、
+-- 前のページの最後の行より前の行をシーク条件で取得します。
+-- InnoDB のセカンダリインデックスは主キー (rno) を末尾に含むため、(userid, rdate) で並べ替えまで処理できます。
+-- (レビュー・ポイント履歴は V4 の (mno, regdate) / (userid, regdate) をそのまま使います)
+-- --------------------------------------------------------
+
+CREATE INDEX idx_reservation_userid_rdate ON reservation (userid, rdate);
@@ -3,7 +3,8 @@ package com.cinema;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// MySQL なしでコンテキストの起動のみを確認するため、起動時のマイグレーション (Flyway) は無効にします
+@SpringBootTest(properties = "spring.flyway.enabled=false")
 class JslCinemaBootApplicationTests {
 
 	@Test
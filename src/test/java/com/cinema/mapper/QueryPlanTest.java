@@ -0,0 +1,102 @@
+package com.cinema.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.cinema.dto.PageCursor;
+
+/** **
+ * 実行計画のテスト (EXPLAIN)
+ * 予約画面・管理画面で頻繁に実行されるクエリが、テーブルの全件走査 (type = ALL) にならないことを確認します。
+ *
+ * MySQL (application.properties の接続先) が必要なため、CINEMA_QUERY_PLAN_TEST=true のときのみ実行します。
+ * 起動時に Flyway が全てのマイグレーション (インデックス) を適用した状態で、
+ * マッパー XML の SQL をそのまま EXPLAIN にかけます。
+ ** **/
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "CINEMA_QUERY_PLAN_TEST", matches = "true")
+class QueryPlanTest {
+
+    /*
+     * 件数の少ないマスタ (主キーで結合) は全件走査を許容します。EXPLAIN の table 列は別名で出力されます。
+     * LIMIT で1ページ分に絞り込んだ派生テーブル (<derived2>) も、件数が上限付きのため許容します。
+     */
+    private static final Set<String> MASTER_TABLES = Set.of("movie", "m", "theater", "t", "<derived2>");
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    static List<Arguments> hotQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        PageCursor cursor = new PageCursor(now, 100L);
+        return List.of(
+                Arguments.of("ScheduleMapper.selectUpcomingShowtimes", Map.of("from", now)),
+                Arguments.of("ScheduleMapper.selectShowtimes", Map.of("snos", List.of(1L, 2L))),
+                Arguments.of("ScheduleMapper.selectBookedSeatCounts", Map.of("from", now)),
+                Arguments.of("ScheduleMapper.selectScheduleDetail", Map.of("sno", 1L)),
+                Arguments.of("ScheduleMapper.selectBookedSeats", Map.of("sno", 1L)),
+                Arguments.of("ReviewMapper.selectReviewsByMno", Map.of("mno", 1L, "limit", 11)),
+                Arguments.of("ReviewMapper.selectReviewsByMno", Map.of("mno", 1L, "cursor", cursor, "limit", 11)),
+                Arguments.of("ReservationMapper.selectMyTickets", Map.of("userid", "test", "limit", 13)),
+                Arguments.of("ReservationMapper.selectMyTickets", Map.of("userid", "test", "cursor", cursor, "limit", 13)),
+                Arguments.of("MemberMapper.selectPointHistory", Map.of("userid", "test", "limit", 21)),
+                Arguments.of("MemberMapper.selectPointHistory", Map.of("userid", "test", "cursor", cursor, "limit", 21)),
+                Arguments.of("AdminMapper.getTodayRevenue", Map.of()),
+                Arguments.of("AdminMapper.selectWeeklyRevenue", Map.of()),
+                Arguments.of("AdminMapper.getRecentReservations", Map.of()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void noFullTableScan(String statement, Map<String, Object> params) throws Exception {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        BoundSql boundSql = configuration.getMappedStatement("com.cinema.mapper." + statement).getBoundSql(params);
+        MetaObject metaObject = configuration.newMetaObject(params);
+
+        List<String> fullScans = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            List<ParameterMapping> mappings = boundSql.getParameterMappings();
+            for (int i = 0; i < mappings.size(); i++) {
+                String property = mappings.get(i).getProperty();
+                ps.setObject(i + 1, boundSql.hasAdditionalParameter(property)
+                        ? boundSql.getAdditionalParameter(property)
+                        : metaObject.getValue(property));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    if ("ALL".equals(rs.getString("type")) && !MASTER_TABLES.contains(table)) {
+                        fullScans.add(table + " (possible_keys=" + rs.getString("possible_keys") + ")");
+                    }
+                }
+            }
+        }
+        assertThat(fullScans).as("%s の全件走査", statement).isEmpty();
+    }
+}
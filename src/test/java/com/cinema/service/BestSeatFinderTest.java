@@ -0,0 +1,83 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/** **
+ * おすすめ座席の探索 (BestSeatFinder) のテスト
+ * 推奨行・中央寄りの評価、1席だけの隙間を作らない規則、仮押さえ座席の除外を確認します。
+ ** **/
+class BestSeatFinderTest {
+
+    private static final int[] NONE = new int[0];
+
+    @Test
+    void picksCenterOfPreferredRowInEmptyTheater() {
+        SeatMap seatMap = new SeatMap(3, 10);
+        assertThat(labels(seatMap, BestSeatFinder.find(seatMap, NONE, 2))).containsExactly("C-5", "C-6");
+    }
+
+    @Test
+    void avoidsLeavingSingleSeatGapEvenOffCenter() {
+        SeatMap seatMap = new SeatMap(1, 10);
+        // 中央 (A-2 から) に置くと左右に1席ずつの隙間ができるため、左端に寄せます
+        assertThat(labels(seatMap, BestSeatFinder.find(seatMap, NONE, 8))).containsExactly(
+                "A-1", "A-2", "A-3", "A-4", "A-5", "A-6", "A-7", "A-8");
+    }
+
+    @Test
+    void fillsSegmentWithoutGapNextToBookedSeats() {
+        SeatMap seatMap = new SeatMap(1, 10);
+        seatMap.tryClaim(new int[] { 0, 1, 2, 9 });
+        // 空席 A-4..A-9 に4席: A-5 からでは A-4 が1席だけ残ります
+        assertThat(labels(seatMap, BestSeatFinder.find(seatMap, NONE, 4))).containsExactly("A-4", "A-5", "A-6", "A-7");
+    }
+
+    @Test
+    void acceptsGapWhenNoOtherBlockExists() {
+        SeatMap seatMap = new SeatMap(1, 4);
+        seatMap.tryClaim(new int[] { 0 });
+        int[] seats = BestSeatFinder.find(seatMap, NONE, 2);
+        assertThat(seats).hasSize(2);
+        assertThat(seats[1] - seats[0]).isEqualTo(1);
+    }
+
+    @Test
+    void nearbyRowCenterBeatsPreferredRowEdge() {
+        SeatMap seatMap = new SeatMap(3, 10);
+        seatMap.tryClaim(IntStream.rangeClosed(22, 29).toArray()); // C-3..C-10
+        assertThat(labels(seatMap, BestSeatFinder.find(seatMap, NONE, 2))).containsExactly("B-5", "B-6");
+    }
+
+    @Test
+    void excludesSeatsHeldByOthers() {
+        SeatMap seatMap = new SeatMap(1, 5);
+        int[] held = { 2 };
+        assertThat(BestSeatFinder.find(seatMap, held, 3)).isEmpty();
+        assertThat(BestSeatFinder.find(seatMap, held, 2)).doesNotContain(2).hasSize(2);
+    }
+
+    @Test
+    void findsBlockAcrossWordBoundaryOfWideRow() {
+        SeatMap seatMap = new SeatMap(1, 70);
+        seatMap.tryClaim(IntStream.range(0, 60).toArray());
+        seatMap.tryClaim(new int[] { 68, 69 });
+        assertThat(BestSeatFinder.find(seatMap, NONE, 8)).containsExactly(60, 61, 62, 63, 64, 65, 66, 67);
+        assertThat(BestSeatFinder.find(seatMap, new int[] { 64 }, 8)).isEmpty();
+    }
+
+    @Test
+    void returnsEmptyForInvalidCount() {
+        SeatMap seatMap = new SeatMap(2, 5);
+        assertThat(BestSeatFinder.find(seatMap, NONE, 0)).isEmpty();
+        assertThat(BestSeatFinder.find(seatMap, NONE, 6)).isEmpty();
+    }
+
+    private static String[] labels(SeatMap seatMap, int[] seats) {
+        return Arrays.stream(seats).mapToObj(seatMap::labelOf).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** **
+ * ハッシュ化タイマーホイール (HashedWheelTimer) のテスト
+ * tick 10ms・スロット数 4 (1周 40ms) の小さなホイールで、期限前に実行されないこと、
+ * ホイールを複数周する期限 (wrap-around)、取消と実行の排他を確認します。
+ ** **/
+class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, TimeUnit.MILLISECONDS, 4);
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    void neverFiresBeforeDeadline() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] firedAfter = new long[1];
+        timer.schedule(() -> {
+            firedAfter[0] = System.nanoTime() - start;
+            latch.countDown();
+        }, 25, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAfter[0]).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(25));
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWrapAround() throws InterruptedException {
+        List<Long> fired = new CopyOnWriteArrayList<>();
+        List<Long> early = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        long start = System.nanoTime();
+        // 15ms / 55ms / 135ms は同じスロットに入るが、周回数 (0 / 1 / 3 周) で区別される
+        for (long delay : new long[] { 135, 15, 55 }) {
+            timer.schedule(() -> {
+                fired.add(delay);
+                if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) {
+                    early.add(delay);
+                }
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly(15L, 55L, 135L);
+        assertThat(early).isEmpty();
+    }
+
+    @Test
+    void cancelledTimeoutNeverRuns() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        assertThat(timeout.cancel()).isTrue();
+
+        CountDownLatch later = new CountDownLatch(1);
+        timer.schedule(later::countDown, 60, TimeUnit.MILLISECONDS);
+        assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+        assertThat(timeout.isCancelled()).isTrue();
+    }
+
+    @Test
+    void cancelAfterExpiryFails() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 0, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/** **
+ * 区間木 (IntervalTree) のテスト
+ * 半開区間の境界 (隣接する区間は重ならない)、重ならない区間の検索、既存データ同士の重なりを確認します。
+ ** **/
+class IntervalTreeTest {
+
+    @Test
+    void emptyTreeHasNoOverlap() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        assertThat(tree.findOverlap(0, 100)).isNull();
+        assertThat(tree.size()).isZero();
+    }
+
+    @Test
+    void adjacentIntervalsDoNotOverlap() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(600, 720, "10:00-12:00");
+
+        // 前の上映の終了時刻ちょうどに開始・次の上映の開始時刻ちょうどに終了する区間は登録できます
+        assertThat(tree.findOverlap(720, 840)).isNull();
+        assertThat(tree.findOverlap(480, 600)).isNull();
+        assertThat(tree.findOverlap(719, 840)).isEqualTo("10:00-12:00");
+        assertThat(tree.findOverlap(480, 601)).isEqualTo("10:00-12:00");
+    }
+
+    @Test
+    void findsOnlyOverlappingIntervalAmongDisjointOnes() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        for (int i = 0; i < 50; i++) {
+            tree.add(i * 100L, i * 100L + 60, i);
+        }
+        assertThat(tree.size()).isEqualTo(50);
+
+        for (int i = 0; i < 50; i++) {
+            // 区間と区間の隙間 [60, 100) は空いています
+            assertThat(tree.findOverlap(i * 100L + 60, i * 100L + 100)).isNull();
+            assertThat(tree.findOverlap(i * 100L + 30, i * 100L + 31)).isEqualTo(i);
+        }
+        assertThat(tree.findOverlap(-100, 0)).isNull();
+        assertThat(tree.findOverlap(4960, 10_000)).isNull();
+    }
+
+    @Test
+    void findsIntervalContainingOrContainedByQuery() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add(0, 1000, "long");
+        tree.add(2000, 2010, "short");
+
+        assertThat(tree.findOverlap(400, 500)).isEqualTo("long");
+        assertThat(tree.findOverlap(1500, 3000)).isEqualTo("short");
+        assertThat(tree.findOverlap(1000, 2000)).isNull();
+    }
+
+    @Test
+    void findsOverlapHiddenBehindLaterStartingIntervals() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        // 開始位置の早い長い区間が、後から始まる短い区間の左側に隠れる配置
+        tree.add(0, 10_000, "long");
+        for (int i = 1; i <= 20; i++) {
+            tree.add(i * 100L, i * 100L + 10, "short-" + i);
+        }
+        assertThat(tree.findOverlap(5000, 5001)).isEqualTo("long");
+    }
+
+    @Test
+    void matchesBruteForceOnRandomIntervals() {
+        SplittableRandom random = new SplittableRandom(42);
+        IntervalTree<long[]> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            long start = random.nextLong(0, 100_000);
+            long[] interval = { start, start + random.nextLong(1, 500) };
+            intervals.add(interval);
+            tree.add(interval[0], interval[1], interval);
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            long start = random.nextLong(0, 100_000);
+            long end = start + random.nextLong(1, 300);
+            boolean expected = intervals.stream().anyMatch(iv -> iv[0] < end && start < iv[1]);
+            long[] found = tree.findOverlap(start, end);
+            if (expected) {
+                assertThat(found).isNotNull();
+                assertThat(found[0] < end && start < found[1]).isTrue();
+            } else {
+                assertThat(found).isNull();
+            }
+        }
+    }
+
+    @Test
+    void rejectsEmptyInterval() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        assertThatThrownBy(() -> tree.add(10, 10, "empty")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.add(10, 5, "reversed")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
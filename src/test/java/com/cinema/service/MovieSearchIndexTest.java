@@ -0,0 +1,109 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
+import com.cinema.mapper.MovieMapper;
+
+/** **
+ * 映画検索インデックス (MovieSearchIndex) のテスト
+ * NFKC 正規化、1文字の検索語、複数語の AND 検索、順位付け、記号のみのキーワードを確認します。
+ * 映画はモックのマッパー (DBアクセスなし) から読み込みます。
+ ** **/
+class MovieSearchIndexTest {
+
+    private final MovieSearchIndex index = new MovieSearchIndex(mapper(List.of(
+            movie(1, "Ｓｐｉｄｅｒ－Ｍａｎ", "Hero of New York", "A student bitten by a spider."),
+            movie(2, "ｶﾞﾝﾀﾞﾑ", "モビルスーツ", "宇宙世紀の戦争"),
+            movie(3, "君の名は。", "まだ会ったことのない君を", "彗星が落ちる夜"),
+            movie(4, "Inception", "夢の中で", "A thief who steals secrets through dream-sharing."),
+            movie(5, "Hero Returns", "", "The hero comes back."),
+            movie(6, "기생충", "", "반지하"))), Clock.systemDefaultZone(), 60);
+
+    @Test
+    void blankKeywordReturnsAllMoviesByTitle() {
+        assertThat(mnos(index.search(null))).hasSize(6);
+        assertThat(mnos(index.search(" \u3000 "))).hasSize(6);
+        assertThat(mnos(index.search(""))).containsExactlyElementsOf(mnos(index.search(null)));
+    }
+
+    @Test
+    void foldsFullWidthAndHalfWidthCharactersWithNfkc() {
+        assertThat(mnos(index.search("spider-man"))).containsExactly(1L);
+        assertThat(mnos(index.search("ＳＰＩＤＥＲ"))).containsExactly(1L);
+        assertThat(mnos(index.search("ガンダム"))).containsExactly(2L);
+        assertThat(mnos(index.search("ｶﾞﾝﾀﾞﾑ"))).containsExactly(2L);
+        assertThat(mnos(index.search("INCEPTION"))).containsExactly(4L);
+    }
+
+    @Test
+    void singleCharacterTermsAreMatchedBySubstring() {
+        assertThat(mnos(index.search("君"))).containsExactly(3L);
+        assertThat(mnos(index.search("夢"))).containsExactly(4L);
+        assertThat(mnos(index.search("충"))).containsExactly(6L);
+        assertThat(mnos(index.search("ぬ"))).isEmpty();
+    }
+
+    @Test
+    void twoCharacterTermsUseBigrams() {
+        assertThat(mnos(index.search("彗星"))).containsExactly(3L);
+        assertThat(mnos(index.search("宇宙"))).containsExactly(2L);
+        assertThat(mnos(index.search("星彗"))).isEmpty();
+    }
+
+    @Test
+    void multipleTermsMustAllMatch() {
+        assertThat(mnos(index.search("inception dream"))).containsExactly(4L);
+        assertThat(mnos(index.search("inception 彗星"))).isEmpty();
+        assertThat(mnos(index.search("spider、york"))).containsExactly(1L);
+    }
+
+    @Test
+    void titlePrefixRanksAboveCatchphraseAndContent() {
+        // 5: タイトルの前方一致 + あらすじ, 1: キャッチフレーズのみ
+        assertThat(mnos(index.search("hero"))).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void symbolOnlyKeywordMatchesNothing() {
+        assertThat(index.search("!!!")).isEmpty();
+        assertThat(index.search("★☆ ・")).isEmpty();
+        assertThat(index.search("%")).isEmpty();
+    }
+
+    @Test
+    void appliesMovieChangesWithoutReload() {
+        assertThat(mnos(index.search("inception"))).containsExactly(4L);
+
+        index.onMovieChanged(new MovieChangedEvent(4L, movie(4, "Tenet", "", "")));
+        assertThat(index.search("inception")).isEmpty();
+        assertThat(mnos(index.search("tenet"))).containsExactly(4L);
+
+        index.onMovieChanged(new MovieChangedEvent(4L, null));
+        assertThat(index.search("tenet")).isEmpty();
+        assertThat(index.search(null)).hasSize(5);
+    }
+
+    private static List<Long> mnos(List<MovieCard> cards) {
+        return cards.stream().map(MovieCard::getMno).toList();
+    }
+
+    private static Movie movie(long mno, String title, String catchphrase, String content) {
+        return Movie.builder().mno(mno).title(title).catchphrase(catchphrase).content(content)
+                .poster("default.jpg").runtime(120).opendate("2024-01-01").build();
+    }
+
+    private static MovieMapper mapper(List<Movie> movies) {
+        MovieMapper mapper = mock(MovieMapper.class);
+        when(mapper.selectSearchableMovies()).thenReturn(movies);
+        return mapper;
+    }
+}
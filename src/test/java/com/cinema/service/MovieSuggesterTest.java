@@ -0,0 +1,110 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.cinema.domain.Movie;
+import com.cinema.dto.MovieCard;
+import com.cinema.mapper.MovieMapper;
+
+/** **
+ * 映画検索の入力候補 (MovieSuggester) のテスト
+ * トライ木の前方一致 (途中の語の先頭からの一致を含む)、人気順の並び、件数の上限、NFKC 正規化を確認します。
+ * 映画と予約件数はモックのマッパー (DBアクセスなし) から読み込みます。
+ ** **/
+class MovieSuggesterTest {
+
+    private final MovieSuggester suggester;
+
+    MovieSuggesterTest() {
+        List<MovieCard> cards = new ArrayList<>();
+        List<Map<String, Object>> popularity = new ArrayList<>();
+        add(cards, popularity, 1, "The Lord of the Rings", null, 5);
+        add(cards, popularity, 2, "Ring", null, 1);
+        add(cards, popularity, 3, "Rocky", null, 10);
+        add(cards, popularity, 4, "ＲＯＭＡ", null, 0);
+        add(cards, popularity, 5, "Spider-Man", "With great power", 3);
+        for (int i = 1; i <= 15; i++) {
+            add(cards, popularity, 100 + i, String.format("Star %02d", i), null, 100 + i);
+        }
+        MovieMapper mapper = mapper(cards, popularity);
+        suggester = new MovieSuggester(new MovieCatalog(mapper, 1000, 10), mapper, Clock.systemDefaultZone(), 10, 7);
+    }
+
+    @Test
+    void matchesPrefixOfAnyWordOrderedByPopularity() {
+        assertThat(mnos(suggester.suggest("ri", 10))).containsExactly(1L, 2L);
+        assertThat(mnos(suggester.suggest("r", 10))).containsExactly(3L, 1L, 2L, 4L);
+        assertThat(mnos(suggester.suggest("rocky", 10))).containsExactly(3L);
+        assertThat(mnos(suggester.suggest("rockyy", 10))).isEmpty();
+    }
+
+    @Test
+    void matchesAcrossWordsFromAnyWordStart() {
+        assertThat(mnos(suggester.suggest("lord of", 10))).containsExactly(1L);
+        assertThat(mnos(suggester.suggest("of the r", 10))).containsExactly(1L);
+        assertThat(mnos(suggester.suggest("lord the", 10))).isEmpty();
+        assertThat(mnos(suggester.suggest("great", 10))).containsExactly(5L);
+    }
+
+    @Test
+    void foldsInputAndTitlesWithNfkc() {
+        assertThat(mnos(suggester.suggest("roma", 10))).containsExactly(4L);
+        assertThat(mnos(suggester.suggest("ＲＯ", 10))).containsExactly(3L, 4L);
+        // 記号は語の区切りとして扱います ("Spider-Man" → "spider man")
+        assertThat(mnos(suggester.suggest("Ｓｐｉｄｅｒ－ｍ", 10))).containsExactly(5L);
+        assertThat(suggester.suggest("spider", 10).get(0).title()).isEqualTo("Spider-Man");
+    }
+
+    @Test
+    void limitsNumberOfSuggestions() {
+        assertThat(mnos(suggester.suggest("star", 3))).containsExactly(115L, 114L, 113L);
+        assertThat(suggester.suggest("star", 100)).hasSize(MovieSuggester.MAX_LIMIT);
+        assertThat(mnos(suggester.suggest("star", 100))).endsWith(106L);
+        assertThat(suggester.suggest("star", 0)).isEmpty();
+    }
+
+    @Test
+    void emptyOrSymbolOnlyInputHasNoSuggestions() {
+        assertThat(suggester.suggest(null, 10)).isEmpty();
+        assertThat(suggester.suggest("", 10)).isEmpty();
+        assertThat(suggester.suggest(" - !", 10)).isEmpty();
+    }
+
+    @Test
+    void appliesMovieChangesAndKeepsPopularity() {
+        assertThat(mnos(suggester.suggest("r", 10))).contains(3L);
+
+        suggester.onMovieChanged(new MovieChangedEvent(3L, null));
+        suggester.onMovieChanged(new MovieChangedEvent(2L, Movie.builder().mno(2L).title("Rise").build()));
+        assertThat(mnos(suggester.suggest("r", 10))).containsExactly(1L, 2L, 4L);
+        assertThat(mnos(suggester.suggest("ring", 10))).containsExactly(1L);
+        assertThat(suggester.suggest("ris", 10).get(0).title()).isEqualTo("Rise");
+    }
+
+    private static List<Long> mnos(List<MovieSuggestion> suggestions) {
+        return suggestions.stream().map(MovieSuggestion::mno).toList();
+    }
+
+    private static void add(List<MovieCard> cards, List<Map<String, Object>> popularity,
+                            long mno, String title, String catchphrase, long bookings) {
+        cards.add(MovieCard.builder().mno(mno).title(title).catchphrase(catchphrase).poster("default.jpg").build());
+        popularity.add(Map.of("mno", mno, "bookings", bookings));
+    }
+
+    private static MovieMapper mapper(List<MovieCard> cards, List<Map<String, Object>> popularity) {
+        MovieMapper mapper = mock(MovieMapper.class);
+        when(mapper.selectMovieCards()).thenReturn(cards);
+        when(mapper.selectMoviePopularity(any())).thenReturn(popularity);
+        return mapper;
+    }
+}
@@ -0,0 +1,128 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cinema.mapper.MovieMapper;
+
+/** **
+ * ポスター画像ストレージ (PosterStorage) のテスト
+ * 共有中のファイルが保存したトランザクションの完了前に削除されないこと、
+ * 拡張子だけが異なるポスターがサイズ別バリアントを共有しないことを確認します。
+ * 映画からの参照件数はモックのマッパー (DBアクセスなし) で表します。
+ ** **/
+class PosterStorageTest {
+
+    private static final String HASH_OF_POSTER = "7ba38a8d0e2c15dbed5a5b4b8e7c9a94b8bb4f6a1bb7ae1e5b36ee5b2d6c9ff1";
+
+    @TempDir
+    Path uploadDir;
+
+    private final AtomicInteger references = new AtomicInteger();
+    private PosterVariants posterVariants;
+    private PosterStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        MovieMapper mapper = mock(MovieMapper.class);
+        when(mapper.countMoviesByPoster(anyString())).thenAnswer(invocation -> references.get());
+        posterVariants = new PosterVariants(uploadDir.toString(), new int[] { 200 }, 0.8f, 1, 4);
+        storage = new PosterStorage(uploadDir.toString(), mapper, posterVariants);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        posterVariants.shutdown();
+    }
+
+    @Test
+    void sharedPosterIsKeptUntilStoringTransactionCompletes() throws IOException {
+        String name = storage.store(upload("poster.jpg", "same image"));
+        assertThat(name).matches("[0-9a-f]{64}\\.jpg");
+
+        // 別の映画が同じ画像を保存 (未コミット) している間に、最初の映画が削除された場合
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(storage.store(upload("copy.jpg", "same image"))).isEqualTo(name);
+        storage.onPosterReleased(new PosterReleasedEvent(name));
+        assertThat(uploadDir.resolve(name)).exists();
+
+        references.set(1);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        storage.onPosterReleased(new PosterReleasedEvent(name));
+        assertThat(uploadDir.resolve(name)).exists();
+    }
+
+    @Test
+    void unreferencedPosterIsDeletedAfterStoringTransactionCompletes() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        String name = storage.store(upload("poster.png", "image"));
+        storage.onPosterReleased(new PosterReleasedEvent(name));
+        assertThat(uploadDir.resolve(name)).exists();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        storage.onPosterReleased(new PosterReleasedEvent(name));
+        assertThat(uploadDir.resolve(name)).doesNotExist();
+    }
+
+    @Test
+    void rolledBackStoreDeletesUnreferencedFile() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        String name = storage.store(upload("poster.gif", "rolled back"));
+        assertThat(uploadDir.resolve(name)).exists();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(uploadDir.resolve(name)).doesNotExist();
+    }
+
+    @Test
+    void postersDifferingOnlyInExtensionHaveOwnVariants() throws IOException {
+        Path variants = Files.createDirectories(uploadDir.resolve("w200"));
+        Files.writeString(variants.resolve(HASH_OF_POSTER + ".jpg.jpg"), "jpg");
+        Files.writeString(variants.resolve(HASH_OF_POSTER + ".jpeg.jpg"), "jpeg");
+
+        posterVariants.delete(HASH_OF_POSTER + ".jpeg");
+        assertThat(variants.resolve(HASH_OF_POSTER + ".jpeg.jpg")).doesNotExist();
+        assertThat(variants.resolve(HASH_OF_POSTER + ".jpg.jpg")).exists();
+        assertThat(posterVariants.url(HASH_OF_POSTER + ".jpg", 200)).isEqualTo("/upload/w200/" + HASH_OF_POSTER + ".jpg.jpg");
+    }
+
+    @Test
+    void variantNamesAreImmutableWithHashEtag() throws IOException {
+        String variant = HASH_OF_POSTER + ".jpg.jpg";
+        assertThat(storage.isImmutable(HASH_OF_POSTER + ".jpg")).isTrue();
+        assertThat(storage.isImmutable(variant)).isTrue();
+        assertThat(storage.isImmutable("default.jpg")).isFalse();
+        assertThat(storage.etag("w200", variant, null)).isEqualTo("\"" + HASH_OF_POSTER + "-w200\"");
+    }
+
+    /* 保存したトランザクションの完了を通知します */
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static MockMultipartFile upload(String filename, String content) {
+        return new MockMultipartFile("file", filename, "image/jpeg", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.cinema.domain.Movie;
+import com.cinema.domain.Schedule;
+import com.cinema.mapper.MovieMapper;
+import com.cinema.mapper.ScheduleMapper;
+
+/** **
+ * 上映スケジュール管理サービス (ScheduleService) のテスト
+ * 1件ずつの登録 ({@link ScheduleService#registerSchedule}) も、一括登録と同じ重複判定を通ることを確認します。
+ * 上映館 1 には 2026-11-01 10:00 開始・上映時間 120 分の既存の上映回があります。
+ ** **/
+class ScheduleServiceTest {
+
+    private final ScheduleMapper scheduleMapper = mock(ScheduleMapper.class);
+    private final MovieMapper movieMapper = mock(MovieMapper.class);
+    private final Clock clock = Clock.fixed(LocalDateTime.of(2026, 10, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant(),
+            ZoneId.systemDefault());
+    private final ScheduleService service = new ScheduleService(scheduleMapper, movieMapper, mock(ApplicationEventPublisher.class), clock);
+
+    @BeforeEach
+    void setUp() {
+        when(movieMapper.selectMovieDetail(1L)).thenReturn(Movie.builder().mno(1L).runtime(90).build());
+        when(scheduleMapper.selectTheatersForUpdate(List.of(1L))).thenReturn(List.of(1L));
+        when(scheduleMapper.selectTheaterSchedules(any(), any(), any())).thenReturn(List.of(Map.of(
+                "sno", 10L, "tno", 1L, "sdate", LocalDateTime.of(2026, 11, 1, 10, 0), "runtime", 120)));
+        doAnswer(invocation -> {
+            List<Schedule> schedules = invocation.getArgument(0);
+            schedules.forEach(schedule -> schedule.setSno(11L));
+            return null;
+        }).when(scheduleMapper).insertSchedules(anyList());
+    }
+
+    @Test
+    void registerScheduleRejectsOverlapWithExistingShowing() {
+        // 既存の上映回は清掃時間を含めて 12:15 まで
+        assertThatThrownBy(() -> service.registerSchedule(schedule("2026-11-01T12:00")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("sno=10");
+        verify(scheduleMapper, never()).insertSchedules(anyList());
+    }
+
+    @Test
+    void registerScheduleInsertsShowingAfterCleanup() {
+        Schedule schedule = schedule("2026-11-01T12:15");
+        service.registerSchedule(schedule);
+
+        assertThat(schedule.getSno()).isEqualTo(11L);
+        verify(scheduleMapper).selectTheatersForUpdate(List.of(1L));
+    }
+
+    @Test
+    void registerScheduleRejectsPastDateTime() {
+        assertThatThrownBy(() -> service.registerSchedule(schedule("2026-09-30T12:00")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("過去の日時");
+    }
+
+    /* 上映館 1 に映画 1 を登録するスケジュール (sdate は datetime-local の形式) */
+    private static Schedule schedule(String sdate) {
+        Schedule schedule = new Schedule();
+        schedule.setMno(1L);
+        schedule.setTno(1L);
+        schedule.setSdate(sdate);
+        return schedule;
+    }
+}
@@ -0,0 +1,49 @@
+package com.cinema.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.cinema.mapper.ScheduleMapper;
+
+/** **
+ * 座席まわりのテスト用の共通データ
+ * 座席選択画面の表示情報 ({@link SeatPageInfo}) と、それを返す座席在庫 ({@link SeatInventory}) を組み立てます。
+ ** **/
+final class SeatFixtures {
+
+    private SeatFixtures() {
+    }
+
+    /*
+     * 上映スケジュールの表示情報を作成します (映画番号 1、上映館 1)。
+     * @param sno スケジュール番号
+     * @param rows 行数
+     * @param cols 列数
+     * @param sdate 上映開始日時
+     */
+    static SeatPageInfo schedule(long sno, int rows, int cols, LocalDateTime sdate) {
+        return SeatPageInfo.of(Map.of(
+                "sno", sno, "mno", 1L, "tno", 1L, "tname", "1館", "trow", rows, "tcol", cols,
+                "title", "映画", "poster", "default.jpg", "runtime", 120, "sdate", sdate));
+    }
+
+    /*
+     * 指定したスケジュールの表示情報を返す座席在庫を作成します。
+     * 予約済みの座席は scheduleMapper.selectBookedSeats から読み込みます (モックの既定値は予約なし)。
+     *
+     * @param scheduleMapper スケジュールマッパー (モック)
+     * @param clock 時計
+     * @param schedules 座席在庫が扱うスケジュール
+     */
+    static SeatInventory seatInventory(ScheduleMapper scheduleMapper, Clock clock, SeatPageInfo... schedules) {
+        SeatPageCache seatPageCache = mock(SeatPageCache.class);
+        for (SeatPageInfo schedule : schedules) {
+            when(seatPageCache.get(schedule.getSno())).thenReturn(schedule);
+        }
+        return new SeatInventory(scheduleMapper, seatPageCache, clock, 60);
+    }
+}
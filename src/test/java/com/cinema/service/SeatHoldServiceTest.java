@@ -0,0 +1,90 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.cinema.mapper.ScheduleMapper;
+
+/** **
+ * 座席仮押さえサービス (SeatHoldService) のテスト
+ * 仮押さえと予約確定時の座席確保 ({@link SeatHoldService#claim}) が、同じ座席で両方成功しないことを確認します。
+ * スケジュール情報は5行 x 10列・予約なしの固定値です (DBアクセスなし)。
+ ** **/
+class SeatHoldServiceTest {
+
+    private static final Long SNO = 1L;
+
+    private final Clock clock = Clock.systemDefaultZone();
+    private final SeatEventHub seatEventHub = new SeatEventHub();
+    private final SeatInventory seatInventory = SeatFixtures.seatInventory(mock(ScheduleMapper.class), clock,
+            SeatFixtures.schedule(SNO, 5, 10, LocalDateTime.now(clock).plusDays(1)));
+    private final SeatHoldService service = new SeatHoldService(seatInventory, seatEventHub, clock, 5);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        seatEventHub.shutdown();
+    }
+
+    @Test
+    void claimFailsOnSeatHeldByAnotherUser() {
+        service.hold(SNO, "alice", List.of("A-1"));
+        SeatMap seatMap = seatInventory.get(SNO);
+
+        assertThatThrownBy(() -> service.claim(SNO, seatMap, new int[] { 0 }, "bob"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(seatMap.isBooked(0)).isFalse();
+        assertThat(service.getHeldSeats(SNO, "bob")).containsExactly("A-1");
+    }
+
+    @Test
+    void claimOnOwnHoldSucceedsAndKeepsTheHoldUntilReleased() {
+        service.hold(SNO, "alice", List.of("A-1", "A-2"));
+        SeatMap seatMap = seatInventory.get(SNO);
+
+        assertThat(service.claim(SNO, seatMap, new int[] { 0, 1 }, "alice")).isTrue();
+        assertThat(seatMap.isBooked(0)).isTrue();
+        // 予約のコミットまでは他のユーザーからは仮押さえ中のまま
+        assertThat(service.getHeldSeats(SNO, "bob")).containsExactly("A-1", "A-2");
+        assertThat(service.release(SNO, "alice")).isTrue();
+        assertThat(service.getHeldSeats(SNO, "bob")).isEmpty();
+    }
+
+    @Test
+    void holdAfterClaimIsRejectedAsBooked() {
+        SeatMap seatMap = seatInventory.get(SNO);
+        assertThat(service.claim(SNO, seatMap, new int[] { 2 }, "bob")).isTrue();
+
+        assertThatThrownBy(() -> service.hold(SNO, "alice", List.of("A-3")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("予約されております");
+        assertThat(service.getHeldSeats(SNO, null)).isEmpty();
+    }
+
+    @Test
+    void claimOfBookedSeatReturnsFalseAndFreesSlots() {
+        SeatMap seatMap = seatInventory.get(SNO);
+        assertThat(service.claim(SNO, seatMap, new int[] { 3 }, "bob")).isTrue();
+        assertThat(service.claim(SNO, seatMap, new int[] { 4, 3 }, "carol")).isFalse();
+
+        // 失敗した確保の占有が残っていないこと
+        service.hold(SNO, "alice", List.of("A-5"));
+        assertThat(service.getHeldSeats(SNO, null)).containsExactly("A-5");
+    }
+
+    @Test
+    void holdKeepsCanonicalLabels() {
+        SeatHold hold = service.hold(SNO, "alice", List.of(" A-01", "B-02 "));
+
+        assertThat(hold.getSeats()).containsExactly("A-1", "B-2");
+        assertThat(service.getHeldSeats(SNO, "bob")).containsExactly("A-1", "B-2");
+    }
+}
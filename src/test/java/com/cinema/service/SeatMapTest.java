@@ -0,0 +1,100 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/** **
+ * 座席占有ビットマップ (SeatMap) のテスト
+ * 行単位の 64bit ワード境界への配置、座席ラベルの変換、All or Nothing の座席確保を確認します。
+ ** **/
+class SeatMapTest {
+
+    @Test
+    void rowsAreAlignedToWordBoundaries() {
+        assertThat(new SeatMap(3, 63).getWordsPerRow()).isEqualTo(1);
+        assertThat(new SeatMap(3, 64).getWordsPerRow()).isEqualTo(1);
+        assertThat(new SeatMap(3, 65).getWordsPerRow()).isEqualTo(2);
+        assertThat(new SeatMap(3, 128).getWordsPerRow()).isEqualTo(2);
+    }
+
+    @Test
+    void lastSeatOf64SeatRowUsesTopBitOfItsOwnWord() {
+        SeatMap seatMap = new SeatMap(2, 64);
+        assertThat(seatMap.tryClaim(new int[] { seatMap.indexOf("A-64"), seatMap.indexOf("B-1") })).isTrue();
+
+        long[] words = seatMap.snapshotWords();
+        assertThat(words).hasSize(2);
+        assertThat(words[0]).isEqualTo(1L << 63);
+        assertThat(words[1]).isEqualTo(1L);
+    }
+
+    @Test
+    void rowWiderThan64SeatsStartsNextRowOnNewWord() {
+        SeatMap seatMap = new SeatMap(2, 65);
+        seatMap.tryClaim(new int[] { seatMap.indexOf("A-65"), seatMap.indexOf("B-1") });
+
+        long[] words = seatMap.snapshotWords();
+        assertThat(words).containsExactly(0L, 1L, 1L, 0L);
+        assertThat(seatMap.bookedLabels()).containsExactly("A-65", "B-1");
+    }
+
+    @Test
+    void convertsLabelsAndIndexes() {
+        SeatMap seatMap = new SeatMap(26, 12);
+        assertThat(seatMap.indexOf("A-1")).isZero();
+        assertThat(seatMap.indexOf("B-3")).isEqualTo(14);
+        assertThat(seatMap.indexOf("Z-12")).isEqualTo(26 * 12 - 1);
+        assertThat(seatMap.labelOf(14)).isEqualTo("B-3");
+    }
+
+    @Test
+    void rejectsMalformedAndOutOfRangeLabels() {
+        SeatMap seatMap = new SeatMap(5, 10);
+        assertThat(seatMap.indexOf(null)).isEqualTo(-1);
+        assertThat(seatMap.indexOf("A1")).isEqualTo(-1);
+        assertThat(seatMap.indexOf("A-0")).isEqualTo(-1);
+        assertThat(seatMap.indexOf("A-11")).isEqualTo(-1);
+        assertThat(seatMap.indexOf("F-1")).isEqualTo(-1);
+        assertThat(seatMap.indexOf("A-x")).isEqualTo(-1);
+        assertThat(seatMap.indexOf("A-99999999999")).isEqualTo(-1);
+    }
+
+    @Test
+    void indexesOfRejectsInvalidAndDuplicateSeats() {
+        SeatMap seatMap = new SeatMap(5, 10);
+        assertThatThrownBy(() -> seatMap.indexesOf(List.of("A-1", "Q-1"))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> seatMap.indexesOf(List.of("A-1", "A-1"))).isInstanceOf(IllegalStateException.class);
+        assertThat(seatMap.indexesOf(List.of("A-1", "B-2"))).containsExactly(0, 11);
+    }
+
+    @Test
+    void claimIsAllOrNothing() {
+        SeatMap seatMap = new SeatMap(5, 10);
+        assertThat(seatMap.tryClaim(new int[] { 0, 1 })).isTrue();
+        assertThat(seatMap.tryClaim(new int[] { 2, 1 })).isFalse();
+        assertThat(seatMap.isBooked(2)).isFalse();
+        assertThat(seatMap.bookedCount()).isEqualTo(2);
+
+        seatMap.release(new int[] { 1 });
+        assertThat(seatMap.tryClaim(new int[] { 2, 1 })).isTrue();
+        assertThat(seatMap.bookedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void releaseOfFreeSeatDoesNotChangeCount() {
+        SeatMap seatMap = new SeatMap(1, 4);
+        seatMap.release(new int[] { 3 });
+        assertThat(seatMap.bookedCount()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidLayout() {
+        assertThatThrownBy(() -> new SeatMap(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SeatMap(27, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SeatMap(5, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cinema.mapper.ScheduleMapper;
+
+/** **
+ * 座席の予約状況カウンター (SeatOccupancy) のテスト
+ * 座席マップが未ロードのスケジュールは集計値とコミット後の加算を、
+ * ロード済みのスケジュールは座席マップの予約済み座席数を返却することを確認します。
+ ** **/
+class SeatOccupancyTest {
+
+    private final Clock clock = Clock.systemDefaultZone();
+    private final ScheduleMapper mapper = mock(ScheduleMapper.class);
+    private final SeatInventory seatInventory = SeatFixtures.seatInventory(mapper, clock,
+            SeatFixtures.schedule(1L, 5, 10, LocalDateTime.now(clock).plusDays(1)));
+    private final SeatOccupancy seatOccupancy = new SeatOccupancy(mapper, seatInventory, clock);
+
+    /* スケジュール 1 は5行 x 10列・予約なし、スケジュール 2 は集計上7席の予約あり */
+    @BeforeEach
+    void setUp() {
+        when(mapper.selectBookedSeatCounts(any())).thenReturn(List.of(Map.of("sno", 2L, "booked", 7)));
+    }
+
+    @Test
+    void unloadedScheduleUsesAggregatedCountAndCommittedIncrements() {
+        assertThat(seatOccupancy.booked(2L)).isEqualTo(7);
+        assertThat(seatOccupancy.booked(3L)).isZero();
+
+        seatOccupancy.addBooked(2L, 2);
+        seatOccupancy.addBooked(3L, 1);
+        assertThat(seatOccupancy.booked(2L)).isEqualTo(9);
+        assertThat(seatOccupancy.booked(3L)).isEqualTo(1);
+    }
+
+    @Test
+    void loadedScheduleFollowsSeatMap() {
+        assertThat(seatOccupancy.booked(1L)).isZero();
+
+        SeatMap seatMap = seatInventory.get(1L);
+        seatMap.tryClaim(new int[] { 0, 1, 2 });
+        assertThat(seatOccupancy.booked(1L)).isEqualTo(3);
+
+        // コミット後の加算は座席マップの値と二重に数えません
+        seatOccupancy.addBooked(1L, 3);
+        assertThat(seatOccupancy.booked(1L)).isEqualTo(3);
+
+        seatMap.release(new int[] { 0 });
+        assertThat(seatOccupancy.booked(1L)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.cinema.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.cinema.service.TariffMatrix.DayType;
+
+/** **
+ * 料金マトリクス (TariffMatrix) のテスト
+ * 料金表に登録のない上映館・座席クラスが既定の料金で計算されることを確認します。
+ ** **/
+class TariffMatrixTest {
+
+    private static final int[] DEFAULT_PRICES = { 15000, 18000 };
+
+    @Test
+    void registeredTheaterUsesItsTariffAndSeatClasses() {
+        TariffMatrix matrix = TariffMatrix.build(
+                List.of(tariff(1, "WEEKDAY", "STANDARD", 12000), tariff(1, "WEEKDAY", "PREMIUM", 16000)),
+                List.of(Map.of("tno", 1, "seat_row", "J", "seat_class", "PREMIUM")),
+                List.of(),
+                DEFAULT_PRICES);
+
+        int[] prices = matrix.rowPrices(1, DayType.WEEKDAY);
+        assertThat(prices[0]).isEqualTo(12000);
+        assertThat(prices['J' - 'A']).isEqualTo(16000);
+    }
+
+    @Test
+    void unregisteredCombinationsFallBackToDefaultPrices() {
+        TariffMatrix matrix = TariffMatrix.build(
+                List.of(tariff(1, "WEEKDAY", "STANDARD", 12000)),
+                List.of(Map.of("tno", 3, "seat_row", "A", "seat_class", "PREMIUM")),
+                List.of(),
+                DEFAULT_PRICES);
+
+        // 登録済みの上映館の未登録の曜日区分
+        assertThat(matrix.rowPrices(1, DayType.WEEKEND)[0]).isEqualTo(15000);
+        // 座席クラスのみ登録済みの上映館
+        assertThat(matrix.rowPrices(3, DayType.WEEKDAY)[0]).isEqualTo(18000);
+        assertThat(matrix.rowPrices(3, DayType.WEEKDAY)[1]).isEqualTo(15000);
+        // V3 の適用後に追加された上映館
+        assertThat(matrix.rowPrices(2, DayType.WEEKDAY)[0]).isEqualTo(15000);
+        assertThat(matrix.rowPrices(9, DayType.WEEKEND)).containsOnly(15000);
+    }
+
+    @Test
+    void unknownGradeHasNoDiscount() {
+        TariffMatrix matrix = TariffMatrix.build(List.of(), List.of(),
+                List.of(Map.of("mgrade", TariffMatrix.BASE_GRADE, "point_rate", 0.01, "discount_rate", 0.1)),
+                DEFAULT_PRICES);
+
+        assertThat(matrix.discountRate(TariffMatrix.BASE_GRADE)).isEqualTo(0.1);
+        assertThat(matrix.discountRate(5)).isZero();
+    }
+
+    private static Map<String, Object> tariff(int tno, String dayType, String seatClass, int price) {
+        return Map.of("tno", tno, "day_type", dayType, "seat_class", seatClass, "price", price);
+    }
+}